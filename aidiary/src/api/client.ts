@@ -83,6 +83,14 @@ export const diaryApi = {
   updateEmotion: (id: number, emotion: string) =>
     apiClient.patch(`/api/diary/${id}/emotion`, { emotion }),
   delete: (id: number) => apiClient.delete(`/api/diary/${id}`),
+  getEmotionTimeline: (range: "week" | "month" | "pregnancy" = "week") =>
+    apiClient.get(`/api/diary/emotions/timeline?range=${range}`),
+  importNdjson: (ndjson: Blob | string) =>
+    apiClient.post("/api/diary/import", ndjson, {
+      headers: { "Content-Type": "application/x-ndjson" },
+    }),
+  exportNdjson: () =>
+    apiClient.get("/api/diary/export", { responseType: "blob" }),
 };
 
 export const childApi = {
@@ -91,8 +99,9 @@ export const childApi = {
 };
 
 export const chatApi = {
-  send: (message: string, context?: string) =>
-    apiClient.post("/api/chat", { message, context }),
+  // 이전 대화 맥락은 서버가 보관하므로 메시지만 전송
+  send: (message: string) => apiClient.post("/api/chat", { message }),
+  clearHistory: () => apiClient.delete("/api/chat/history"),
 };
 
 /**
@@ -102,18 +111,37 @@ export const diaryAiApi = {
   getDailyQuestion: () => apiClient.get("/api/diary-ai/daily-question"),
   analyzeEmotion: (prompt: string) =>
     apiClient.post("/api/diary-ai/emotion-analysis", { prompt }),
-  getFaceLandmarks: (image: string) =>
-    apiClient.post("/api/diary-ai/face-landmarks", { image }),
+  // base64 문자열을 Blob으로 바꿔 바이너리로 업로드 (JSON 대비 전송량 약 25% 감소)
+  getFaceLandmarks: async (image: string) => {
+    // 저장된 캐릭터는 이미지 URL, 방금 생성한 캐릭터는 data URL/base64
+    const source =
+      image.startsWith("data:") || image.startsWith("/") || image.startsWith("http")
+        ? image
+        : `data:image/png;base64,${image}`;
+    const blob = await (await fetch(source)).blob();
+    const formData = new FormData();
+    formData.append("image", blob, "character.png");
+    return apiClient.post("/api/diary-ai/face-landmarks", formData);
+  },
   generateDrawing: (diaryText: string) =>
-    apiClient.post(
-      "/api/diary-ai/drawing",
-      { diary_text: diaryText },
-      { timeout: 120000 },
-    ),
+    apiClient.post("/api/diary-ai/drawing", { diary_text: diaryText }),
+  getDrawingStatus: (jobId: string) =>
+    apiClient.get(`/api/diary-ai/drawing/status/${jobId}`),
   getImageUrl: (filename: string) =>
     `${API_BASE_URL}/api/diary-ai/images/${filename}`,
 };
 
+/**
+ * 서버 이미지 URL에 표시 폭(w)을 붙여 축소본을 받는다.
+ * 화면 폭(CSS px) × devicePixelRatio로 요청하며, 서버가 64~1024px 단계로 올림한다.
+ * data URL 등 서버 이미지가 아니면 그대로 돌려준다.
+ */
+export const imageVariantUrl = (url: string, cssWidth: number) => {
+  if (!url.startsWith("/api/child/images/")) return url;
+  const width = Math.ceil(cssWidth * (window.devicePixelRatio || 1));
+  return `${url}${url.includes("?") ? "&" : "?"}w=${width}`;
+};
+
 /**
  * Image API — 캐릭터 이미지 분석 (Spring Boot BFF 경유)
  */
@@ -123,9 +151,11 @@ export const imageApi = {
       timeout: 120000,
     }),
   getStatus: (jobId: string) => apiClient.get(`/api/images/status/${jobId}`),
-  getResult: (jobId: string) =>
+  // width를 주면 미리보기용 축소본, 없으면 캐릭터 저장용 원본 PNG
+  getResult: (jobId: string, width?: number) =>
     apiClient.get(`/api/images/result/${jobId}`, {
       responseType: "blob",
+      params: width ? { w: width } : undefined,
     }),
 };
 
@@ -133,11 +163,34 @@ export const fetalApi = {
   log: (data: { movementTime: string; intensity: number; notes?: string }) =>
     apiClient.post("/api/fetal-movement", data),
   getToday: () => apiClient.get("/api/fetal-movement/today"),
-  getHistory: (date?: string, page = 0, size = 20) =>
+  getHistory: (date?: string, cursor?: string, size = 20) =>
     apiClient.get(
-      `/api/fetal-movement/history?page=${page}&size=${size}${date ? `&date=${date}` : ""}`,
+      `/api/fetal-movement/history?size=${size}${date ? `&date=${date}` : ""}${cursor ? `&cursor=${encodeURIComponent(cursor)}` : ""}`,
     ),
   delete: (id: number) => apiClient.delete(`/api/fetal-movement/${id}`),
+  startSession: () => apiClient.post("/api/fetal-movement/session/start"),
+  tap: (intensity = 2) =>
+    apiClient.post("/api/fetal-movement/session/tap", { intensity }),
+  finishSession: () => apiClient.post("/api/fetal-movement/session/finish"),
+  getSession: () => apiClient.get("/api/fetal-movement/session"),
+};
+
+export const syncApi = {
+  push: (data: {
+    movements?: {
+      key: string;
+      movementTime: string;
+      intensity: number;
+      notes?: string;
+    }[];
+    metrics?: {
+      key: string;
+      recordDate: string;
+      weight?: number;
+      systolic?: number;
+      diastolic?: number;
+    }[];
+  }) => apiClient.post("/api/sync", data),
 };
 
 export const healthApi = {
@@ -149,6 +202,8 @@ export const healthApi = {
   }) => apiClient.post("/api/health", data),
   getHistory: () => apiClient.get("/api/health/history"),
   getLatest: () => apiClient.get("/api/health/latest"),
+  getTrend: (params?: { from?: string; to?: string; points?: number }) =>
+    apiClient.get("/api/health/trend", { params }),
 };
 
 export const pregnancyApi = {
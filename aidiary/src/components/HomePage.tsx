@@ -4,7 +4,7 @@ import { motion } from "framer-motion";
 import { PenLine, Baby } from "lucide-react";
 import dayjs from "dayjs";
 import { useAuthStore } from "../stores";
-import { diaryApi, diaryAiApi } from "../api/client";
+import { diaryApi, diaryAiApi, imageVariantUrl } from "../api/client";
 import type { DiaryEntry } from "../types";
 import { EMOTION_COLORS, EMOTION_LABELS } from "../types";
 
@@ -110,7 +110,7 @@ const HomePage: React.FC = () => {
           <div className="flex items-center gap-4">
             {characterData?.characterImage ? (
               <img
-                src={characterData.characterImage}
+                src={imageVariantUrl(characterData.characterImage, 56)}
                 alt={child?.childName || "우리 아이"}
                 className="w-14 h-14 rounded-lg object-cover border border-linen-deep"
               />
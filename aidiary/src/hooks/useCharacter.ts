@@ -229,11 +229,7 @@ export const useCharacter = (
       setMessages((prev) => [...prev, userMessage]);
 
       try {
-        const lastAiMessage = messages.filter((m) => m.sender === "ai").pop();
-        const response = await chatApi.send(
-          content,
-          lastAiMessage?.content || "",
-        );
+        const response = await chatApi.send(content);
 
         if (response.data.success) {
           const aiMessage: ChatMessage = {
@@ -261,7 +257,7 @@ export const useCharacter = (
         ]);
       }
     },
-    [messages],
+    [],
   );
 
   return {
@@ -187,23 +187,40 @@ export const useDiary = (): UseDiaryReturn => {
       setLoadingResponses((prev) => ({ ...prev, [entryId]: true }));
 
       try {
-        const response = await diaryAiApi.generateDrawing(content);
-
-        const { image_path, success } = response.data;
-
-        if (success && image_path) {
-          const filename =
-            image_path.split("/").pop() || image_path.split("\\").pop();
-          const imageUrl = diaryAiApi.getImageUrl(filename);
-
-          setEntries((prev) =>
-            prev.map((entry) =>
-              entry.id === entryId
-                ? { ...entry, fetalArtUrl: imageUrl }
-                : entry,
-            ),
-          );
+        // 1단계: 그림 생성 작업 제출 → jobId 받기
+        const submitResponse = await diaryAiApi.generateDrawing(content);
+        const jobId = submitResponse.data?.jobId;
+        if (!jobId) {
+          throw new Error("작업 ID를 받지 못했습니다.");
         }
+
+        // 2단계: 작업 상태 폴링 (DONE 응답에 결과가 함께 담겨 옴)
+        let image_path: string | undefined;
+        const MAX_POLLS = 120; // 1초 × 120 = 최대 2분
+        for (let pollCount = 0; pollCount < MAX_POLLS; pollCount++) {
+          await new Promise((r) => setTimeout(r, 1000));
+          const statusRes = await diaryAiApi.getDrawingStatus(jobId);
+          if (statusRes.data?.status === "DONE") {
+            image_path = statusRes.data.image_path;
+            break;
+          }
+          // PENDING/PROCESSING → 계속 폴링 (FAILED는 500으로 catch에서 처리)
+        }
+        if (!image_path) {
+          throw new Error("그림 생성 시간이 초과되었습니다.");
+        }
+
+        const filename =
+          image_path.split("/").pop() || image_path.split("\\").pop();
+        const imageUrl = diaryAiApi.getImageUrl(filename);
+
+        setEntries((prev) =>
+          prev.map((entry) =>
+            entry.id === entryId
+              ? { ...entry, fetalArtUrl: imageUrl }
+              : entry,
+          ),
+        );
       } catch (error) {
         console.error("그림 생성 실패:", error);
         alert("그림 생성에 실패했어요. 잠시 후 다시 시도해주세요.");
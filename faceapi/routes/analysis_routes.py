@@ -100,16 +100,23 @@ def get_face_landmarks():
     try:
         import mediapipe as mp
 
-        data = request.get_json()
-        image_data = data.get('image', '')
-        if not image_data:
+        # 바이너리 업로드(multipart) 우선, 없으면 기존 base64 JSON 호환
+        uploaded = request.files.get('image')
+        if uploaded is not None:
+            img_bytes = uploaded.read()
+        else:
+            data = request.get_json(silent=True) or {}
+            image_data = data.get('image', '')
+            if not image_data:
+                return jsonify({'error': 'image is required'}), 400
+
+            # data URL 접두사 제거
+            if ',' in image_data:
+                image_data = image_data.split(',')[1]
+
+            img_bytes = base64.b64decode(image_data)
+        if not img_bytes:
             return jsonify({'error': 'image is required'}), 400
-
-        # data URL 접두사 제거
-        if ',' in image_data:
-            image_data = image_data.split(',')[1]
-
-        img_bytes = base64.b64decode(image_data)
         img_array = np.frombuffer(img_bytes, np.uint8)
         img = cv2.imdecode(img_array, cv2.IMREAD_COLOR)
         if img is None:
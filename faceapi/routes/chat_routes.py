@@ -34,6 +34,13 @@ def strip_markdown(text: str) -> str:
 
 chat_bp = Blueprint('chat', __name__)
 
+# LangGraph intent → 일기 감정 라벨
+EMOTION_MAP = {
+    "medical": "calm",
+    "casual": "happy",
+    "diary": "touched"
+}
+
 # Lazy loaded Chat Graph App
 _chat_app = None
 
@@ -90,14 +97,8 @@ def generate_ai_response():
             print(f"[INFO] LangGraph Output ({intent}): {response_text}")
 
             # Return standard JSON format expected by frontend
-            # We can map 'intent' to 'emotion' if needed, or just default to 'happy'
-            emotion_map = {
-                "medical": "calm",
-                "casual": "happy",
-                "diary": "touched"
-            }
             return jsonify({
-                "emotion": emotion_map.get(intent, "happy"),
+                "emotion": EMOTION_MAP.get(intent, "happy"),
                 "response": response_text,
                 "intent": intent # Useful for debugging frontend
             })
@@ -109,6 +110,47 @@ def generate_ai_response():
         return jsonify({"error": str(e)}), 500
 
 
+@chat_bp.route('/api/openai/batch', methods=['POST'])
+def generate_ai_response_batch():
+    """Spring 마이크로배처가 모은 여러 프롬프트를 한 번의 HTTP 요청으로 처리 (결과는 요청 순서 유지)"""
+    try:
+        items = (request.get_json() or {}).get("items", [])
+
+        if not get_chat_app():
+            return jsonify({"error": "Chat service not initialized"}), 503
+
+        states = []
+        for item in items:
+            context = item.get("context") or {}
+            states.append({
+                "message": item.get("prompt", ""),
+                "weeks": context.get("weeks", 0),
+                "user_name": context.get("user_name", "Mom"),
+                "personality": context.get("personality", ""),
+                "child_name": context.get("child_name", ""),
+                "recent_diary": context.get("recent_diary", ""),
+            })
+
+        print(f"[INFO] 배치 요청 수신: {len(states)}건")
+
+        results = []
+        for output in get_chat_app().batch(states):
+            if isinstance(output, Exception):
+                results.append({"error": str(output)})
+            else:
+                results.append({
+                    "emotion": EMOTION_MAP.get(output["intent"], "happy"),
+                    "response": strip_markdown(output["response"]),
+                    "intent": output["intent"]
+                })
+
+        return jsonify({"results": results})
+
+    except Exception as e:
+        traceback.print_exc()
+        return jsonify({"error": str(e)}), 500
+
+
 @chat_bp.route('/api/daily-question', methods=['GET'])
 def get_daily_question():
     try:
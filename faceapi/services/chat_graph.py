@@ -6,6 +6,7 @@ from langchain_core.output_parsers import StrOutputParser
 from config import Config
 from services.knowledge_base import KnowledgeBase
 import logging
+from concurrent.futures import ThreadPoolExecutor
 
 logger = logging.getLogger(__name__)
 
@@ -108,3 +109,22 @@ class ChatGraphApp:
         response = chain.invoke({"input": message})
 
         return {"response": response, "intent": intent}
+
+    def batch(self, inputs_list: List[dict], max_workers: int = 8) -> list:
+        """
+        여러 요청을 한 번에 처리 (Spring 마이크로배처용).
+        LLM 호출은 I/O 대기이므로 스레드로 병렬 실행하고,
+        개별 실패는 예외 객체로 반환해 나머지 결과에 영향을 주지 않는다.
+        """
+        if not inputs_list:
+            return []
+
+        def run(inputs):
+            try:
+                return self.invoke(inputs)
+            except Exception as e:
+                logger.warning(f"Batch item failed: {e}")
+                return e
+
+        with ThreadPoolExecutor(max_workers=min(max_workers, len(inputs_list))) as pool:
+            return list(pool.map(run, inputs_list))
@@ -25,6 +25,8 @@ RABBITMQ_PASS = os.environ.get('RABBITMQ_DEFAULT_PASS', 'guest')
 WEBHOOK_URL = os.environ.get('SPRING_WEBHOOK_URL', 'http://host.docker.internal:8080/api/images/webhook')
 SPRING_BASE_URL = WEBHOOK_URL.rsplit('/api/images/webhook', 1)[0]
 QUEUE_NAME = 'image-processing'
+DRAWING_QUEUE_NAME = 'diary-drawing'
+DRAWING_WEBHOOK_URL = os.environ.get('SPRING_DRAWING_WEBHOOK_URL', f"{SPRING_BASE_URL}/api/diary-ai/drawing/webhook")
 
 # Eager load: 시작 시 ML 모델을 미리 로딩하여 첫 요청 콜드 스타트 제거
 logger.info("Initializing Heavy ML Models (ImageGenerator)...")
@@ -118,6 +120,57 @@ def send_failure_webhook(job_id, error_msg):
     except Exception as e:
         logger.error(f"Failed to send failure webhook for {job_id}: {e}")
 
+def check_drawing_already_processed(job_id):
+    """그림일기 작업용 멱등성 가드."""
+    try:
+        resp = requests.get(f"{SPRING_BASE_URL}/api/diary-ai/drawing/status/{job_id}", timeout=3)
+        if resp.status_code == 200:
+            return resp.json().get('status') in ('DONE', 'FAILED')
+    except Exception as e:
+        logger.warning(f"[Idempotency] Drawing status check failed for {job_id}: {e}")
+    return False
+
+def process_drawing_message(ch, method, properties, body):
+    job_id = "UNKNOWN"
+    try:
+        message_data = json.loads(body.decode('utf-8'))
+        job_id = message_data.get('jobId')
+        diary_text = message_data.get('diaryText', '')
+
+        logger.info(f"Received Drawing Job: {job_id}")
+
+        if check_drawing_already_processed(job_id):
+            logger.info(f"[Idempotency] Drawing job {job_id} already processed. ACK and skip.")
+            return
+
+        result = get_image_generator().generate_diary_drawing(diary_text)
+
+        if result.get("success"):
+            payload = {
+                'jobId': job_id,
+                'status': 'SUCCESS',
+                'result': {k: result.get(k) for k in ('image_path', 'image_url', 'analysis', 'prompt')},
+            }
+        else:
+            logger.error(f"Drawing failed for {job_id}: {result.get('error')}")
+            payload = {'jobId': job_id, 'status': 'FAILED', 'error': result.get('error')}
+
+        resp = requests.post(DRAWING_WEBHOOK_URL, json=payload, timeout=10)
+        if resp.status_code == 200:
+            logger.info(f"Drawing webhook sent for {job_id}")
+        else:
+            logger.error(f"Drawing webhook failed {resp.status_code}: {resp.text}")
+
+    except Exception as e:
+        logger.error(f"Worker error on drawing {job_id}: {str(e)}")
+        try:
+            requests.post(DRAWING_WEBHOOK_URL, json={'jobId': job_id, 'status': 'FAILED', 'error': str(e)}, timeout=10)
+        except Exception as webhook_error:
+            logger.error(f"Failed to send drawing failure webhook for {job_id}: {webhook_error}")
+    finally:
+        logger.info(f"ACK drawing {job_id}")
+        ch.basic_ack(delivery_tag=method.delivery_tag)
+
 def main():
     logger.info("Starting image worker...")
 
@@ -152,14 +205,19 @@ def main():
         'x-dead-letter-exchange': 'image-exchange.dlx',
         'x-dead-letter-routing-key': 'image-processing.dlq'
     })
+    channel.queue_declare(queue=DRAWING_QUEUE_NAME, durable=True, arguments={
+        'x-dead-letter-exchange': 'image-exchange.dlx',
+        'x-dead-letter-routing-key': 'diary-drawing.dlq'
+    })
 
     # 공정 분배: 한 워커당 한 번에 1개의 메시지만 가져감
     channel.basic_qos(prefetch_count=1)
 
     # 콜백 등록 (auto_ack=False 로 설정해 수동 성공 처리)
     channel.basic_consume(queue=QUEUE_NAME, on_message_callback=process_message, auto_ack=False)
+    channel.basic_consume(queue=DRAWING_QUEUE_NAME, on_message_callback=process_drawing_message, auto_ack=False)
 
-    logger.info(f"Consuming from '{QUEUE_NAME}'")
+    logger.info(f"Consuming from '{QUEUE_NAME}', '{DRAWING_QUEUE_NAME}'")
     try:
         channel.start_consuming()
     except KeyboardInterrupt:
@@ -36,4 +36,53 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * 감정 분석 배치 전송용 풀.
+     * 배치 1건이 HTTP 호출 1건이므로 소수 스레드로 충분하며, 포화 시 호출 스레드에서 전송한다.
+     */
+    @Bean(name = "emotionBatchExecutor")
+    public Executor emotionBatchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("emotion-batch-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * face-api hedged 조회용 풀.
+     * 큐 없이 운용해 포화 시 hedge를 포기하고 호출 스레드에서 단일 요청으로 처리한다.
+     */
+    @Bean(name = "flaskHedgeExecutor")
+    public Executor flaskHedgeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(16);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("flask-hedge-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 이미지 축소본 생성용 풀.
+     * 디코딩·리사이즈가 CPU와 메모리를 많이 쓰므로 동시 작업 수를 작게 묶고,
+     * 포화 시 거절해 요청 스레드가 원본 이미지로 바로 응답하게 한다.
+     */
+    @Bean(name = "imageVariantExecutor")
+    public Executor imageVariantExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        int cores = Runtime.getRuntime().availableProcessors();
+        executor.setCorePoolSize(Math.max(1, cores / 2));
+        executor.setMaxPoolSize(Math.max(2, cores / 2));
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("image-variant-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
 }
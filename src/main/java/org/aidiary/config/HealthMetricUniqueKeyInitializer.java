@@ -0,0 +1,72 @@
+package org.aidiary.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * health_metric의 (user_id, record_date) 유니크 키를 보장한다.
+ *
+ * 예전 저장 경로의 경합으로 같은 날짜 행이 중복돼 있으면 ddl-auto는 키 추가 실패를 로그로만 남기고 기동을 계속한다.
+ * 그러면 upsert가 중복 행을 더 만들고, 날짜 단건 조회가 IncorrectResultSizeDataAccessException(500)으로 실패한다.
+ * 키가 없을 때만 날짜별로 가장 최근(id가 큰) 행만 남기고 정리한 뒤 키를 추가하며, 끝내 추가하지 못하면 기동을 중단한다.
+ * EntityManagerFactory를 주입받아 ddl-auto 이후, 첫 INSERT 전에 실행된다.
+ */
+@Slf4j
+@Component
+public class HealthMetricUniqueKeyInitializer {
+
+    static final String KEY_NAME = "uk_health_metric_user_date";
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static final String KEY_EXISTS_SQL =
+            "SELECT COUNT(*) FROM information_schema.STATISTICS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'health_metric' AND INDEX_NAME = ?";
+    private static final String DEDUPE_SQL =
+            "DELETE h1 FROM health_metric h1 JOIN health_metric h2 " +
+            "ON h1.user_id = h2.user_id AND h1.record_date = h2.record_date AND h1.id < h2.id";
+    private static final String ADD_KEY_SQL =
+            "ALTER TABLE health_metric ADD CONSTRAINT " + KEY_NAME + " UNIQUE (user_id, record_date)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public HealthMetricUniqueKeyInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void ensureUniqueKey() {
+        Exception last = null;
+        // 구버전 인스턴스가 정리와 키 추가 사이에 중복을 다시 만들 수 있어 몇 번 재시도한다
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            if (keyExists()) {
+                return;
+            }
+            try {
+                int removed = jdbcTemplate.update(DEDUPE_SQL);
+                if (removed > 0) {
+                    log.warn("[HealthMetric] 같은 날짜 중복 기록 {}건 정리 (최근 기록 유지)", removed);
+                }
+                jdbcTemplate.execute(ADD_KEY_SQL);
+                log.info("[HealthMetric] {} 추가", KEY_NAME);
+                return;
+            } catch (Exception e) {
+                // 다른 인스턴스가 먼저 추가했으면 다음 반복의 존재 확인에서 끝난다
+                last = e;
+                log.warn("[HealthMetric] {} 추가 실패 ({}/{}): {}", KEY_NAME, attempt, MAX_ATTEMPTS, e.getMessage());
+            }
+        }
+        if (keyExists()) {
+            return;
+        }
+        // 키 없이 기동하면 upsert가 중복 행을 만들고 날짜 조회가 500이 되므로 기동을 중단한다
+        throw new IllegalStateException("health_metric 유니크 키 보장 실패: " + KEY_NAME, last);
+    }
+
+    private boolean keyExists() {
+        Integer count = jdbcTemplate.queryForObject(KEY_EXISTS_SQL, Integer.class, KEY_NAME);
+        return count != null && count > 0;
+    }
+}
@@ -0,0 +1,51 @@
+package org.aidiary.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.aidiary.repository.IdSequenceRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * IDENTITY → SEQUENCE 전환 시 시퀀스를 기존 AUTO_INCREMENT 데이터 뒤로 맞춘다.
+ * EntityManagerFactory를 주입받아 ddl-auto가 시퀀스를 만든 뒤, 첫 INSERT(CommandLineRunner 포함) 전에 실행된다.
+ * 구버전(AUTO_INCREMENT)이 계속 쓰면 정렬한 블록과 id가 겹치므로 전환 배포는 구버전 쓰기를 멈추고 진행한다
+ * (docs/id-generation-migration.md 3.1).
+ */
+@Slf4j
+@Component
+public class IdSequenceInitializer {
+
+    /** 시퀀스 → 테이블 */
+    private static final Map<String, String> SEQUENCES = new LinkedHashMap<>();
+
+    static {
+        SEQUENCES.put("diary_seq", "diary");
+        SEQUENCES.put("fetal_movement_seq", "fetal_movement");
+        SEQUENCES.put("health_metric_seq", "health_metric");
+        SEQUENCES.put("personalized_week_content_seq", "personalized_week_content");
+        SEQUENCES.put("benefit_check_seq", "benefit_checks");
+        SEQUENCES.put("benefit_seq", "benefits");
+    }
+
+    private final IdSequenceRepository idSequenceRepository;
+
+    public IdSequenceInitializer(IdSequenceRepository idSequenceRepository, EntityManagerFactory entityManagerFactory) {
+        this.idSequenceRepository = idSequenceRepository;
+    }
+
+    @PostConstruct
+    public void align() {
+        SEQUENCES.forEach((sequence, table) -> {
+            try {
+                idSequenceRepository.alignWithTable(sequence, table);
+            } catch (Exception e) {
+                // 정렬 없이 기동하면 기존 id와 충돌할 수 있으므로 기동을 중단한다
+                throw new IllegalStateException("ID 시퀀스 정렬 실패: " + sequence, e);
+            }
+        });
+    }
+}
@@ -20,6 +20,11 @@ public class RabbitMQConfig {
     public static final String IMAGE_DLQ = "image-processing.dlq";
     public static final String IMAGE_DLX = "image-exchange.dlx";
 
+    // 그림일기 생성 큐 — 같은 exchange/DLX를 공유하고 routing key로 구분
+    public static final String DRAWING_QUEUE = "diary-drawing";
+    public static final String DRAWING_ROUTING_KEY = "diary.drawing";
+    public static final String DRAWING_DLQ = "diary-drawing.dlq";
+
     @Bean
     public Queue imageQueue() {
         return QueueBuilder.durable(IMAGE_QUEUE)
@@ -54,6 +59,29 @@ public class RabbitMQConfig {
         return BindingBuilder.bind(deadLetterQueue).to(deadLetterExchange).with(IMAGE_DLQ);
     }
 
+    @Bean
+    public Queue drawingQueue() {
+        return QueueBuilder.durable(DRAWING_QUEUE)
+                .withArgument("x-dead-letter-exchange", IMAGE_DLX)
+                .withArgument("x-dead-letter-routing-key", DRAWING_DLQ)
+                .build();
+    }
+
+    @Bean
+    public Binding drawingBinding(Queue drawingQueue, DirectExchange imageExchange) {
+        return BindingBuilder.bind(drawingQueue).to(imageExchange).with(DRAWING_ROUTING_KEY);
+    }
+
+    @Bean
+    public Queue drawingDeadLetterQueue() {
+        return QueueBuilder.durable(DRAWING_DLQ).build();
+    }
+
+    @Bean
+    public Binding drawingDeadLetterBinding(Queue drawingDeadLetterQueue, DirectExchange deadLetterExchange) {
+        return BindingBuilder.bind(drawingDeadLetterQueue).to(deadLetterExchange).with(DRAWING_DLQ);
+    }
+
     // JSON 직렬화
     @Bean
     public MessageConverter jsonMessageConverter() {
@@ -1,6 +1,7 @@
 package org.aidiary.config;
 
 import lombok.RequiredArgsConstructor;
+import org.aidiary.entity.Role;
 import org.aidiary.filter.JwtAuthenticationFilter;
 import org.aidiary.security.JwtTokenProvider;
 import org.springframework.context.annotation.Bean;
@@ -55,14 +56,17 @@ public class SecurityConfig {
                         // 인증 필요 경로
                         .requestMatchers("/api/user/**").authenticated()
                         .requestMatchers("/api/diary/**").authenticated()
+                        .requestMatchers("/api/child/images/**").permitAll()
                         .requestMatchers("/api/child/**").authenticated()
                         .requestMatchers("/api/chat/**").authenticated()
                         .requestMatchers("/api/images/webhook", "/api/images/status/**").permitAll()
+                        .requestMatchers("/api/diary-ai/drawing/webhook", "/api/diary-ai/drawing/status/**").permitAll()
                         .requestMatchers("/api/images/**").authenticated()
                         .requestMatchers("/api/fetal-movement/**").authenticated()
                         .requestMatchers("/api/health/**").authenticated()
                         .requestMatchers("/api/pregnancy/**").authenticated()
                         .requestMatchers("/api/personality/**").authenticated()
+                        .requestMatchers("/api/benefits/catalog/**").hasAuthority(Role.ADMIN.name())
                         .requestMatchers("/api/benefits/**").authenticated()
                         // 나머지는 인증 필요
                         .anyRequest().authenticated())
@@ -3,12 +3,16 @@ package org.aidiary.controller;
 import lombok.RequiredArgsConstructor;
 import org.aidiary.dto.response.BenefitDTO;
 import org.aidiary.entity.User;
+import org.aidiary.service.BenefitCatalog;
 import org.aidiary.service.BenefitService;
+import org.aidiary.service.ResourceVersionService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -22,6 +26,8 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 public class BenefitController {
 
     private final BenefitService benefitService;
+    private final ResourceVersionService resourceVersionService;
+    private final BenefitCatalog benefitCatalog;
 
     @Operation(summary = "주차별 혜택 목록 조회", description = "해당 주차에 받을 수 있는 혜택 목록과 사용자의 체크 여부를 조회합니다.")
     @ApiResponses(value = {
@@ -31,8 +37,12 @@ public class BenefitController {
     @GetMapping
     public ResponseEntity<List<BenefitDTO>> getBenefits(
             @AuthenticationPrincipal User user,
-            @RequestParam(defaultValue = "1") int week) {
-        return ResponseEntity.ok(benefitService.getBenefitsForWeek(user.getId(), week));
+            @RequestParam(defaultValue = "1") int week,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // 카탈로그가 교체되면 체크 상태가 같아도 응답이 달라지므로 카탈로그 버전을 변형에 포함
+        return resourceVersionService.conditional(ResourceVersionService.BENEFIT, user.getId(),
+                "w" + week + ".c" + benefitCatalog.version(),
+                ifNoneMatch, () -> benefitService.getBenefitsForWeek(user.getId(), week));
     }
 
     @Operation(summary = "혜택 체크 상태 토글", description = "특정 혜택의 완료 여부를 체크하거나 해제합니다.")
@@ -47,4 +57,15 @@ public class BenefitController {
             @AuthenticationPrincipal User user) {
         return ResponseEntity.ok(benefitService.toggleBenefitCheck(user.getId(), benefitId));
     }
+
+    @Operation(summary = "혜택 카탈로그 다시 읽기 (관리자)", description = "DB의 혜택 목록으로 주차별 색인을 다시 만들고 다른 인스턴스에도 갱신을 알립니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "갱신 성공 (혜택 건수 반환)"),
+            @ApiResponse(responseCode = "403", description = "관리자 권한 필요")
+    })
+    @PostMapping("/catalog/reload")
+    public ResponseEntity<Map<String, Object>> reloadCatalog() {
+        int count = benefitCatalog.reload();
+        return ResponseEntity.ok(Map.of("benefits", count, "version", benefitCatalog.version()));
+    }
 }
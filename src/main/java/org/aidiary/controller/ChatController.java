@@ -6,6 +6,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aidiary.dto.request.ChatRequest;
 import org.aidiary.dto.response.ChatResponse;
+import org.aidiary.dto.response.DiaryResponseDTO;
 import org.aidiary.dto.ChildDTO;
 import org.aidiary.entity.User;
 import org.aidiary.service.ChatService;
@@ -63,16 +64,22 @@ public class ChatController {
 
         String recentDiary = "";
         try {
-            var diaryPage = diaryService.getDiariesByUser(user.getId(), 0, 1);
-            if (!diaryPage.isEmpty()) {
-                recentDiary = diaryPage.getContent().get(0).getContent();
-            }
+            recentDiary = diaryService.getLatestDiary(user.getId())
+                    .map(DiaryResponseDTO::getContent)
+                    .orElse("");
         } catch (Exception e) {
             log.error("최근 일기 조회 실패: {}", e.getMessage());
         }
 
         ChatResponse response = chatService.generateCharacterResponse(
-                request, personality, childName, weeks, user.getName(), recentDiary);
+                user.getId(), request, personality, childName, weeks, user.getName(), recentDiary);
         return ResponseEntity.ok(response);
     }
+
+    @Operation(summary = "대화 기록 초기화", description = "서버에 저장된 캐릭터와의 대화 기록을 삭제합니다.")
+    @DeleteMapping("/history")
+    public ResponseEntity<Void> clearHistory(@AuthenticationPrincipal User user) {
+        chatService.clearHistory(user.getId());
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -4,7 +4,14 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aidiary.dto.ChildDTO;
 import org.aidiary.entity.User;
+import org.aidiary.service.CharacterImageService;
 import org.aidiary.service.ChildService;
+import org.aidiary.service.ImageVariantService;
+import org.aidiary.service.ResourceVersionService;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -15,6 +22,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
 @RestController
 @RequestMapping("/api/child")
 @RequiredArgsConstructor
@@ -22,7 +32,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @Tag(name = "Child API", description = "아이(캐릭터) 관리 API")
 public class ChildController {
 
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
     private final ChildService childService;
+    private final CharacterImageService characterImageService;
+    private final ImageVariantService imageVariantService;
 
     @Operation(summary = "아이 정보 저장/수정", description = "부모의 특징 및 아이의 기본 정보를 저장하거나 수정합니다.")
     @ApiResponses(value = {
@@ -56,4 +70,60 @@ public class ChildController {
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
+
+    /**
+     * 캐릭터 이미지 조회. 경로의 해시가 곧 내용이므로 강한 ETag + immutable로 응답하며,
+     * If-None-Match가 일치하면 ResponseEntity 처리 단계에서 304로 응답된다.
+     * 추측할 수 없는 SHA-256 주소라 <img> 태그에서 바로 쓰도록 인증 없이 연다.
+     * w를 주면 해당 폭의 축소본(JPEG/WebP)을 보내고, 아직 만들 수 없으면 원본으로 응답한다.
+     * 축소본 사용권은 요청이 끝날 때 반납되므로(416·중단 포함) 인증 없는 Range 요청으로 파일을 붙잡아 둘 수 없다.
+     * 본문을 쓰지 않는 304는 직접 판단해 사용권을 바로 반납한다.
+     */
+    @Operation(summary = "캐릭터 이미지 조회", description = "아이 정보의 characterImage URL이 가리키는 이미지를 반환합니다. w(px)를 주면 축소본을 반환합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "304", description = "변경 없음 (If-None-Match 일치)"),
+            @ApiResponse(responseCode = "404", description = "이미지 없음")
+    })
+    @GetMapping("/images/{hash}")
+    public ResponseEntity<Resource> getCharacterImage(
+            @PathVariable String hash,
+            @RequestParam(value = "w", required = false) Integer width,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return characterImageService.find(hash)
+                .<ResponseEntity<Resource>>map(image -> {
+                    boolean vary = width != null && imageVariantService.negotiatesFormat();
+                    ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+                    if (vary) {
+                        builder.varyBy(HttpHeaders.ACCEPT);
+                    }
+                    return imageVariantService.find(hash, width, accept, () -> Files.readAllBytes(image.path()))
+                            .<ResponseEntity<Resource>>map(lease -> {
+                                ImageVariantService.Variant variant = lease.variant();
+                                if (ResourceVersionService.matches(ifNoneMatch, "\"" + variant.etag() + "\"")) {
+                                    lease.close();
+                                    ResponseEntity.BodyBuilder notModified = ResponseEntity.status(HttpStatus.NOT_MODIFIED);
+                                    if (vary) {
+                                        notModified.varyBy(HttpHeaders.ACCEPT);
+                                    }
+                                    return notModified.eTag(variant.etag()).cacheControl(IMMUTABLE).build();
+                                }
+                                return builder
+                                        .contentType(variant.contentType())
+                                        .contentLength(variant.size())
+                                        .eTag(variant.etag())
+                                        .cacheControl(IMMUTABLE)
+                                        .body(lease.file().bindToRequest());
+                            })
+                            .orElseGet(() -> builder
+                                    .contentType(image.contentType())
+                                    .contentLength(image.size())
+                                    .eTag(hash)
+                                    // 축소본 대신 원본을 보낸 경우 같은 URL이 원본으로 굳지 않도록 재검증하게 한다
+                                    .cacheControl(width != null ? CacheControl.noCache() : IMMUTABLE)
+                                    .body(new FileSystemResource(image.path())));
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
 }
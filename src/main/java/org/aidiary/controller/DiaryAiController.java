@@ -3,13 +3,28 @@ package org.aidiary.controller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aidiary.service.DiaryAiService;
+import org.aidiary.service.DrawingJobStore;
+import org.aidiary.service.DrawingService;
+import org.aidiary.service.GeneratedImageCache;
+import org.aidiary.service.JobStore.Status;
+import org.aidiary.service.ResourceVersionService;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/diary-ai")
@@ -18,11 +33,25 @@ import java.util.Map;
 public class DiaryAiController {
 
     private final DiaryAiService diaryAiService;
+    private final DrawingService drawingService;
+    private final DrawingJobStore drawingJobStore;
+    private final GeneratedImageCache generatedImageCache;
 
     @GetMapping("/daily-question")
     public ResponseEntity<Map<String, String>> getDailyQuestion() {
-        Map<String, String> result = diaryAiService.getDailyQuestion();
-        return ResponseEntity.ok(result);
+        DiaryAiService.DailyQuestion result = diaryAiService.getDailyQuestion();
+        if (result.stale()) {
+            // 오늘 질문을 아직 못 받아 이전 질문을 보내는 경우: 캐시에 남기지 않아 복구 즉시 새 질문이 보이게 한다
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .body(result.question());
+        }
+        // 질문은 자정에 바뀌므로 그때까지 브라우저/프록시 캐시 허용
+        long secondsUntilMidnight = Duration.between(
+                LocalDateTime.now(), LocalDate.now().plusDays(1).atStartOfDay()).getSeconds();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Math.max(0, secondsUntilMidnight), TimeUnit.SECONDS).cachePublic())
+                .body(result.question());
     }
 
     @PostMapping("/emotion-analysis")
@@ -35,17 +64,76 @@ public class DiaryAiController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * 그림일기 생성 요청 제출.
+     * Flask 이미지 생성(수십 초)을 기다리지 않고 즉시 jobId를 반환한다.
+     */
     @PostMapping("/drawing")
-    public ResponseEntity<Map<String, Object>> generateDrawing(@RequestBody Map<String, String> request) {
+    public ResponseEntity<Map<String, String>> submitDrawing(@RequestBody Map<String, String> request) {
         String diaryText = request.get("diary_text");
         if (diaryText == null || diaryText.isBlank()) {
             return ResponseEntity.badRequest().build();
         }
-        Map<String, Object> result = diaryAiService.generateDiaryDrawing(diaryText);
-        return ResponseEntity.ok(result);
+        String jobId = drawingService.submit(diaryText);
+        return ResponseEntity.accepted().body(Map.of("jobId", jobId));
+    }
+
+    /**
+     * 그림일기 작업 상태 조회. DONE이면 결과(image_path, image_url 등)를 함께 반환한다.
+     */
+    @GetMapping("/drawing/status/{jobId}")
+    public ResponseEntity<Map<String, Object>> getDrawingStatus(@PathVariable String jobId) {
+        return drawingJobStore.get(jobId)
+                .map(job -> {
+                    if (job.status() == Status.FAILED) {
+                        return ResponseEntity.internalServerError()
+                                .body(Map.<String, Object>of("status", "FAILED", "error", job.errorMessage()));
+                    }
+                    Map<String, Object> body = new HashMap<>();
+                    if (job.status() == Status.DONE && job.result() != null) {
+                        body.putAll(job.result());
+                    }
+                    body.put("status", job.status().name());
+                    return ResponseEntity.ok(body);
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Python 워커가 그림 생성 후 결과를 송신하는 Webhook.
+     */
+    @PostMapping("/drawing/webhook")
+    @SuppressWarnings("unchecked")
+    public ResponseEntity<Void> receiveDrawingWebhook(@RequestBody Map<String, Object> payload) {
+        String jobId = (String) payload.get("jobId");
+        String status = (String) payload.get("status");
+        if (jobId == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        log.info("📥 Drawing webhook 수신: jobId={}, status={}", jobId, status);
+
+        // 멱등성 가드: RabbitMQ at-least-once delivery로 인한 중복 webhook 방지
+        var existingJob = drawingJobStore.get(jobId);
+        if (existingJob.isPresent()) {
+            Status existingStatus = existingJob.get().status();
+            if (existingStatus == Status.DONE || existingStatus == Status.FAILED) {
+                log.info("[Idempotency] Drawing job {} already {}, ignoring duplicate webhook", jobId, existingStatus);
+                return ResponseEntity.ok().build();
+            }
+        }
+
+        Object result = payload.get("result");
+        if ("SUCCESS".equalsIgnoreCase(status) && result instanceof Map) {
+            drawingJobStore.complete(jobId, (Map<String, Object>) result);
+        } else {
+            Object error = payload.get("error");
+            drawingJobStore.fail(jobId, error != null ? error.toString() : "Unknown ML Error");
+        }
+        return ResponseEntity.ok().build();
     }
 
-    @PostMapping("/face-landmarks")
+    @PostMapping(value = "/face-landmarks", consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Map<String, Object>> getFaceLandmarks(@RequestBody Map<String, String> request) {
         String image = request.get("image");
         if (image == null || image.isBlank()) {
@@ -55,22 +143,52 @@ public class DiaryAiController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * 얼굴 랜드마크 조회 (바이너리 업로드). base64 인코딩/디코딩 없이 이미지 바이트를 그대로 받는다.
+     */
+    @PostMapping(value = "/face-landmarks", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Map<String, Object>> getFaceLandmarksBinary(@RequestParam("image") MultipartFile image)
+            throws IOException {
+        if (image.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        Map<String, Object> result = diaryAiService.getFaceLandmarks(image.getBytes());
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * 생성 이미지 조회. 로컬 디스크 캐시에서 바로 스트리밍하며,
+     * 생성 이미지는 내용이 바뀌지 않으므로 강한 ETag + immutable로 브라우저 재요청도 줄인다.
+     * If-None-Match가 일치하면 파일을 열지 않고 304로 응답한다.
+     * 캐시 사용권은 요청 처리가 끝날 때 반납되므로, 전송 중(Range 요청 포함)에는 축출돼도 파일이 지워지지 않는다.
+     */
     @GetMapping("/images/{filename}")
-    public ResponseEntity<byte[]> getImage(@PathVariable String filename) {
+    public ResponseEntity<Resource> getImage(
+            @PathVariable String filename,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         // Path Traversal 방어: 경로 구분자 포함 시 거부
         if (filename == null || filename.contains("/") || filename.contains("\\") || filename.contains("..")) {
             log.warn("잘못된 파일명 요청: {}", filename);
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
 
-        ResponseEntity<byte[]> flaskResponse = diaryAiService.getGeneratedImage(filename);
-
-        HttpHeaders headers = new HttpHeaders();
-        MediaType contentType = flaskResponse.getHeaders().getContentType();
-        headers.setContentType(contentType != null ? contentType : MediaType.IMAGE_PNG);
-
-        return ResponseEntity.ok()
-                .headers(headers)
-                .body(flaskResponse.getBody());
+        GeneratedImageCache.Lease image = generatedImageCache.getOrFetch(filename);
+        CacheControl cacheControl = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+        try {
+            String etag = image.entry().etag();
+            if (ResourceVersionService.matches(ifNoneMatch, "\"" + etag + "\"")) {
+                image.close();
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+            }
+            return ResponseEntity.ok()
+                    .contentType(MediaTypeFactory.getMediaType(filename).orElse(MediaType.IMAGE_PNG))
+                    .contentLength(image.entry().size())
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .body(image.file().bindToRequest());
+        } catch (RuntimeException e) {
+            image.close();
+            throw e;
+        }
     }
 }
@@ -7,13 +7,27 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.aidiary.dto.CreateDiaryDTO;
+import org.aidiary.dto.response.CursorPageDTO;
 import org.aidiary.dto.response.DiaryResponseDTO;
+import org.aidiary.dto.response.DiarySearchResultDTO;
+import org.aidiary.dto.response.EmotionTimelineDTO;
 import org.aidiary.entity.User;
+import org.aidiary.service.DiaryArchiveService;
+import org.aidiary.service.DiarySearchService;
+import org.aidiary.service.ResourceVersionService;
 import org.aidiary.service.DiaryService;
+import org.aidiary.service.EmotionRollupService;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/diary")
@@ -22,6 +36,10 @@ import org.springframework.web.bind.annotation.*;
 public class DiaryController {
 
         private final DiaryService diaryService;
+        private final DiarySearchService diarySearchService;
+        private final EmotionRollupService emotionRollupService;
+        private final DiaryArchiveService diaryArchiveService;
+        private final ResourceVersionService resourceVersionService;
 
         @Operation(summary = "일기 목록 조회", description = "로그인한 사용자의 일기 목록을 페이지네이션하여 조회합니다.")
         @ApiResponses(value = {
@@ -32,10 +50,82 @@ public class DiaryController {
         public ResponseEntity<Page<DiaryResponseDTO>> getDiaries(
                         @AuthenticationPrincipal User user,
                         @Parameter(description = "페이지 번호 (0부터 시작)") @RequestParam(defaultValue = "0") int page,
-                        @Parameter(description = "페이지 크기") @RequestParam(defaultValue = "10") int size) {
+                        @Parameter(description = "페이지 크기") @RequestParam(defaultValue = "10") int size,
+                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+                return resourceVersionService.conditional(ResourceVersionService.DIARY, user.getId(), page + "." + size,
+                                ifNoneMatch, () -> diaryService.getDiariesByUser(user.getId(), page, size));
+        }
+
+        @Operation(summary = "일기 목록 커서 조회", description = "작성일 역순으로 일기를 커서 기반으로 조회합니다. 전체 건수는 제공하지 않습니다.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "조회 성공"),
+                        @ApiResponse(responseCode = "400", description = "잘못된 커서"),
+                        @ApiResponse(responseCode = "401", description = "인증 필요")
+        })
+        @GetMapping("/cursor")
+        public ResponseEntity<CursorPageDTO<DiaryResponseDTO>> getDiariesByCursor(
+                        @AuthenticationPrincipal User user,
+                        @Parameter(description = "이전 응답의 nextCursor (첫 페이지는 생략)") @RequestParam(required = false) String cursor,
+                        @Parameter(description = "페이지 크기 (최대 50)") @RequestParam(defaultValue = "10") int size) {
+
+                return ResponseEntity.ok(diaryService.getDiariesByCursor(user.getId(), cursor, size));
+        }
+
+        @Operation(summary = "일기 검색", description = "제목/본문에서 검색어와 일치하는 일기를 관련도 순으로 조회합니다.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "검색 성공"),
+                        @ApiResponse(responseCode = "401", description = "인증 필요")
+        })
+        @GetMapping("/search")
+        public ResponseEntity<List<DiarySearchResultDTO>> searchDiaries(
+                        @AuthenticationPrincipal User user,
+                        @Parameter(description = "검색어") @RequestParam("q") String query,
+                        @Parameter(description = "최대 결과 수 (최대 50)") @RequestParam(defaultValue = "20") int size) {
+
+                return ResponseEntity.ok(diarySearchService.search(user.getId(), query, size));
+        }
 
-                Page<DiaryResponseDTO> diaryPage = diaryService.getDiariesByUser(user.getId(), page, size);
-                return ResponseEntity.ok(diaryPage);
+        @Operation(summary = "감정 추이 조회", description = "일별 감정 집계로부터 최근 1주/1개월/임신 기간의 감정 분포를 조회합니다.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "조회 성공"),
+                        @ApiResponse(responseCode = "400", description = "잘못된 범위"),
+                        @ApiResponse(responseCode = "401", description = "인증 필요")
+        })
+        @GetMapping("/emotions/timeline")
+        public ResponseEntity<EmotionTimelineDTO> getEmotionTimeline(
+                        @AuthenticationPrincipal User user,
+                        @Parameter(description = "week, month, pregnancy") @RequestParam(defaultValue = "week") String range) {
+
+                return ResponseEntity.ok(emotionRollupService.getTimeline(user.getId(), range));
+        }
+
+        @Operation(summary = "일기 가져오기", description = "NDJSON(한 줄에 일기 하나: title, content, emotion, createdAt)으로 일기를 대량 등록합니다.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "가져오기 완료 (저장/건너뜀 건수 반환)"),
+                        @ApiResponse(responseCode = "401", description = "인증 필요")
+        })
+        @PostMapping(value = "/import", consumes = { "application/x-ndjson", MediaType.TEXT_PLAIN_VALUE })
+        public ResponseEntity<Map<String, Object>> importDiaries(
+                        @AuthenticationPrincipal User user,
+                        InputStream body) {
+
+                return ResponseEntity.ok(diaryArchiveService.importNdjson(user.getId(), body));
+        }
+
+        @Operation(summary = "일기 내보내기", description = "본인의 일기 전체를 작성일 순 NDJSON으로 스트리밍합니다.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "내보내기 성공"),
+                        @ApiResponse(responseCode = "401", description = "인증 필요")
+        })
+        @GetMapping("/export")
+        public ResponseEntity<StreamingResponseBody> exportDiaries(@AuthenticationPrincipal User user) {
+                Long userId = user.getId();
+                StreamingResponseBody body = out -> diaryArchiveService.exportNdjson(userId, out);
+                return ResponseEntity.ok()
+                                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"diaries.ndjson\"")
+                                .body(body);
         }
 
         @Operation(summary = "일기 작성", description = "새로운 일기를 작성합니다.")
@@ -53,8 +143,7 @@ public class DiaryController {
         @Operation(summary = "일기 수정", description = "기존 일기를 수정합니다. 본인의 일기만 수정 가능합니다.")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "수정 성공"),
-                        @ApiResponse(responseCode = "403", description = "수정 권한 없음"),
-                        @ApiResponse(responseCode = "404", description = "일기를 찾을 수 없음")
+                        @ApiResponse(responseCode = "404", description = "일기를 찾을 수 없음 (타인의 일기 포함)")
         })
         @PutMapping("/{id}")
         public DiaryResponseDTO updateDiary(
@@ -68,8 +157,7 @@ public class DiaryController {
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "업데이트 성공"),
                         @ApiResponse(responseCode = "401", description = "인증 필요"),
-                        @ApiResponse(responseCode = "403", description = "수정 권한 없음"),
-                        @ApiResponse(responseCode = "404", description = "일기를 찾을 수 없음")
+                        @ApiResponse(responseCode = "404", description = "일기를 찾을 수 없음 (타인의 일기 포함)")
         })
         @PatchMapping("/{id}/emotion")
         public DiaryResponseDTO updateEmotion(
@@ -83,8 +171,7 @@ public class DiaryController {
         @Operation(summary = "일기 삭제", description = "기존 일기를 삭제합니다. 본인의 일기만 삭제 가능합니다.")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "삭제 성공"),
-                        @ApiResponse(responseCode = "403", description = "삭제 권한 없음"),
-                        @ApiResponse(responseCode = "404", description = "일기를 찾을 수 없음")
+                        @ApiResponse(responseCode = "404", description = "일기를 찾을 수 없음 (타인의 일기 포함)")
         })
         @DeleteMapping("/{id}")
         public void deleteDiary(
@@ -3,12 +3,17 @@ package org.aidiary.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.aidiary.dto.request.FetalMovementRequest;
+import org.aidiary.dto.request.KickTapRequest;
+import org.aidiary.dto.response.CursorPageDTO;
 import org.aidiary.dto.response.FetalMovementDTO;
 import org.aidiary.dto.response.FetalMovementSummaryDTO;
+import org.aidiary.dto.response.KickSessionDTO;
 import org.aidiary.entity.User;
 import org.aidiary.service.FetalMovementService;
-import org.springframework.data.domain.Page;
+import org.aidiary.service.KickCountSessionService;
+import org.aidiary.service.ResourceVersionService;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
@@ -27,6 +32,8 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 public class FetalMovementController {
 
     private final FetalMovementService fetalMovementService;
+    private final ResourceVersionService resourceVersionService;
+    private final KickCountSessionService kickCountSessionService;
 
     @Operation(summary = "태동 기록", description = "새로운 태동 강도와 메모를 기록합니다.")
     @ApiResponses(value = {
@@ -48,23 +55,74 @@ public class FetalMovementController {
     })
     @GetMapping("/today")
     public ResponseEntity<FetalMovementSummaryDTO> getTodaySummary(
-            @AuthenticationPrincipal User user) {
-        return ResponseEntity.ok(fetalMovementService.getTodaySummary(user.getId()));
+            @AuthenticationPrincipal User user,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // 날짜가 바뀌면 기록이 없어도 요약이 달라지므로 오늘 날짜를 ETag에 포함
+        return resourceVersionService.conditional(ResourceVersionService.FETAL_MOVEMENT, user.getId(),
+                LocalDate.now().toString(), ifNoneMatch, () -> fetalMovementService.getTodaySummary(user.getId()));
     }
 
-    @Operation(summary = "태동 기록 히스토리 조회", description = "특정 날짜의 태동 기록 목록을 페이지네이션하여 조회합니다.")
+    @Operation(summary = "태동 기록 히스토리 조회", description = "특정 날짜의 태동 기록을 최신순 커서 기반으로 조회합니다.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "400", description = "잘못된 커서"),
             @ApiResponse(responseCode = "401", description = "인증 필요")
     })
     @GetMapping("/history")
-    public ResponseEntity<Page<FetalMovementDTO>> getHistory(
+    public ResponseEntity<CursorPageDTO<FetalMovementDTO>> getHistory(
             @AuthenticationPrincipal User user,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "20") int size) {
         LocalDate queryDate = date != null ? date : LocalDate.now();
-        return ResponseEntity.ok(fetalMovementService.getHistory(user.getId(), queryDate, page, size));
+        return ResponseEntity.ok(fetalMovementService.getHistory(user.getId(), queryDate, cursor, size));
+    }
+
+    @Operation(summary = "킥카운트 시작", description = "킥카운트 세션을 시작합니다. 진행 중인 세션이 있으면 그 세션을 돌려줍니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "시작 성공"),
+            @ApiResponse(responseCode = "401", description = "인증 필요")
+    })
+    @PostMapping("/session/start")
+    public ResponseEntity<KickSessionDTO> startSession(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(kickCountSessionService.start(user.getId()));
+    }
+
+    @Operation(summary = "킥카운트 탭", description = "진행 중인 세션에 태동 1회를 기록합니다. 기록은 잠시 후 일괄 저장됩니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "기록 성공"),
+            @ApiResponse(responseCode = "401", description = "인증 필요"),
+            @ApiResponse(responseCode = "409", description = "진행 중인 세션 없음")
+    })
+    @PostMapping("/session/tap")
+    public ResponseEntity<KickSessionDTO> tap(
+            @Valid @RequestBody(required = false) KickTapRequest request,
+            @AuthenticationPrincipal User user) {
+        int intensity = request != null ? request.getIntensity() : 2;
+        return ResponseEntity.ok(kickCountSessionService.tap(user.getId(), intensity));
+    }
+
+    @Operation(summary = "킥카운트 종료", description = "세션을 종료하고 요약을 돌려줍니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "종료 성공"),
+            @ApiResponse(responseCode = "401", description = "인증 필요"),
+            @ApiResponse(responseCode = "409", description = "진행 중인 세션 없음")
+    })
+    @PostMapping("/session/finish")
+    public ResponseEntity<KickSessionDTO> finishSession(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(kickCountSessionService.finish(user.getId()));
+    }
+
+    @Operation(summary = "킥카운트 세션 요약", description = "진행 중이거나 최근 종료된 세션의 횟수, 최대 강도, 10회 도달 시간을 조회합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "204", description = "세션 없음"),
+            @ApiResponse(responseCode = "401", description = "인증 필요")
+    })
+    @GetMapping("/session")
+    public ResponseEntity<KickSessionDTO> getSession(@AuthenticationPrincipal User user) {
+        KickSessionDTO summary = kickCountSessionService.getSummary(user.getId());
+        return summary != null ? ResponseEntity.ok(summary) : ResponseEntity.noContent().build();
     }
 
     @DeleteMapping("/{id}")
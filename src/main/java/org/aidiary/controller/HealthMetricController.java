@@ -3,15 +3,21 @@ package org.aidiary.controller;
 import lombok.RequiredArgsConstructor;
 import org.aidiary.dto.request.HealthMetricRequest;
 import org.aidiary.dto.response.HealthMetricDTO;
+import org.aidiary.dto.response.HealthTrendDTO;
 import org.aidiary.entity.User;
 import org.aidiary.service.HealthMetricService;
+import org.aidiary.service.ResourceVersionService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -23,6 +29,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 public class HealthMetricController {
 
     private final HealthMetricService healthMetricService;
+    private final ResourceVersionService resourceVersionService;
 
     @Operation(summary = "건강 지표 저장", description = "사용자의 건강 지표(체중, 혈압 등)를 저장합니다.")
     @ApiResponses(value = {
@@ -39,8 +46,45 @@ public class HealthMetricController {
 
     @GetMapping("/history")
     public ResponseEntity<List<HealthMetricDTO>> getHistory(
+            @AuthenticationPrincipal User user,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return resourceVersionService.conditional(ResourceVersionService.HEALTH, user.getId(), "history",
+                ifNoneMatch, () -> healthMetricService.getHistory(user.getId()));
+    }
+
+    @Operation(summary = "건강 지표 추이", description = "기간 내 체중/혈압을 지표별 최대 points개로 다운샘플링(LTTB)하고 주 단위 집계를 함께 반환합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "304", description = "변경 없음 (If-None-Match 일치)"),
+            @ApiResponse(responseCode = "400", description = "잘못된 기간"),
+            @ApiResponse(responseCode = "401", description = "인증 실패")
+    })
+    @GetMapping("/trend")
+    public ResponseEntity<HealthTrendDTO> getTrend(
+            @AuthenticationPrincipal User user,
+            @Parameter(description = "시작일 (생략 시 임신 시작일)") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "종료일 (생략 시 오늘)") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "지표별 최대 점 수 (3~1000, 기본 120)") @RequestParam(required = false) Integer points,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String variant = "trend." + from + "." + (to != null ? to : LocalDate.now()) + "." + points;
+        return resourceVersionService.conditional(ResourceVersionService.HEALTH, user.getId(), variant,
+                ifNoneMatch, () -> healthMetricService.getTrend(user.getId(), from, to, points));
+    }
+
+    @Operation(summary = "건강 지표 삭제", description = "본인의 건강 지표 기록을 삭제합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "삭제 성공"),
+            @ApiResponse(responseCode = "401", description = "인증 실패"),
+            @ApiResponse(responseCode = "404", description = "기록을 찾을 수 없음")
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(
+            @PathVariable Long id,
             @AuthenticationPrincipal User user) {
-        return ResponseEntity.ok(healthMetricService.getHistory(user.getId()));
+        healthMetricService.delete(user.getId(), id);
+        return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/latest")
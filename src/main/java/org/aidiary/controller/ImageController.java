@@ -3,9 +3,12 @@ package org.aidiary.controller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aidiary.service.ImageJobStore;
-import org.aidiary.service.ImageJobStore.JobResult;
-import org.aidiary.service.ImageJobStore.Status;
 import org.aidiary.service.ImageService;
+import org.aidiary.service.ImageVariantService;
+import org.aidiary.service.JobStore.JobResult;
+import org.aidiary.service.JobStore.Status;
+import org.aidiary.service.ResourceVersionService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -24,6 +27,7 @@ public class ImageController {
 
     private final ImageService imageService;
     private final ImageJobStore imageJobStore;
+    private final ImageVariantService imageVariantService;
 
     /**
      * 이미지 분석 요청 제출.
@@ -76,24 +80,50 @@ public class ImageController {
 
     /**
      * 완료된 이미지 결과 조회.
+     * w(px)를 주면 미리보기용 축소본(JPEG/WebP)을 보낸다. 캐릭터로 저장할 때는 w 없이 원본 PNG를 받는다.
      */
     @GetMapping("/result/{jobId}")
-    public ResponseEntity<byte[]> getResult(@PathVariable String jobId) {
+    public ResponseEntity<?> getResult(
+            @PathVariable String jobId,
+            @RequestParam(value = "w", required = false) Integer width,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         var jobOpt = imageJobStore.get(jobId);
         if (jobOpt.isEmpty()) {
-            return ResponseEntity.<byte[]>notFound().build();
+            return ResponseEntity.notFound().build();
         }
-        JobResult job = jobOpt.get();
+        JobResult<ImageJobStore.Image> job = jobOpt.get();
         return switch (job.status()) {
             case DONE -> {
                 // 캐싱을 위해 클라이언트 수신 즉시 삭제하지 않음.
                 // 메모리 관리는 ImageJobStore의 TTL cleanup에 위임.
+                if (width != null) {
+                    var lease = imageVariantService.find(job.result().hash(), width, accept, () -> job.result().bytes());
+                    if (lease.isPresent()) {
+                        ImageVariantService.Variant variant = lease.get().variant();
+                        // 본문을 쓰지 않는 304는 여기서 판단해 사용권을 바로 반납한다
+                        boolean notModified = ResourceVersionService.matches(ifNoneMatch, "\"" + variant.etag() + "\"");
+                        ResponseEntity.BodyBuilder builder = ResponseEntity.status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                                .eTag(variant.etag());
+                        if (imageVariantService.negotiatesFormat()) {
+                            builder.varyBy(HttpHeaders.ACCEPT);
+                        }
+                        if (notModified) {
+                            lease.get().close();
+                            yield builder.build();
+                        }
+                        yield builder
+                                .contentType(variant.contentType())
+                                .contentLength(variant.size())
+                                .body(lease.get().file().bindToRequest());
+                    }
+                }
                 yield ResponseEntity.ok()
                         .contentType(MediaType.IMAGE_PNG)
-                        .body(job.imageBytes());
+                        .body(job.result().bytes());
             }
-            case FAILED -> ResponseEntity.<byte[]>internalServerError().build();
-            default -> ResponseEntity.<byte[]>accepted().build(); // 아직 처리 중
+            case FAILED -> ResponseEntity.internalServerError().build();
+            default -> ResponseEntity.accepted().build(); // 아직 처리 중
         };
     }
 
@@ -0,0 +1,37 @@
+package org.aidiary.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.aidiary.dto.request.SyncRequest;
+import org.aidiary.dto.response.SyncResultDTO;
+import org.aidiary.entity.User;
+import org.aidiary.service.OfflineSyncService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+@Tag(name = "Sync API", description = "오프라인 기록 일괄 동기화 API")
+public class SyncController {
+
+    private final OfflineSyncService offlineSyncService;
+
+    @Operation(summary = "오프라인 기록 동기화", description = "오프라인 중 기록한 태동/건강 지표를 멱등 키와 함께 한 번에 반영하고 항목별 결과를 돌려줍니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "동기화 완료 (항목별 CREATED/UPDATED/DUPLICATE/INVALID)"),
+            @ApiResponse(responseCode = "400", description = "요청 건수 초과"),
+            @ApiResponse(responseCode = "401", description = "인증 필요")
+    })
+    @PostMapping
+    public ResponseEntity<SyncResultDTO> sync(
+            @RequestBody SyncRequest request,
+            @AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(offlineSyncService.sync(user.getId(), request));
+    }
+}
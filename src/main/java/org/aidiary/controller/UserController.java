@@ -10,8 +10,10 @@ import org.aidiary.dto.UpdatePasswordDTO;
 import org.aidiary.dto.UpdateProfileDTO;
 import org.aidiary.dto.UserInfoDTO;
 import org.aidiary.entity.User;
+import org.aidiary.service.ResourceVersionService;
 import org.aidiary.service.UserService;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -25,6 +27,7 @@ public class UserController {
 
     private final UserService userService;
     private final PasswordEncoder passwordEncoder;
+    private final ResourceVersionService resourceVersionService;
 
     @Operation(summary = "사용자 정보 조회", description = "현재 로그인한 사용자의 프로필 및 아이 정보를 조회합니다.")
     @ApiResponses(value = {
@@ -32,8 +35,11 @@ public class UserController {
             @ApiResponse(responseCode = "401", description = "인증 필요")
     })
     @GetMapping("/info")
-    public ResponseEntity<UserInfoDTO> getUserInfo(@AuthenticationPrincipal User user) {
-        return ResponseEntity.ok(new UserInfoDTO(user));
+    public ResponseEntity<UserInfoDTO> getUserInfo(
+            @AuthenticationPrincipal User user,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return resourceVersionService.conditional(ResourceVersionService.USER, user.getId(), null,
+                ifNoneMatch, () -> new UserInfoDTO(user));
     }
 
     @Operation(summary = "비밀번호 변경", description = "기존 비밀번호를 확인한 후 새로운 비밀번호로 변경합니다.")
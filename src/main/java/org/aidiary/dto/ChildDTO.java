@@ -2,6 +2,7 @@ package org.aidiary.dto;
 
 import lombok.*;
 import org.aidiary.entity.Child;
+import org.aidiary.service.CharacterImageService;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 
@@ -24,7 +25,7 @@ public class ChildDTO {
     private String prompt;
     @Schema(description = "GPT 응답/분석 내용")
     private String gptResponse;
-    @Schema(description = "생성된 캐릭터 이미지 URL")
+    @Schema(description = "캐릭터 이미지 URL (저장 요청 시에는 data URL/base64 또는 기존 URL)", example = "/api/child/images/3f2a...")
     private String characterImage;
 
     @Schema(description = "아이 이름", example = "동동이")
@@ -41,7 +42,7 @@ public class ChildDTO {
         this.parent2Features = child.getParent2Features();
         this.prompt = child.getPrompt();
         this.gptResponse = child.getGptResponse();
-        this.characterImage = child.getCharacterImage();
+        this.characterImage = CharacterImageService.url(child.getCharacterImageHash());
         this.childName = child.getChildName(); // ✅ 추가
         this.childBirthday = child.getChildBirthday(); // ✅ 추가
         this.childPersonality = child.getChildPersonality();
@@ -0,0 +1,22 @@
+package org.aidiary.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 일기 가져오기/내보내기 NDJSON 한 줄.
+ * 내보낼 때는 id가 채워지며, 가져올 때 id는 무시된다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DiaryArchiveLine {
+    private Long id;
+    private String title;
+    private String content;
+    private String emotion;
+    private LocalDateTime createdAt;
+}
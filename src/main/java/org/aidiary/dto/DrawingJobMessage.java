@@ -0,0 +1,18 @@
+package org.aidiary.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 그림일기 생성 RabbitMQ 메시지 페이로드.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DrawingJobMessage implements Serializable {
+    private String jobId;
+    private String diaryText;
+}
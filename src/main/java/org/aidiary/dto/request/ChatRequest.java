@@ -5,5 +5,9 @@ import lombok.Data;
 @Data
 public class ChatRequest {
     private String message;
-    private String context; // 이전 대화 맥락 (선택적)
+    /**
+     * @deprecated 이전 대화 맥락은 서버(ConversationMemoryService)가 관리한다. 하위 호환을 위해 필드만 유지.
+     */
+    @Deprecated
+    private String context;
 }
@@ -0,0 +1,17 @@
+package org.aidiary.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Data
+@Schema(description = "킥카운트 탭 요청 DTO")
+public class KickTapRequest {
+
+    @Min(1)
+    @Max(3)
+    @Schema(description = "태동 강도 (1:약함, 2:보통, 3:강함)", example = "2")
+    private int intensity = 2;
+}
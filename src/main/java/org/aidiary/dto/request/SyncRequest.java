@@ -0,0 +1,58 @@
+package org.aidiary.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Data
+@Schema(description = "오프라인 기록 일괄 동기화 요청 DTO")
+public class SyncRequest {
+
+    @Schema(description = "오프라인 중 기록한 태동")
+    private List<MovementItem> movements = new ArrayList<>();
+
+    @Schema(description = "오프라인 중 기록한 건강 지표")
+    private List<MetricItem> metrics = new ArrayList<>();
+
+    @Data
+    @Schema(description = "태동 동기화 항목")
+    public static class MovementItem {
+        @Schema(description = "클라이언트 생성 멱등 키 (최대 64자)", example = "9b2f6c1e-4d7a-4a8e-b1c2-1f0e3d5a7c90")
+        private String key;
+
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        @Schema(description = "태동 발생 시각", example = "2025-03-02T15:30:00")
+        private LocalDateTime movementTime;
+
+        @Schema(description = "태동 강도 (1:약함, 2:보통, 3:강함)", example = "2")
+        private int intensity;
+
+        @Schema(description = "메모")
+        private String notes;
+    }
+
+    @Data
+    @Schema(description = "건강 지표 동기화 항목")
+    public static class MetricItem {
+        @Schema(description = "클라이언트 생성 멱등 키 (최대 64자)", example = "0c7d1e2f-5a6b-4c3d-9e8f-7a6b5c4d3e2f")
+        private String key;
+
+        @Schema(description = "기록 날짜", example = "2025-03-02")
+        private LocalDate recordDate;
+
+        @Schema(description = "체중 (kg)", example = "65.5")
+        private Double weight;
+
+        @Schema(description = "수축기 혈압 (mmHg)", example = "120")
+        private Integer systolic;
+
+        @Schema(description = "이완기 혈압 (mmHg)", example = "80")
+        private Integer diastolic;
+    }
+}
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.aidiary.entity.Benefit;
+import org.aidiary.service.BenefitCatalog;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 
@@ -40,4 +41,16 @@ public class BenefitDTO {
                 .completed(completed)
                 .build();
     }
+
+    public static BenefitDTO fromEntry(BenefitCatalog.Entry entry, boolean completed) {
+        return BenefitDTO.builder()
+                .id(entry.id())
+                .title(entry.title())
+                .description(entry.description())
+                .recommendedWeekStart(entry.recommendedWeekStart())
+                .recommendedWeekEnd(entry.recommendedWeekEnd())
+                .rewardAmount(entry.rewardAmount())
+                .completed(completed)
+                .build();
+    }
 }
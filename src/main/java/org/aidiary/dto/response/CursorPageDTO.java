@@ -0,0 +1,22 @@
+package org.aidiary.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Keyset 페이지 응답. 전체 건수를 세지 않으며, nextCursor가 null이면 마지막 페이지다.
+ */
+@Getter
+@AllArgsConstructor
+@Schema(description = "커서 기반 페이지 응답")
+public class CursorPageDTO<T> {
+    @Schema(description = "현재 페이지 항목")
+    private List<T> content;
+    @Schema(description = "다음 페이지 커서 (마지막 페이지면 null)")
+    private String nextCursor;
+    @Schema(description = "다음 페이지 존재 여부")
+    private boolean hasNext;
+}
@@ -0,0 +1,32 @@
+package org.aidiary.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "일기 검색 결과 DTO")
+public class DiarySearchResultDTO {
+    @Schema(description = "일기 ID", example = "1")
+    private Long id;
+    @Schema(description = "일기 제목", example = "오늘의 일기")
+    private String title;
+    @Schema(description = "본문 중 일치 구간 주변 발췌")
+    private String snippet;
+    @Schema(description = "snippet 내 일치 구간 [start, end) 목록", example = "[[3, 5]]")
+    private List<int[]> highlights;
+    @Schema(description = "일기 감정", example = "HAPPY")
+    private String emotion;
+    @Schema(description = "작성 일시")
+    private LocalDateTime createdAt;
+    @Schema(description = "검색 점수")
+    private double score;
+}
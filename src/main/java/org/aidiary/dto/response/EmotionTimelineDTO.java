@@ -0,0 +1,39 @@
+package org.aidiary.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "감정 추이 응답 DTO")
+public class EmotionTimelineDTO {
+    @Schema(description = "조회 범위 (week, month, pregnancy)", example = "week")
+    private String range;
+    @Schema(description = "시작일")
+    private LocalDate from;
+    @Schema(description = "종료일")
+    private LocalDate to;
+    @Schema(description = "기간 전체 감정별 건수", example = "{\"happy\": 3, \"calm\": 2}")
+    private Map<String, Integer> totals;
+    @Schema(description = "구간별 감정 분포 (week/month는 일 단위, pregnancy는 주 단위)")
+    private List<Bucket> buckets;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Bucket {
+        @Schema(description = "구간 시작일")
+        private LocalDate start;
+        @Schema(description = "감정별 건수")
+        private Map<String, Integer> counts;
+    }
+}
@@ -1,7 +1,9 @@
 package org.aidiary.dto.response;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.aidiary.entity.FetalMovement;
 
 import java.time.LocalDateTime;
@@ -10,6 +12,8 @@ import io.swagger.v3.oas.annotations.media.Schema;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor // JPQL constructor expression 용 (new FetalMovementDTO(...))
 @Schema(description = "태동 기록 응답 DTO")
 public class FetalMovementDTO {
     @Schema(description = "기록 ID", example = "1")
@@ -1,6 +1,7 @@
 package org.aidiary.dto.response;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import org.aidiary.entity.HealthMetric;
@@ -8,6 +9,7 @@ import java.time.LocalDate;
 
 @Data
 @Builder
+@AllArgsConstructor
 @Schema(description = "건강 지표 응답 DTO")
 public class HealthMetricDTO {
 
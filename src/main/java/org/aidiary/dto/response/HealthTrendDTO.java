@@ -0,0 +1,69 @@
+package org.aidiary.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "건강 지표 추이 응답 DTO")
+public class HealthTrendDTO {
+    @Schema(description = "시작일")
+    private LocalDate from;
+    @Schema(description = "종료일")
+    private LocalDate to;
+    @Schema(description = "기간 내 원본 기록 수", example = "183")
+    private int totalRecords;
+    @Schema(description = "체중 추이 (LTTB 다운샘플링)")
+    private List<Point> weight;
+    @Schema(description = "수축기 혈압 추이 (LTTB 다운샘플링)")
+    private List<Point> systolic;
+    @Schema(description = "이완기 혈압 추이 (LTTB 다운샘플링)")
+    private List<Point> diastolic;
+    @Schema(description = "주 단위 집계 (출산 예정일이 있으면 임신 주차 기준)")
+    private List<Weekly> weekly;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Point {
+        @Schema(description = "기록 날짜")
+        private LocalDate date;
+        @Schema(description = "값", example = "65.5")
+        private double value;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Weekly {
+        @Schema(description = "주 시작일")
+        private LocalDate start;
+        @Schema(description = "임신 주차 (출산 예정일을 모르면 null)", example = "24")
+        private Integer pregnancyWeek;
+        @Schema(description = "기록 수", example = "5")
+        private int records;
+        @Schema(description = "평균 체중")
+        private Double weightAvg;
+        @Schema(description = "최소 체중")
+        private Double weightMin;
+        @Schema(description = "최대 체중")
+        private Double weightMax;
+        @Schema(description = "평균 수축기 혈압")
+        private Double systolicAvg;
+        @Schema(description = "최대 수축기 혈압")
+        private Integer systolicMax;
+        @Schema(description = "평균 이완기 혈압")
+        private Double diastolicAvg;
+        @Schema(description = "최대 이완기 혈압")
+        private Integer diastolicMax;
+    }
+}
@@ -0,0 +1,30 @@
+package org.aidiary.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Data
+@Builder
+@Schema(description = "킥카운트 세션 요약 DTO")
+public class KickSessionDTO {
+    @Schema(description = "진행 중 여부", example = "true")
+    private boolean active;
+    @Schema(description = "세션 시작 시각")
+    private LocalDateTime startedAt;
+    @Schema(description = "세션 종료 시각 (진행 중이면 null)")
+    private LocalDateTime finishedAt;
+    @Schema(description = "누적 태동 횟수", example = "7")
+    private int count;
+    @Schema(description = "최대 강도", example = "3")
+    private int maxIntensity;
+    @Schema(description = "목표(10회) 도달 여부", example = "false")
+    private boolean goalReached;
+    @Schema(description = "10회 도달까지 걸린 시간(초), 미도달이면 null", example = "1260")
+    private Long secondsToGoal;
+    @Schema(description = "경과 시간(초)", example = "900")
+    private long elapsedSeconds;
+}
@@ -0,0 +1,31 @@
+package org.aidiary.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "오프라인 동기화 결과 DTO")
+public class SyncResultDTO {
+
+    @Schema(description = "요청 순서대로의 항목별 결과")
+    private List<Item> results;
+
+    @Data
+    @AllArgsConstructor
+    @Schema(description = "항목별 동기화 결과")
+    public static class Item {
+        @Schema(description = "movement 또는 metric", example = "movement")
+        private String type;
+        @Schema(description = "클라이언트 멱등 키")
+        private String key;
+        @Schema(description = "CREATED, UPDATED, DUPLICATE, INVALID", example = "CREATED")
+        private String status;
+        @Schema(description = "INVALID일 때 사유")
+        private String error;
+    }
+}
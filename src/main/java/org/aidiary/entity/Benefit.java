@@ -13,7 +13,8 @@ import lombok.*;
 public class Benefit {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "benefit_seq")
+    @SequenceGenerator(name = "benefit_seq", sequenceName = "benefit_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -28,4 +29,11 @@ public class Benefit {
 
     @Column(length = 50)
     private String rewardAmount;
+
+    /**
+     * 완료 비트셋(benefit_completion)에서의 비트 위치. id는 시퀀스 할당 단위로 띄엄띄엄 커지므로
+     * 비트 위치로 쓰지 않고, 카탈로그 적재 시 BenefitCatalog가 빈 값을 차례로 채운다.
+     */
+    @Column(name = "bit_index", unique = true)
+    private Integer bitIndex;
 }
@@ -22,7 +22,8 @@ import java.time.LocalDateTime;
 public class BenefitCheck {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "benefit_check_seq")
+    @SequenceGenerator(name = "benefit_check_seq", sequenceName = "benefit_check_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
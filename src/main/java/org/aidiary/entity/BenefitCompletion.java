@@ -0,0 +1,28 @@
+package org.aidiary.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 사용자별 혜택 완료 여부 비트셋. 비트 위치 = 혜택의 bit_index (BitSet.toByteArray 형식, 리틀 엔디언).
+ * 사용자당 한 행이므로 목록 조회는 PK 조회 한 번, 토글은 이 행 하나만 잠그고 비트 하나를 뒤집는다.
+ */
+@Entity
+@Table(name = "benefit_completion")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BenefitCompletion extends BaseEntity {
+
+    /** 비트 위치(bit_index) 상한 (컬럼 길이 × 8) */
+    public static final int MAX_BITS = 1024 * 8;
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false, length = 1024)
+    private byte[] bits;
+}
@@ -28,8 +28,13 @@ public class Child {
     @Column(name = "gpt_response", columnDefinition = "LONGTEXT")
     private String gptResponse;
 
+    /** 이전 방식의 base64 이미지. 기동 시 BlobStore로 옮겨지고 NULL이 된다. */
     @Column(name = "child_image", columnDefinition = "LONGTEXT")
-    private String characterImage;
+    private String legacyImageBase64;
+
+    /** 캐릭터 이미지의 BlobStore 해시 (SHA-256) */
+    @Column(name = "character_image_hash", length = 64)
+    private String characterImageHash;
 
     @Column(name = "child_name")
     private String childName;
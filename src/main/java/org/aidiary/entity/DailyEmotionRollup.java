@@ -0,0 +1,41 @@
+package org.aidiary.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * 사용자·날짜·감정별 일기 건수 집계.
+ * DiaryService의 작성/수정/삭제 시점에 증분 갱신되며, 감정 추이 조회는 원본 일기 대신 이 테이블을 읽는다.
+ */
+@Entity
+@Table(
+        name = "daily_emotion_rollup",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_emotion_rollup_user_date_emotion",
+                columnNames = {"user_id", "rollup_date", "emotion"})
+)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyEmotionRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Column(nullable = false)
+    private String emotion;
+
+    @Column(nullable = false)
+    private int entryCount;
+}
@@ -9,10 +9,15 @@ import lombok.*;
 @AllArgsConstructor
 @Builder
 @Entity
+@Table(name = "diary", indexes = {
+        // Keyset 페이지네이션: user_id 등치 + (created_at, id) 역순 탐색을 인덱스만으로 처리
+        @Index(name = "idx_diary_user_created_id", columnList = "user_id, created_at, id")
+})
 public class Diary extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "diary_seq")
+    @SequenceGenerator(name = "diary_seq", sequenceName = "diary_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
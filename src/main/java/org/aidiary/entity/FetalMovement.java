@@ -6,7 +6,13 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "fetal_movement")
+@Table(name = "fetal_movement", indexes = {
+        // 일자별 히스토리 Keyset 조회: user_id 등치 + (movement_time, id) 역순 탐색
+        @Index(name = "idx_fetal_movement_user_time_id", columnList = "user_id, movement_time, id")
+}, uniqueConstraints = {
+        // 오프라인 동기화 멱등 키 (키 없이 저장된 기록은 NULL이라 제약에 걸리지 않음)
+        @UniqueConstraint(name = "uk_fetal_movement_user_client_key", columnNames = { "user_id", "client_key" })
+})
 @Getter
 @Setter
 @Builder
@@ -15,7 +21,8 @@ import java.time.LocalDateTime;
 public class FetalMovement extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fetal_movement_seq")
+    @SequenceGenerator(name = "fetal_movement_seq", sequenceName = "fetal_movement_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -30,4 +37,7 @@ public class FetalMovement extends BaseEntity {
 
     @Column(length = 500)
     private String notes;
+
+    @Column(name = "client_key", length = 64)
+    private String clientKey; // 클라이언트가 생성한 멱등 키 (오프라인 동기화)
 }
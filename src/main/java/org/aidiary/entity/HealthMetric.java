@@ -6,7 +6,10 @@ import lombok.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "health_metric")
+@Table(name = "health_metric", uniqueConstraints = {
+        // 하루 1건. 저장은 이 키에 대한 INSERT ... ON DUPLICATE KEY UPDATE 한 문장
+        @UniqueConstraint(name = "uk_health_metric_user_date", columnNames = {"user_id", "record_date"})
+})
 @Getter
 @Setter
 @Builder
@@ -15,14 +18,15 @@ import java.time.LocalDate;
 public class HealthMetric extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "health_metric_seq")
+    @SequenceGenerator(name = "health_metric_seq", sequenceName = "health_metric_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Column(nullable = false)
+    @Column(name = "record_date", nullable = false)
     private LocalDate recordDate;
 
     private Double weight;      // 체중(kg)
@@ -0,0 +1,44 @@
+package org.aidiary.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * 오프라인 동기화로 반영한 건강 지표 항목의 클라이언트 멱등 키.
+ * 건강 지표는 날짜당 한 행을 덮어쓰므로 키를 행에 둘 수 없어 따로 기록한다.
+ * (user_id, client_key)가 PK라 같은 키는 한 번만 반영된다.
+ */
+@Entity
+@Table(name = "health_metric_sync_key")
+@IdClass(HealthMetricSyncKey.Key.class)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HealthMetricSyncKey extends BaseEntity {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "client_key", length = 64)
+    private String clientKey;
+
+    @Column(name = "record_date", nullable = false)
+    private LocalDate recordDate;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long userId;
+        private String clientKey;
+    }
+}
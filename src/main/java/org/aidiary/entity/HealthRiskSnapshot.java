@@ -0,0 +1,45 @@
+package org.aidiary.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 사용자별 활력 징후 증분 통계 스냅샷과 마지막 판정 결과.
+ * 건강 지표 저장 시점에만 갱신되며, 조회(사용자 컨텍스트 등)는 이 행 하나만 읽는다.
+ */
+@Entity
+@Table(name = "health_risk_snapshot")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HealthRiskSnapshot extends BaseEntity {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    /** VitalSignStats 직렬화 상태 */
+    @Column(nullable = false, length = 256)
+    private byte[] state;
+
+    @Column(name = "last_record_date")
+    private LocalDate lastRecordDate;
+
+    @Column(name = "risk_level", nullable = false, length = 16)
+    private String riskLevel;
+
+    @Column(name = "risk_trend", nullable = false, length = 16)
+    private String riskTrend;
+
+    /** 마지막 기록에서 발생한 경보 코드 (쉼표 구분, 없으면 빈 문자열) */
+    @Column(nullable = false, length = 128)
+    private String alerts;
+
+    @Column(name = "last_alert_at")
+    private LocalDateTime lastAlertAt;
+}
@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 public class PersonalizedWeekContent {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "personalized_week_content_seq")
+    @SequenceGenerator(name = "personalized_week_content_seq", sequenceName = "personalized_week_content_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
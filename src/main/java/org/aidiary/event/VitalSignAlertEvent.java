@@ -0,0 +1,18 @@
+package org.aidiary.event;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 건강 지표 저장으로 활력 징후 경보가 발생했을 때 발행된다.
+ */
+public record VitalSignAlertEvent(
+        Long userId,
+        LocalDate recordDate,
+        List<String> alerts,
+        String riskLevel,
+        String riskTrend,
+        Double weight,
+        Integer systolic,
+        Integer diastolic
+) {}
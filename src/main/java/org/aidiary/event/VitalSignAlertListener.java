@@ -0,0 +1,21 @@
+package org.aidiary.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 활력 징후 경보 수신. 현재는 기록만 남기며, 알림 채널이 생기면 여기서 전달한다.
+ * 스냅샷 커밋 이후에만 실행되므로 롤백된 판정은 전달되지 않는다.
+ */
+@Slf4j
+@Component
+public class VitalSignAlertListener {
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAlert(VitalSignAlertEvent event) {
+        log.warn("[VitalSign] userId={} {} 경보 {} (위험도 {}, 추세 {}, 혈압 {}/{}, 체중 {})",
+                event.userId(), event.recordDate(), event.alerts(), event.riskLevel(), event.riskTrend(),
+                event.systolic(), event.diastolic(), event.weight());
+    }
+}
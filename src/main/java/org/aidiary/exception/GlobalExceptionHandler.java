@@ -52,7 +52,7 @@ public class GlobalExceptionHandler {
     }
 
     /**
-     * SecurityException 처리 (DiaryService에서 사용)
+     * SecurityException 처리
      */
     @ExceptionHandler(SecurityException.class)
     public ResponseEntity<ApiResponse<Void>> handleSecurityException(SecurityException ex) {
@@ -3,6 +3,7 @@ package org.aidiary.mapper;
 import org.aidiary.dto.ChildDTO;
 import org.aidiary.entity.Child;
 import org.aidiary.entity.User;
+import org.aidiary.service.CharacterImageService;
 import org.springframework.stereotype.Component;
 
 /**
@@ -25,14 +26,14 @@ public class ChildMapper {
                 .parent2Features(entity.getParent2Features())
                 .prompt(entity.getPrompt())
                 .gptResponse(entity.getGptResponse())
-                .characterImage(entity.getCharacterImage())
+                .characterImage(CharacterImageService.url(entity.getCharacterImageHash()))
                 .childName(entity.getChildName())
                 .childBirthday(entity.getChildBirthday())
                 .build();
     }
 
     /**
-     * DTO 값을 Entity에 적용
+     * DTO 값을 Entity에 적용 (캐릭터 이미지는 ChildService가 저장 후 해시로 설정)
      */
     public void updateEntity(Child entity, ChildDTO dto) {
         if (entity == null || dto == null) {
@@ -42,7 +43,6 @@ public class ChildMapper {
         entity.setParent2Features(dto.getParent2Features());
         entity.setPrompt(dto.getPrompt());
         entity.setGptResponse(dto.getGptResponse());
-        entity.setCharacterImage(dto.getCharacterImage());
         entity.setChildName(dto.getChildName());
         entity.setChildBirthday(dto.getChildBirthday());
     }
@@ -21,4 +21,10 @@ public interface BenefitCheckRepository extends JpaRepository<BenefitCheck, Long
     List<BenefitCheck> findByUser(@Param("user") User user);
 
     Optional<BenefitCheck> findByUserAndBenefitId(User user, Long benefitId);
+
+    /**
+     * 비트셋 저장(benefit_completion) 도입 전 완료 기록. (user_id, benefit_id), 사용자 순.
+     */
+    @Query("SELECT bc.user.id, bc.benefit.id FROM BenefitCheck bc WHERE bc.completed = true ORDER BY bc.user.id")
+    List<Object[]> findAllCompletedPairs();
 }
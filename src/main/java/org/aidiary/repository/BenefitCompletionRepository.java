@@ -0,0 +1,35 @@
+package org.aidiary.repository;
+
+import jakarta.persistence.LockModeType;
+import org.aidiary.entity.BenefitCompletion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface BenefitCompletionRepository extends JpaRepository<BenefitCompletion, Long> {
+
+    @Query("SELECT c.bits FROM BenefitCompletion c WHERE c.userId = :userId")
+    Optional<byte[]> findBitsByUserId(@Param("userId") Long userId);
+
+    /**
+     * 같은 사용자의 토글이 동시에 들어와도 비트 뒤집기가 서로 덮어쓰지 않도록 행을 잠근다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM BenefitCompletion c WHERE c.userId = :userId")
+    Optional<BenefitCompletion> findForUpdate(@Param("userId") Long userId);
+
+    /**
+     * 첫 토글 시 빈 비트셋 행을 만든다. 동시에 만들어도 한 행만 남는다.
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO benefit_completion (user_id, bits, created_at, updated_at) " +
+                   "VALUES (:userId, :bits, :now, :now)", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("bits") byte[] bits, @Param("now") LocalDateTime now);
+}
@@ -2,11 +2,29 @@ package org.aidiary.repository;
 
 import org.aidiary.entity.Benefit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Repository
 public interface BenefitRepository extends JpaRepository<Benefit, Long> {
-    List<Benefit> findByRecommendedWeekStartLessThanEqualAndRecommendedWeekEndGreaterThanEqualOrderByRecommendedWeekStartAsc(int endWeek, int startWeek);
+
+    /** 비트 위치가 아직 없는 혜택 id (id 순) */
+    @Query("SELECT b.id FROM Benefit b WHERE b.bitIndex IS NULL ORDER BY b.id")
+    List<Long> findIdsWithoutBitIndex();
+
+    @Query("SELECT MAX(b.bitIndex) FROM Benefit b")
+    Integer findMaxBitIndex();
+
+    /**
+     * 비트 위치를 한 번만 채운다. 다른 인스턴스와 같은 위치를 잡으면 유니크 제약 위반으로 실패한다.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Benefit b SET b.bitIndex = :bitIndex WHERE b.id = :id AND b.bitIndex IS NULL")
+    int assignBitIndex(@Param("id") Long id, @Param("bitIndex") int bitIndex);
 }
@@ -2,11 +2,27 @@ package org.aidiary.repository;
 
 import org.aidiary.entity.Child;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ChildRepository extends JpaRepository<Child, Long> {
     Optional<Child> findByUser_Id(Long userId);  // ✅ 수정: user의 id를 기준으로 자녀 검색
+
+    @Query("SELECT c.id FROM Child c WHERE c.legacyImageBase64 IS NOT NULL")
+    List<Long> findIdsWithLegacyImage();
+
+    @Query("SELECT c.legacyImageBase64 FROM Child c WHERE c.id = :id")
+    Optional<String> findLegacyImage(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Child c SET c.characterImageHash = :hash, c.legacyImageBase64 = NULL WHERE c.id = :id")
+    int moveLegacyImage(@Param("id") Long id, @Param("hash") String hash);
 }
@@ -0,0 +1,62 @@
+package org.aidiary.repository;
+
+import org.aidiary.entity.DailyEmotionRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyEmotionRollupRepository extends JpaRepository<DailyEmotionRollup, Long> {
+
+    /**
+     * 기간 조회 — (user_id, rollup_date, emotion) 유니크 인덱스의 선두 컬럼으로 범위 탐색.
+     */
+    List<DailyEmotionRollup> findByUserIdAndRollupDateBetweenOrderByRollupDateAsc(
+            Long userId, LocalDate from, LocalDate to);
+
+    /**
+     * 건수 +1 (없으면 생성). MariaDB 원자적 upsert.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_emotion_rollup (user_id, rollup_date, emotion, entry_count) " +
+                   "VALUES (:userId, :date, :emotion, 1) " +
+                   "ON DUPLICATE KEY UPDATE entry_count = entry_count + 1", nativeQuery = true)
+    void increment(@Param("userId") Long userId, @Param("date") LocalDate date, @Param("emotion") String emotion);
+
+    @Modifying
+    @Query("UPDATE DailyEmotionRollup r SET r.entryCount = r.entryCount - 1 " +
+           "WHERE r.userId = :userId AND r.rollupDate = :date AND r.emotion = :emotion AND r.entryCount > 0")
+    int decrement(@Param("userId") Long userId, @Param("date") LocalDate date, @Param("emotion") String emotion);
+
+    @Modifying
+    @Query("DELETE FROM DailyEmotionRollup r " +
+           "WHERE r.userId = :userId AND r.rollupDate = :date AND r.emotion = :emotion AND r.entryCount <= 0")
+    int deleteEmpty(@Param("userId") Long userId, @Param("date") LocalDate date, @Param("emotion") String emotion);
+
+    @Modifying
+    @Query("DELETE FROM DailyEmotionRollup r WHERE r.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_emotion_rollup (user_id, rollup_date, emotion, entry_count) " +
+                   "SELECT user_id, CAST(created_at AS DATE), emotion, COUNT(*) FROM diary WHERE user_id = :userId " +
+                   "GROUP BY user_id, CAST(created_at AS DATE), emotion", nativeQuery = true)
+    int backfillForUser(@Param("userId") Long userId);
+
+    /**
+     * 집계 테이블 도입 이전 일기로부터 한 번에 채운다.
+     * 여러 인스턴스가 동시에 기동해 함께 채워도 키 충돌 없이 일기 기준 건수로 맞춰진다.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO daily_emotion_rollup (user_id, rollup_date, emotion, entry_count) " +
+                   "SELECT user_id, CAST(created_at AS DATE), emotion, COUNT(*) FROM diary " +
+                   "GROUP BY user_id, CAST(created_at AS DATE), emotion " +
+                   "ON DUPLICATE KEY UPDATE entry_count = VALUES(entry_count)", nativeQuery = true)
+    int backfillFromDiaries();
+}
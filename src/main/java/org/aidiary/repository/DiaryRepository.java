@@ -2,10 +2,11 @@ package org.aidiary.repository;
 
 import org.aidiary.dto.response.DiaryResponseDTO;
 import org.aidiary.entity.Diary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -17,12 +18,6 @@ import java.util.Optional;
 @Repository
 public interface DiaryRepository extends JpaRepository<Diary, Long> {
 
-    /**
-     * 최근 N일간 감정 라벨 조회 — 개인화 프롬프트 컨텍스트용.
-     */
-    @Query("SELECT d.emotion FROM Diary d WHERE d.user.id = :userId AND d.createdAt >= :since ORDER BY d.createdAt DESC")
-    List<String> findRecentEmotionsByUserId(@Param("userId") Long userId, @Param("since") LocalDateTime since);
-
     /**
      * 일기 목록 조회 — DTO Projection.
      *
@@ -35,9 +30,67 @@ public interface DiaryRepository extends JpaRepository<Diary, Long> {
     Page<DiaryResponseDTO> findDiaryDTOsByUserId(@Param("userId") Long userId, Pageable pageable);
 
     /**
-     * 소유자 검증이 필요한 수정/삭제 시 사용.
-     * @EntityGraph로 user를 JOIN FETCH하여 소유권 확인 쿼리를 1회로 줄인다.
+     * 일기 목록 Keyset 조회 — 첫 페이지.
+     * List 반환이므로 COUNT 쿼리가 발생하지 않는다.
+     */
+    @Query("SELECT new org.aidiary.dto.response.DiaryResponseDTO(d.id, d.title, d.content, d.emotion, d.createdAt, d.updatedAt) " +
+           "FROM Diary d WHERE d.user.id = :userId ORDER BY d.createdAt DESC, d.id DESC")
+    List<DiaryResponseDTO> findLatestDiaryDTOs(@Param("userId") Long userId, Limit limit);
+
+    /**
+     * 일기 목록 Keyset 조회 — 커서 (createdAt, id) 이후 페이지.
+     * OFFSET 없이 (user_id, created_at, id) 인덱스에서 커서 위치부터 읽으므로 페이지 깊이와 무관하게 비용이 일정하다.
+     */
+    @Query("SELECT new org.aidiary.dto.response.DiaryResponseDTO(d.id, d.title, d.content, d.emotion, d.createdAt, d.updatedAt) " +
+           "FROM Diary d WHERE d.user.id = :userId " +
+           "AND (d.createdAt < :createdAt OR (d.createdAt = :createdAt AND d.id < :id)) " +
+           "ORDER BY d.createdAt DESC, d.id DESC")
+    List<DiaryResponseDTO> findDiaryDTOsBefore(@Param("userId") Long userId,
+                                               @Param("createdAt") LocalDateTime createdAt,
+                                               @Param("id") Long id,
+                                               Limit limit);
+
+    /**
+     * 검색 색인 빌드용 — 사용자 일기 전체 (DTO Projection).
+     */
+    @Query("SELECT new org.aidiary.dto.response.DiaryResponseDTO(d.id, d.title, d.content, d.emotion, d.createdAt, d.updatedAt) " +
+           "FROM Diary d WHERE d.user.id = :userId")
+    List<DiaryResponseDTO> findAllDiaryDTOsByUserId(@Param("userId") Long userId);
+
+    /**
+     * 검색 결과 상위 N건만 PK로 조회. user 조건으로 소유권도 함께 보장한다.
+     */
+    @Query("SELECT new org.aidiary.dto.response.DiaryResponseDTO(d.id, d.title, d.content, d.emotion, d.createdAt, d.updatedAt) " +
+           "FROM Diary d WHERE d.user.id = :userId AND d.id IN :ids")
+    List<DiaryResponseDTO> findDiaryDTOsByUserIdAndIds(@Param("userId") Long userId, @Param("ids") List<Long> ids);
+
+    /**
+     * 단건 조회 — DTO Projection. user 조건으로 소유권을 함께 보장한다 (타인의 일기면 empty).
+     */
+    @Query("SELECT new org.aidiary.dto.response.DiaryResponseDTO(d.id, d.title, d.content, d.emotion, d.createdAt, d.updatedAt) " +
+           "FROM Diary d WHERE d.id = :id AND d.user.id = :userId")
+    Optional<DiaryResponseDTO> findDiaryDTOByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * 소유권 조건부 감정 수정. 엔티티를 로딩하지 않고 UPDATE 한 번으로 처리하며,
+     * 영향받은 행 수가 0이면 없는 일기이거나 타인의 일기다.
+     * 벌크 UPDATE는 @UpdateTimestamp를 거치지 않으므로 updatedAt을 직접 갱신한다.
+     */
+    @Modifying
+    @Query("UPDATE Diary d SET d.emotion = :emotion, d.updatedAt = :now WHERE d.id = :id AND d.user.id = :userId")
+    int updateEmotionByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId,
+                                   @Param("emotion") String emotion, @Param("now") LocalDateTime now);
+
+    /**
+     * 소유권 조건부 삭제. 영향받은 행 수(0 또는 1)를 돌려준다.
+     */
+    @Modifying
+    @Query("DELETE FROM Diary d WHERE d.id = :id AND d.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * 소유권 조건부 엔티티 조회 (본문 수정용). 타인의 일기면 empty → 없는 일기와 같이 404로 응답한다.
      */
-    @EntityGraph(attributePaths = { "user" })
-    Optional<Diary> findWithUserById(Long id);
+    @Query("SELECT d FROM Diary d WHERE d.id = :id AND d.user.id = :userId")
+    Optional<Diary> findByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
 }
@@ -1,9 +1,14 @@
 package org.aidiary.repository;
 
+import org.aidiary.dto.response.FetalMovementDTO;
 import org.aidiary.entity.FetalMovement;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -18,4 +23,45 @@ public interface FetalMovementRepository extends JpaRepository<FetalMovement, Lo
             Long userId, LocalDateTime from, LocalDateTime to);
 
     long countByUserIdAndMovementTimeBetween(Long userId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * [from, to) 구간의 강도별 건수 (intensity, count). 오늘 요약 캐시 재구성용.
+     */
+    @Query("SELECT f.intensity, COUNT(f) FROM FetalMovement f " +
+           "WHERE f.user.id = :userId AND f.movementTime >= :from AND f.movementTime < :to GROUP BY f.intensity")
+    List<Object[]> countByIntensity(@Param("userId") Long userId,
+                                    @Param("from") LocalDateTime from,
+                                    @Param("to") LocalDateTime to);
+
+    /**
+     * 히스토리 Keyset 조회 — 첫 페이지 (DTO Projection).
+     * [from, to) 구간을 (movement_time, id) 역순으로 limit건만 읽는다.
+     */
+    @Query("SELECT new org.aidiary.dto.response.FetalMovementDTO(f.id, f.movementTime, f.intensity, f.notes, f.createdAt) " +
+           "FROM FetalMovement f WHERE f.user.id = :userId AND f.movementTime >= :from AND f.movementTime < :to " +
+           "ORDER BY f.movementTime DESC, f.id DESC")
+    List<FetalMovementDTO> findLatestDTOs(@Param("userId") Long userId,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to,
+                                          Limit limit);
+
+    /**
+     * 히스토리 Keyset 조회 — 커서 (movementTime, id) 이후 페이지.
+     */
+    @Query("SELECT new org.aidiary.dto.response.FetalMovementDTO(f.id, f.movementTime, f.intensity, f.notes, f.createdAt) " +
+           "FROM FetalMovement f WHERE f.user.id = :userId AND f.movementTime >= :from " +
+           "AND (f.movementTime < :time OR (f.movementTime = :time AND f.id < :id)) " +
+           "ORDER BY f.movementTime DESC, f.id DESC")
+    List<FetalMovementDTO> findDTOsBefore(@Param("userId") Long userId,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("time") LocalDateTime time,
+                                          @Param("id") Long id,
+                                          Limit limit);
+
+    /**
+     * 소유권 조건부 삭제. 영향받은 행 수가 0이면 없는 기록이거나 타인의 기록이다.
+     */
+    @Modifying
+    @Query("DELETE FROM FetalMovement f WHERE f.id = :id AND f.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
 }
@@ -1,13 +1,19 @@
 package org.aidiary.repository;
 
+import org.aidiary.dto.response.HealthMetricDTO;
 import org.aidiary.entity.HealthMetric;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface HealthMetricRepository extends JpaRepository<HealthMetric, Long> {
@@ -17,4 +23,49 @@ public interface HealthMetricRepository extends JpaRepository<HealthMetric, Long
     Optional<HealthMetric> findTopByUserIdOrderByRecordDateDesc(Long userId);
 
     Optional<HealthMetric> findByUserIdAndRecordDate(Long userId, LocalDate recordDate);
+
+    /**
+     * 활력 징후 통계 재생용. 사용자 기록 전체를 날짜 순으로 흘려 읽는다 (하루 1건이라 임신 기간 약 280행).
+     */
+    @Query("SELECT h.recordDate, h.weight, h.systolic, h.diastolic FROM HealthMetric h " +
+            "WHERE h.user.id = :userId ORDER BY h.recordDate")
+    Stream<Object[]> streamAllTrendRows(@Param("userId") Long userId);
+
+    /**
+     * (user_id, record_date) 유니크 키 기준 원자적 upsert. 엔티티를 읽지 않고 한 문장으로 저장하며,
+     * 같은 날짜를 동시에 저장해도 행은 하나만 남는다. id는 JPA와 같은 시퀀스에서 받는다
+     * (pooled 규칙상 시퀀스 값 V 자체는 이 호출이 받은 블록 안이므로 다른 할당과 겹치지 않는다).
+     */
+    @Modifying
+    @Query(value = "INSERT INTO health_metric (id, user_id, record_date, weight, systolic, diastolic, created_at, updated_at) " +
+                   "VALUES (NEXT VALUE FOR health_metric_seq, :userId, :recordDate, :weight, :systolic, :diastolic, :now, :now) " +
+                   "ON DUPLICATE KEY UPDATE weight = VALUES(weight), systolic = VALUES(systolic), " +
+                   "diastolic = VALUES(diastolic), updated_at = VALUES(updated_at)", nativeQuery = true)
+    int upsert(@Param("userId") Long userId,
+               @Param("recordDate") LocalDate recordDate,
+               @Param("weight") Double weight,
+               @Param("systolic") Integer systolic,
+               @Param("diastolic") Integer diastolic,
+               @Param("now") LocalDateTime now);
+
+    @Query("SELECT new org.aidiary.dto.response.HealthMetricDTO(h.id, h.recordDate, h.weight, h.systolic, h.diastolic) " +
+           "FROM HealthMetric h WHERE h.user.id = :userId AND h.recordDate = :recordDate")
+    Optional<HealthMetricDTO> findDTOByUserIdAndRecordDate(@Param("userId") Long userId,
+                                                           @Param("recordDate") LocalDate recordDate);
+
+    /**
+     * 소유권 조건부 삭제. 영향받은 행 수가 0이면 없는 기록이거나 타인의 기록이다.
+     */
+    @Modifying
+    @Query("DELETE FROM HealthMetric h WHERE h.id = :id AND h.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * 추이 계산용 스칼라 프로젝션 (recordDate, weight, systolic, diastolic). 엔티티를 만들지 않고 날짜 순으로 흘려 읽는다.
+     */
+    @Query("SELECT h.recordDate, h.weight, h.systolic, h.diastolic FROM HealthMetric h " +
+            "WHERE h.user.id = :userId AND h.recordDate BETWEEN :from AND :to ORDER BY h.recordDate")
+    Stream<Object[]> streamTrendRows(@Param("userId") Long userId,
+                                     @Param("from") LocalDate from,
+                                     @Param("to") LocalDate to);
 }
@@ -0,0 +1,22 @@
+package org.aidiary.repository;
+
+import jakarta.persistence.LockModeType;
+import org.aidiary.entity.HealthRiskSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface HealthRiskSnapshotRepository extends JpaRepository<HealthRiskSnapshot, Long> {
+
+    /**
+     * 같은 사용자의 저장이 동시에 반영될 때 통계 갱신이 서로 덮어쓰지 않도록 행을 잠근다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM HealthRiskSnapshot s WHERE s.userId = :userId")
+    Optional<HealthRiskSnapshot> findForUpdate(@Param("userId") Long userId);
+}
@@ -0,0 +1,56 @@
+package org.aidiary.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 엔티티 ID 시퀀스(pooled, allocationSize = 50)를 JDBC 경로에서 함께 쓰기 위한 저장소.
+ *
+ * Hibernate pooled 옵티마이저는 시퀀스 값 V를 받으면 (V - 49) ~ V 구간을 ID로 사용한다.
+ * JDBC batch INSERT도 같은 규칙으로 블록을 할당받아야 JPA 저장분과 ID가 겹치지 않는다.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class IdSequenceRepository {
+
+    /** 엔티티 @SequenceGenerator의 allocationSize와 같아야 한다. */
+    public static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * count개의 ID를 할당한다. 50개마다 시퀀스 호출 1회.
+     */
+    public long[] nextIds(String sequence, int count) {
+        long[] ids = new long[count];
+        int filled = 0;
+        while (filled < count) {
+            long hi = nextValue(sequence);
+            for (long id = hi - ALLOCATION_SIZE + 1; id <= hi && filled < count; id++) {
+                ids[filled++] = id;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * AUTO_INCREMENT로 쌓인 기존 행보다 시퀀스가 뒤처져 있으면 최대 id 다음 블록으로 당긴다.
+     * 이미 앞서 있으면 건드리지 않으므로 여러 인스턴스가 동시에 기동해도 안전하다.
+     */
+    public void alignWithTable(String sequence, String table) {
+        long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        long next = nextValue(sequence);
+        if (next - ALLOCATION_SIZE + 1 <= maxId) {
+            long restart = maxId + ALLOCATION_SIZE + 1;
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + restart);
+            log.info("[IdSequence] {} → {} (max id {})", sequence, restart, maxId);
+        }
+    }
+
+    private long nextValue(String sequence) {
+        return jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + sequence, Long.class);
+    }
+}
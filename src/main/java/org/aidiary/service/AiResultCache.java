@@ -0,0 +1,118 @@
+package org.aidiary.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.aidiary.util.ContentHashUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * 결정적인 ML 호출(얼굴 랜드마크, 성격 합성) 결과 캐시.
+ *
+ * 요청 페이로드를 정규화한 다이제스트를 키로 Caffeine L1 → Redis L2 → Flask 순서로 조회한다.
+ * L1은 직렬화된 JSON 크기 기준으로 총 용량(maxBytes)을 제한한다.
+ * → 같은 사진/같은 답변으로 재시도해도 ML 연산을 다시 하지 않는다.
+ */
+@Slf4j
+@Component
+public class AiResultCache {
+
+    private static final String KEY_PREFIX = "ai:result:";
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private record Cached(Map<String, Object> value, int bytes) {
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Cached> localCache;
+
+    @Value("${ai.result-cache.ttl-hours:24}")
+    private long ttlHours;
+
+    public AiResultCache(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+            @Value("${ai.result-cache.max-bytes:33554432}") long maxBytes) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.localCache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, Cached cached) -> cached.bytes())
+                .expireAfterWrite(Duration.ofHours(1))
+                .build();
+    }
+
+    /**
+     * JSON 페이로드의 정규화 다이제스트 (키 정렬, 문자열 앞뒤 공백 무시).
+     */
+    public String digestOf(Map<String, Object> payload) {
+        try {
+            return ContentHashUtil.calculateHash(objectMapper.writeValueAsString(normalize(payload)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("요청 페이로드를 직렬화할 수 없습니다.", e);
+        }
+    }
+
+    private static Object normalize(Object value) {
+        if (value instanceof String str) {
+            return str.strip();
+        }
+        if (value instanceof Map<?, ?> map) {
+            Map<String, Object> normalized = new TreeMap<>();
+            map.forEach((k, v) -> normalized.put(String.valueOf(k), normalize(v)));
+            return normalized;
+        }
+        if (value instanceof List<?> list) {
+            return list.stream().map(AiResultCache::normalize).toList();
+        }
+        return value;
+    }
+
+    public Map<String, Object> getOrCompute(String namespace, String digest, Supplier<Map<String, Object>> loader) {
+        String key = KEY_PREFIX + namespace + ":" + digest;
+
+        Cached local = localCache.getIfPresent(key);
+        if (local != null) {
+            return local.value();
+        }
+
+        try {
+            String json = redisTemplate.opsForValue().get(key);
+            if (json != null) {
+                Map<String, Object> value = Collections.unmodifiableMap(objectMapper.readValue(json, MAP_TYPE));
+                localCache.put(key, new Cached(value, json.length()));
+                return value;
+            }
+        } catch (Exception e) {
+            log.warn("[AiResultCache] Redis 조회 실패 ({}): {}", namespace, e.getMessage());
+        }
+
+        Map<String, Object> computed = loader.get();
+        if (computed == null || computed.containsKey("error")) {
+            // 실패 응답은 캐싱하지 않는다
+            return computed;
+        }
+
+        Map<String, Object> value = Collections.unmodifiableMap(computed);
+        try {
+            String json = objectMapper.writeValueAsString(value);
+            localCache.put(key, new Cached(value, json.length()));
+            redisTemplate.opsForValue().set(key, json, Duration.ofHours(ttlHours));
+        } catch (Exception e) {
+            log.warn("[AiResultCache] 캐시 저장 실패 ({}): {}", namespace, e.getMessage());
+        }
+        return value;
+    }
+}
@@ -0,0 +1,223 @@
+package org.aidiary.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aidiary.entity.Benefit;
+import org.aidiary.entity.BenefitCompletion;
+import org.aidiary.repository.BenefitRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 혜택 카탈로그 인메모리 색인.
+ *
+ * 카탈로그는 수십 건이고 거의 바뀌지 않으므로 기동 시 한 번 읽어 주차(1~42)별 목록을 미리 배열로 만들어 둔다.
+ * 주차 조회는 배열 인덱스 하나이며 DB에 접근하지 않는다.
+ * 색인은 불변 객체로 만들고 volatile 참조 교체로 갱신하므로, 조회 중인 요청은 교체 전후 어느 한쪽 전체를 본다.
+ * 관리자가 reload()하면 Redis 버전을 올리고, 다른 인스턴스는 주기적으로 버전을 비교해 따라 읽는다.
+ * 읽기 전에 완료 비트 위치(bit_index)가 없는 혜택에 빈틈 없이 다음 위치를 채운다.
+ */
+@Service
+@Slf4j
+public class BenefitCatalog {
+
+    public static final int MIN_WEEK = 1;
+    public static final int MAX_WEEK = 42;
+
+    private static final String VERSION_KEY = "benefit:catalog:version";
+    private static final int MAX_ASSIGN_ATTEMPTS = 3;
+
+    /**
+     * 카탈로그 항목. 엔티티와 달리 불변이라 요청 간에 공유해도 안전하다.
+     * bitIndex는 완료 비트셋의 비트 위치이며, 아직 정하지 못했거나 범위를 벗어나면 null.
+     */
+    public record Entry(Long id, String title, String description,
+                        Integer recommendedWeekStart, Integer recommendedWeekEnd, String rewardAmount,
+                        Integer bitIndex) {
+    }
+
+    private record Snapshot(long version, List<Entry>[] byWeek, Map<Long, Entry> byId) {
+    }
+
+    private final BenefitRepository benefitRepository;
+    private final StringRedisTemplate redisTemplate;
+
+    private volatile Snapshot snapshot;
+
+    public BenefitCatalog(BenefitRepository benefitRepository, StringRedisTemplate redisTemplate) {
+        this.benefitRepository = benefitRepository;
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * 기본 데이터 적재(BenefitDataInitializer) 이후에 미리 읽는다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        load(readVersion());
+    }
+
+    /**
+     * 해당 주차 혜택 목록 (권장 시작 주차 순). 범위 밖 주차는 빈 목록.
+     */
+    public List<Entry> forWeek(int week) {
+        if (week < MIN_WEEK || week > MAX_WEEK) {
+            return List.of();
+        }
+        return current().byWeek()[week];
+    }
+
+    public Optional<Entry> find(Long benefitId) {
+        return Optional.ofNullable(current().byId().get(benefitId));
+    }
+
+    /** 응답 ETag 변형에 포함해 카탈로그 교체 시 이전 304가 재사용되지 않게 한다. */
+    public long version() {
+        return current().version();
+    }
+
+    /**
+     * 관리자 요청으로 DB에서 다시 읽어 교체하고, 다른 인스턴스가 따라 읽도록 버전을 올린다.
+     */
+    public int reload() {
+        long version;
+        try {
+            Long incremented = redisTemplate.opsForValue().increment(VERSION_KEY);
+            version = incremented != null ? incremented : current().version() + 1;
+        } catch (Exception e) {
+            log.warn("[BenefitCatalog] 버전 갱신 실패, 이 인스턴스만 다시 읽음: {}", e.getMessage());
+            version = current().version() + 1;
+        }
+        return load(version).byId().size();
+    }
+
+    @Scheduled(fixedDelayString = "${benefit.catalog.sync-ms:30000}")
+    public void syncWithCluster() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        long version = readVersion();
+        if (version > current.version()) {
+            load(version);
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = load(readVersion());
+                }
+            }
+        }
+        return current;
+    }
+
+    private synchronized Snapshot load(long version) {
+        assignBitIndexes();
+        List<Benefit> benefits = benefitRepository.findAll(
+                Sort.by("recommendedWeekStart").ascending().and(Sort.by("id").ascending()));
+
+        Map<Long, Entry> byId = new HashMap<>(benefits.size() * 2);
+        List<List<Entry>> buckets = new ArrayList<>(MAX_WEEK + 1);
+        for (int week = 0; week <= MAX_WEEK; week++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (Benefit b : benefits) {
+            Integer bitIndex = b.getBitIndex();
+            if (bitIndex != null && (bitIndex < 0 || bitIndex >= BenefitCompletion.MAX_BITS)) {
+                log.error("[BenefitCatalog] 혜택 id={} 비트 위치 {}가 완료 비트셋 범위를 벗어남", b.getId(), bitIndex);
+                bitIndex = null;
+            }
+            Entry entry = new Entry(b.getId(), b.getTitle(), b.getDescription(),
+                    b.getRecommendedWeekStart(), b.getRecommendedWeekEnd(), b.getRewardAmount(), bitIndex);
+            byId.put(entry.id(), entry);
+            // 주차 범위가 비어 있는 항목은 주차 목록에 넣지 않는다 (기존 쿼리와 동일)
+            if (b.getRecommendedWeekStart() == null || b.getRecommendedWeekEnd() == null) {
+                continue;
+            }
+            int from = Math.max(MIN_WEEK, b.getRecommendedWeekStart());
+            int to = Math.min(MAX_WEEK, b.getRecommendedWeekEnd());
+            for (int week = from; week <= to; week++) {
+                buckets.get(week).add(entry);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Entry>[] byWeek = new List[MAX_WEEK + 1];
+        for (int week = 0; week <= MAX_WEEK; week++) {
+            byWeek[week] = List.copyOf(buckets.get(week));
+        }
+
+        Snapshot loaded = new Snapshot(version, byWeek, Collections.unmodifiableMap(byId));
+        snapshot = loaded;
+        log.info("[BenefitCatalog] 혜택 {}건 색인 (버전 {})", byId.size(), version);
+        return loaded;
+    }
+
+    /**
+     * bit_index가 빈 혜택에 (현재 최댓값 + 1)부터 차례로 비트 위치를 준다.
+     * 처음 도입할 때는 기존 완료 비트셋이 id를 비트 위치로 썼으므로 범위 안의 id는 그대로 옮긴다.
+     * 다른 인스턴스와 같은 위치를 잡아 실패하면 최댓값을 다시 읽어 재시도하고,
+     * 그래도 못 채운 항목은 다음 적재 때 다시 시도한다(그동안은 완료 체크 불가).
+     */
+    private void assignBitIndexes() {
+        try {
+            List<Long> ids = benefitRepository.findIdsWithoutBitIndex();
+            if (ids.isEmpty()) {
+                return;
+            }
+            Integer max = benefitRepository.findMaxBitIndex();
+            if (max == null) {
+                for (Long id : ids) {
+                    if (id >= 0 && id < BenefitCompletion.MAX_BITS) {
+                        benefitRepository.assignBitIndex(id, id.intValue());
+                    }
+                }
+                ids = benefitRepository.findIdsWithoutBitIndex();
+                max = benefitRepository.findMaxBitIndex();
+            }
+
+            int next = max != null ? max + 1 : 0;
+            for (Long id : ids) {
+                for (int attempt = 1; attempt <= MAX_ASSIGN_ATTEMPTS; attempt++) {
+                    try {
+                        benefitRepository.assignBitIndex(id, next++);
+                        break;
+                    } catch (DataIntegrityViolationException e) {
+                        Integer current = benefitRepository.findMaxBitIndex();
+                        next = current != null ? current + 1 : 0;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.warn("[BenefitCatalog] 비트 위치 할당 실패: {}", e.getMessage());
+        }
+    }
+
+    private long readVersion() {
+        try {
+            String value = redisTemplate.opsForValue().get(VERSION_KEY);
+            return value != null ? Long.parseLong(value) : 0L;
+        } catch (Exception e) {
+            log.warn("[BenefitCatalog] 버전 조회 실패: {}", e.getMessage());
+            Snapshot current = snapshot;
+            return current != null ? current.version() : 0L;
+        }
+    }
+}
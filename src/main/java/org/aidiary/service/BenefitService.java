@@ -1,64 +1,125 @@
 package org.aidiary.service;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.aidiary.dto.response.BenefitDTO;
-import org.aidiary.entity.Benefit;
-import org.aidiary.entity.BenefitCheck;
-import org.aidiary.entity.User;
+import org.aidiary.entity.BenefitCompletion;
+import org.aidiary.exception.BusinessException;
 import org.aidiary.exception.ResourceNotFoundException;
 import org.aidiary.repository.BenefitCheckRepository;
-import org.aidiary.repository.BenefitRepository;
-import org.aidiary.repository.UserRepository;
+import org.aidiary.repository.BenefitCompletionRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
+/**
+ * 주차별 혜택 목록과 사용자별 완료 체크.
+ *
+ * 완료 여부는 사용자당 한 행의 비트셋(benefit_completion, 비트 위치 = 혜택의 bit_index)으로 저장한다.
+ * 목록 조회는 비트셋 PK 조회 한 번 후 카탈로그 목록을 한 번 훑으며 비트를 읽고,
+ * 토글은 해당 행을 잠근 뒤 비트 하나를 뒤집는다.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class BenefitService {
 
-    private final BenefitRepository benefitRepository;
+    private static final byte[] EMPTY = new byte[0];
+
+    private final BenefitCatalog benefitCatalog;
+    private final BenefitCompletionRepository completionRepository;
     private final BenefitCheckRepository benefitCheckRepository;
-    private final UserRepository userRepository;
+    private final ResourceVersionService resourceVersionService;
 
     @Transactional(readOnly = true)
     public List<BenefitDTO> getBenefitsForWeek(Long userId, int week) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", userId));
-
-        List<Benefit> benefits = benefitRepository
-                .findByRecommendedWeekStartLessThanEqualAndRecommendedWeekEndGreaterThanEqualOrderByRecommendedWeekStartAsc(week, week);
-
-        List<BenefitCheck> checks = benefitCheckRepository.findByUser(user);
-        Map<Long, Boolean> checkMap = checks.stream()
-                .collect(Collectors.toMap(c -> c.getBenefit().getId(), BenefitCheck::isCompleted));
+        // 주차 목록은 메모리 색인에서 배열 인덱스로 꺼낸다
+        List<BenefitCatalog.Entry> benefits = benefitCatalog.forWeek(week);
+        if (benefits.isEmpty()) {
+            return List.of();
+        }
 
-        return benefits.stream()
-                .map(b -> BenefitDTO.fromEntity(b, checkMap.getOrDefault(b.getId(), false)))
-                .collect(Collectors.toList());
+        byte[] bits = completionRepository.findBitsByUserId(userId).orElse(EMPTY);
+        List<BenefitDTO> result = new ArrayList<>(benefits.size());
+        for (BenefitCatalog.Entry b : benefits) {
+            result.add(BenefitDTO.fromEntry(b, b.bitIndex() != null && isSet(bits, b.bitIndex())));
+        }
+        return result;
     }
 
     @Transactional
     public BenefitDTO toggleBenefitCheck(Long userId, Long benefitId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", userId));
-
-        Benefit benefit = benefitRepository.findById(benefitId)
+        BenefitCatalog.Entry entry = benefitCatalog.find(benefitId)
                 .orElseThrow(() -> new ResourceNotFoundException("Benefit", benefitId));
+        if (entry.bitIndex() == null) {
+            // 비트 위치를 아직 정하지 못한 혜택 (카탈로그 다시 읽기 후 재시도)
+            throw new BusinessException("지금은 완료 체크할 수 없는 혜택입니다. 잠시 후 다시 시도해 주세요.",
+                    HttpStatus.CONFLICT, "BENEFIT_NOT_CHECKABLE");
+        }
+
+        BenefitCompletion completion = completionRepository.findForUpdate(userId).orElse(null);
+        if (completion == null) {
+            completionRepository.insertIfAbsent(userId, EMPTY, LocalDateTime.now());
+            completion = completionRepository.findForUpdate(userId)
+                    .orElseThrow(() -> new IllegalStateException("혜택 완료 행 생성 실패: " + userId));
+        }
 
-        BenefitCheck check = benefitCheckRepository.findByUserAndBenefitId(user, benefitId)
-                .orElse(BenefitCheck.builder()
-                        .user(user)
-                        .benefit(benefit)
-                        .completed(false)
-                        .build());
+        BitSet bits = BitSet.valueOf(completion.getBits());
+        int index = entry.bitIndex();
+        bits.flip(index);
+        completion.setBits(bits.toByteArray());
+        resourceVersionService.bump(ResourceVersionService.BENEFIT, userId);
 
-        check.setCompleted(!check.isCompleted());
-        BenefitCheck saved = benefitCheckRepository.save(check);
+        return BenefitDTO.fromEntry(entry, bits.get(index));
+    }
+
+    /**
+     * 비트셋 도입 전 체크 기록(benefit_checks)이 있으면 기동 시 한 번 옮긴다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (completionRepository.count() > 0) {
+            return;
+        }
+        List<Object[]> pairs = benefitCheckRepository.findAllCompletedPairs();
+        if (pairs.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int users = 0;
+        Long currentUser = null;
+        BitSet bits = new BitSet();
+        for (Object[] pair : pairs) {
+            Long uid = (Long) pair[0];
+            long benefitId = (Long) pair[1];
+            if (currentUser != null && !currentUser.equals(uid)) {
+                completionRepository.insertIfAbsent(currentUser, bits.toByteArray(), now);
+                users++;
+                bits = new BitSet();
+            }
+            currentUser = uid;
+            Integer bitIndex = benefitCatalog.find(benefitId).map(BenefitCatalog.Entry::bitIndex).orElse(null);
+            if (bitIndex != null) {
+                bits.set(bitIndex);
+            }
+        }
+        completionRepository.insertIfAbsent(currentUser, bits.toByteArray(), now);
+        users++;
+        log.info("[Benefit] 기존 체크 {}건을 사용자 {}명의 완료 비트셋으로 이전", pairs.size(), users);
+    }
 
-        return BenefitDTO.fromEntity(benefit, saved.isCompleted());
+    /** BitSet.toByteArray 형식(리틀 엔디언)에서 비트 하나를 읽는다. */
+    static boolean isSet(byte[] bits, long index) {
+        long byteIndex = index >>> 3;
+        return index >= 0 && byteIndex < bits.length && (bits[(int) byteIndex] & (1 << (index & 7))) != 0;
     }
 }
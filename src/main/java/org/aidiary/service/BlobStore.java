@@ -0,0 +1,96 @@
+package org.aidiary.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.aidiary.util.ContentHashUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * 내용 주소(content-addressed) 파일 저장소.
+ *
+ * 파일 이름이 곧 내용의 SHA-256이므로 같은 내용은 한 번만 저장되고, 한 번 저장된 파일은 바뀌지 않는다.
+ * → 응답에 강한 ETag(해시)와 immutable 캐시를 그대로 쓸 수 있다.
+ * 디렉터리는 해시 앞 2글자로 나눠 한 디렉터리에 파일이 몰리지 않게 한다 ({dir}/ab/abcd...).
+ * 여러 인스턴스로 운영할 때는 dir을 공유 볼륨으로 지정해야 한다.
+ */
+@Slf4j
+@Component
+public class BlobStore {
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final String TMP_SUFFIX = ".part";
+
+    @Value("${blob-store.dir:/uploads/blobs}")
+    private String dir;
+
+    private Path root;
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = Paths.get(dir).toAbsolutePath().normalize();
+        Files.createDirectories(root);
+        log.info("[BlobStore] 저장 위치: {}", root);
+    }
+
+    /**
+     * 내용을 저장하고 해시를 돌려준다. 이미 있으면 쓰지 않는다.
+     */
+    public String put(byte[] content) {
+        String hash = ContentHashUtil.calculateHash(content);
+        Path target = pathOf(hash);
+        if (Files.exists(target)) {
+            return hash;
+        }
+        try {
+            Files.createDirectories(target.getParent());
+            // 임시 파일에 다 쓴 뒤 옮겨서, 읽는 쪽이 쓰다 만 파일을 보지 않게 한다
+            Path tmp = Files.createTempFile(target.getParent(), hash, TMP_SUFFIX);
+            try {
+                Files.write(tmp, content);
+                try {
+                    Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp, target);
+                }
+            } catch (FileAlreadyExistsException e) {
+                // 같은 내용을 동시에 저장한 경우: 먼저 옮긴 파일과 내용이 같다
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("blob 저장 실패: " + hash, e);
+        }
+        return hash;
+    }
+
+    /**
+     * 저장된 파일 경로. 해시 형식이 아니거나 없으면 empty.
+     */
+    public Optional<Path> find(String hash) {
+        if (!isHash(hash)) {
+            return Optional.empty();
+        }
+        Path path = pathOf(hash);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    public static boolean isHash(String value) {
+        return value != null && HASH.matcher(value).matches();
+    }
+
+    private Path pathOf(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+}
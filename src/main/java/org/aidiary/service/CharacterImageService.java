@@ -0,0 +1,131 @@
+package org.aidiary.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aidiary.repository.ChildRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 아이 캐릭터 이미지 저장/조회.
+ *
+ * 이미지는 BlobStore에 한 번만 저장하고 Child에는 해시만 둔다.
+ * 응답 DTO에는 base64 대신 /api/child/images/{hash} URL이 실리므로 로그인·프로필 응답이 수백 바이트로 줄고,
+ * 이미지는 해시를 ETag로 쓰는 immutable 응답으로 브라우저 캐시에서 재사용된다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CharacterImageService {
+
+    public static final String URL_PREFIX = "/api/child/images/";
+
+    private final BlobStore blobStore;
+    private final ChildRepository childRepository;
+    private final ResourceVersionService resourceVersionService;
+
+    @Value("${child.character-image.max-bytes:10485760}")
+    private int maxBytes;
+
+    public record Image(Path path, long size, MediaType contentType) {
+    }
+
+    public static String url(String hash) {
+        return hash != null ? URL_PREFIX + hash : null;
+    }
+
+    /**
+     * 클라이언트가 보낸 이미지 값을 저장하고 해시를 돌려준다.
+     * 이미 저장된 이미지의 URL(또는 해시)이 다시 오면 그대로 쓰고, data URL·base64면 디코딩해 저장한다.
+     */
+    public String store(String value) {
+        String candidate = value.startsWith(URL_PREFIX) ? value.substring(URL_PREFIX.length()) : value;
+        if (BlobStore.isHash(candidate)) {
+            if (blobStore.find(candidate).isEmpty()) {
+                throw new IllegalArgumentException("저장되지 않은 캐릭터 이미지입니다.");
+            }
+            return candidate;
+        }
+
+        String data = value.startsWith("data:") && value.contains(",") ? value.substring(value.indexOf(',') + 1) : value;
+        // 디코딩 전에 크기를 먼저 확인 (base64 4글자 = 3바이트)
+        if ((long) data.length() * 3 / 4 > maxBytes) {
+            throw new IllegalArgumentException("캐릭터 이미지는 최대 " + (maxBytes / (1024 * 1024)) + "MB입니다.");
+        }
+        byte[] bytes;
+        try {
+            bytes = Base64.getMimeDecoder().decode(data);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("캐릭터 이미지 base64 형식이 올바르지 않습니다.");
+        }
+        if (sniff(bytes) == null) {
+            throw new IllegalArgumentException("지원하지 않는 이미지 형식입니다. (PNG, JPEG, WebP, GIF)");
+        }
+        return blobStore.put(bytes);
+    }
+
+    public Optional<Image> find(String hash) {
+        return blobStore.find(hash).map(path -> {
+            try (InputStream in = Files.newInputStream(path)) {
+                MediaType type = sniff(in.readNBytes(12));
+                return new Image(path, Files.size(path), type != null ? type : MediaType.APPLICATION_OCTET_STREAM);
+            } catch (IOException e) {
+                throw new IllegalStateException("캐릭터 이미지 읽기 실패: " + hash, e);
+            }
+        });
+    }
+
+    /**
+     * 기존 LONGTEXT(base64) 이미지를 기동 시 저장소로 옮긴다. 한 행씩 읽어 큰 컬럼을 한꺼번에 올리지 않는다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateInlineImages() {
+        List<Long> ids = childRepository.findIdsWithLegacyImage();
+        if (ids.isEmpty()) {
+            return;
+        }
+        int moved = 0;
+        for (Long id : ids) {
+            String legacy = childRepository.findLegacyImage(id).orElse(null);
+            if (legacy == null || legacy.isBlank()) {
+                continue;
+            }
+            try {
+                childRepository.moveLegacyImage(id, store(legacy));
+                resourceVersionService.bump(ResourceVersionService.USER, id);
+                moved++;
+            } catch (Exception e) {
+                log.warn("[CharacterImage] userId={} 기존 이미지 이전 실패 (그대로 둠): {}", id, e.getMessage());
+            }
+        }
+        log.info("[CharacterImage] 기존 base64 이미지 {}/{}건을 저장소로 이전", moved, ids.size());
+    }
+
+    private static MediaType sniff(byte[] head) {
+        if (head.length >= 8 && (head[0] & 0xff) == 0x89 && head[1] == 'P' && head[2] == 'N' && head[3] == 'G') {
+            return MediaType.IMAGE_PNG;
+        }
+        if (head.length >= 3 && (head[0] & 0xff) == 0xFF && (head[1] & 0xff) == 0xD8 && (head[2] & 0xff) == 0xFF) {
+            return MediaType.IMAGE_JPEG;
+        }
+        if (head.length >= 6 && head[0] == 'G' && head[1] == 'I' && head[2] == 'F' && head[3] == '8') {
+            return MediaType.IMAGE_GIF;
+        }
+        if (head.length >= 12 && head[0] == 'R' && head[1] == 'I' && head[2] == 'F' && head[3] == 'F'
+                && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P') {
+            return MediaType.parseMediaType("image/webp");
+        }
+        return null;
+    }
+}
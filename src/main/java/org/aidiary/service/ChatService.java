@@ -5,6 +5,8 @@ import org.aidiary.dto.response.ChatResponse;
 
 public interface ChatService {
 
-    ChatResponse generateCharacterResponse(ChatRequest request, String personality,
+    ChatResponse generateCharacterResponse(Long userId, ChatRequest request, String personality,
             String childName, int weeks, String userName, String recentDiary);
+
+    void clearHistory(Long userId);
 }
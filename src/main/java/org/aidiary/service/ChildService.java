@@ -12,6 +12,8 @@ import org.aidiary.repository.UserRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.Optional;
 
 @Service
@@ -19,9 +21,13 @@ import java.util.Optional;
 @Slf4j
 public class ChildService {
 
+    public static final int PREGNANCY_DAYS = 280;
+
     private final ChildRepository childRepository;
     private final UserRepository userRepository;
     private final ChildMapper childMapper;
+    private final ResourceVersionService resourceVersionService;
+    private final CharacterImageService characterImageService;
 
     @Transactional
     public ChildDTO saveChildData(ChildDTO childDto) {
@@ -33,12 +39,25 @@ public class ChildService {
                 .orElseThrow(() -> new ResourceNotFoundException("User", childDto.getUserId()));
         log.debug("✅ [ChildService] User 조회 성공: {}", user.getUsername());
 
-        Child child = childRepository.findById(user.getId())
-                .orElseGet(() -> childMapper.createEntity(user));
+        Optional<Child> existing = childRepository.findById(user.getId());
+        String image = childDto.getCharacterImage();
+        boolean hasImage = image != null && !image.isBlank();
+        // 처음 등록할 때는 캐릭터 이미지가 필수, 수정할 때 이미지가 없으면 기존 이미지를 그대로 둔다
+        if (existing.isEmpty() && !hasImage) {
+            throw new IllegalArgumentException("characterImage는 필수입니다.");
+        }
+        Child child = existing.orElseGet(() -> childMapper.createEntity(user));
 
         childMapper.updateEntity(child, childDto);
+        if (hasImage) {
+            child.setCharacterImageHash(characterImageService.store(image));
+            child.setLegacyImageBase64(null);
+        }
 
         Child saved = childRepository.save(child);
+        resourceVersionService.bump(ResourceVersionService.USER, user.getId());
+        // 건강 지표 추이의 기본 기간과 임신 주차가 출산 예정일에 따라 바뀐다
+        resourceVersionService.bump(ResourceVersionService.HEALTH, user.getId());
         log.debug("💾 [ChildService] Child 저장 또는 수정 완료");
 
         return childMapper.toDto(saved);
@@ -50,12 +69,26 @@ public class ChildService {
                 .map(childMapper::toDto);
     }
 
+    /**
+     * 아이 생일(출산 예정일)에서 280일을 뺀 임신 시작일. 정보가 없거나 형식이 잘못되면 empty.
+     */
+    @Transactional(readOnly = true)
+    public Optional<LocalDate> getPregnancyStart(Long userId) {
+        return getChildByUserId(userId)
+                .map(ChildDTO::getChildBirthday)
+                .filter(s -> s != null && !s.isBlank())
+                .flatMap(s -> {
+                    try {
+                        return Optional.of(LocalDate.parse(s).minusDays(PREGNANCY_DAYS));
+                    } catch (DateTimeParseException e) {
+                        return Optional.empty();
+                    }
+                });
+    }
+
     private void validateInput(ChildDTO dto) {
         if (dto == null || dto.getUserId() == null) {
             throw new IllegalArgumentException("Child DTO 또는 userId가 null입니다.");
         }
-        if (dto.getCharacterImage() == null || dto.getCharacterImage().isEmpty()) {
-            throw new IllegalArgumentException("characterImage는 필수입니다.");
-        }
     }
 }
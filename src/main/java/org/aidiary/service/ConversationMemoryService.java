@@ -0,0 +1,157 @@
+package org.aidiary.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 캐릭터 채팅 대화 기록 저장소.
+ *
+ * 사용자별 최근 N턴을 Redis List에 링 버퍼(RPUSH + LTRIM)로 보관하고,
+ * Caffeine L1에 동일한 내용을 write-through로 유지한다.
+ * Flask 호출 직전 토큰 예산 안에 들어가는 최신 턴만 잘라서 프롬프트 맥락으로 만든다.
+ * → 클라이언트가 이전 대화를 재전송할 필요가 없고, 대화가 길어져도 프롬프트 크기는 일정하다.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ConversationMemoryService {
+
+    private static final String KEY_PREFIX = "chat:history:";
+
+    public record Turn(String role, String content) {
+    }
+
+    private final Cache<Long, List<Turn>> localCache = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${chat.memory.max-turns:20}")
+    private int maxTurns;
+
+    @Value("${chat.memory.token-budget:800}")
+    private int tokenBudget;
+
+    @Value("${chat.memory.ttl-hours:24}")
+    private long ttlHours;
+
+    public List<Turn> getTurns(Long userId) {
+        List<Turn> local = localCache.getIfPresent(userId);
+        if (local != null) {
+            return local;
+        }
+
+        List<Turn> turns = loadFromRedis(userId);
+        localCache.put(userId, turns);
+        return turns;
+    }
+
+    /**
+     * 한 번의 왕복(사용자 메시지 + AI 응답)을 기록한다.
+     */
+    public void append(Long userId, String userMessage, String aiResponse) {
+        List<Turn> newTurns = List.of(new Turn("user", userMessage), new Turn("assistant", aiResponse));
+
+        List<Turn> merged = new ArrayList<>(getTurns(userId));
+        merged.addAll(newTurns);
+        if (merged.size() > maxTurns) {
+            merged = merged.subList(merged.size() - maxTurns, merged.size());
+        }
+        localCache.put(userId, Collections.unmodifiableList(new ArrayList<>(merged)));
+
+        String key = KEY_PREFIX + userId;
+        try {
+            for (Turn turn : newTurns) {
+                redisTemplate.opsForList().rightPush(key, objectMapper.writeValueAsString(turn));
+            }
+            redisTemplate.opsForList().trim(key, -maxTurns, -1);
+            redisTemplate.expire(key, Duration.ofHours(ttlHours));
+        } catch (Exception e) {
+            log.warn("[ChatMemory] Redis 저장 실패 (L1만 유지): {}", e.getMessage());
+        }
+    }
+
+    public void clear(Long userId) {
+        localCache.invalidate(userId);
+        try {
+            redisTemplate.delete(KEY_PREFIX + userId);
+        } catch (Exception e) {
+            log.warn("[ChatMemory] Redis 삭제 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 토큰 예산 안에 들어가는 최신 턴들을 오래된 순서로 이어 붙인 맥락 문자열.
+     * 기록이 없으면 null.
+     */
+    public String buildContext(Long userId) {
+        List<Turn> turns = getTurns(userId);
+        if (turns.isEmpty()) {
+            return null;
+        }
+
+        Deque<String> lines = new ArrayDeque<>();
+        int used = 0;
+        for (int i = turns.size() - 1; i >= 0; i--) {
+            Turn turn = turns.get(i);
+            String line = ("user".equals(turn.role()) ? "엄마: " : "아기: ") + turn.content();
+            int cost = estimateTokens(line);
+            if (used + cost > tokenBudget) {
+                break;
+            }
+            lines.addFirst(line);
+            used += cost;
+        }
+        return lines.isEmpty() ? null : String.join("\n", lines);
+    }
+
+    private List<Turn> loadFromRedis(Long userId) {
+        try {
+            List<String> raw = redisTemplate.opsForList().range(KEY_PREFIX + userId, 0, -1);
+            if (raw == null || raw.isEmpty()) {
+                return List.of();
+            }
+            List<Turn> turns = new ArrayList<>(raw.size());
+            for (String json : raw) {
+                turns.add(objectMapper.readValue(json, Turn.class));
+            }
+            return Collections.unmodifiableList(turns);
+        } catch (Exception e) {
+            log.warn("[ChatMemory] Redis 조회 실패, 빈 기록으로 진행: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * 토크나이저 없이 쓰는 근사치: ASCII 4자당 1토큰, 한글 등 그 외 문자는 1자당 1토큰.
+     */
+    static int estimateTokens(String text) {
+        int ascii = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) < 128) {
+                ascii++;
+            } else {
+                other++;
+            }
+        }
+        return other + (ascii + 3) / 4;
+    }
+}
@@ -6,13 +6,19 @@ import java.util.Map;
 
 public interface DiaryAiService {
 
-    Map<String, String> getDailyQuestion();
+    /**
+     * 오늘의 질문. stale이면 오늘 질문을 아직 받지 못해 이전 질문을 대신 돌려준 것이다.
+     */
+    record DailyQuestion(Map<String, String> question, boolean stale) {
+    }
 
-    Map<String, Object> analyzeDiaryEmotion(String prompt);
+    DailyQuestion getDailyQuestion();
 
-    Map<String, Object> generateDiaryDrawing(String diaryText);
+    Map<String, Object> analyzeDiaryEmotion(String prompt);
 
     Map<String, Object> getFaceLandmarks(String base64Image);
 
+    Map<String, Object> getFaceLandmarks(byte[] imageBytes);
+
     ResponseEntity<byte[]> getGeneratedImage(String filename);
 }
@@ -0,0 +1,211 @@
+package org.aidiary.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aidiary.dto.DiaryArchiveLine;
+import org.aidiary.repository.IdSequenceRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 일기 대량 가져오기/내보내기 (NDJSON).
+ *
+ * 가져오기는 요청 본문을 한 줄씩 읽어 batchSize건마다 JDBC batch INSERT로 보내고,
+ * 내보내기는 forward-only 커서(fetchSize)로 읽은 행을 곧바로 응답 스트림에 쓴다.
+ * → 어느 쪽도 전체 아카이브를 메모리에 올리지 않는다.
+ * 가져오기는 원래 작성일을 보존해야 하므로(@CreationTimestamp가 덮어씀) JPA 대신 JDBC로 넣고, ID는 diary_seq에서 받는다.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class DiaryArchiveService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO diary (id, user_id, title, content, emotion, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String EXPORT_SQL =
+            "SELECT id, title, content, emotion, created_at FROM diary WHERE user_id = ? ORDER BY created_at, id";
+    private static final String DEFAULT_EMOTION = "calm";
+    private static final int MAX_REPORTED_ERRORS = 20;
+    /** diary.title/content 컬럼 길이 (VARCHAR(255), 문자 수 기준) */
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final EmotionRollupService emotionRollupService;
+    private final DiarySearchService diarySearchService;
+    private final ResourceVersionService resourceVersionService;
+    private final IdSequenceRepository idSequenceRepository;
+
+    @Value("${diary.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${diary.archive.fetch-size:500}")
+    private int fetchSize;
+
+    /** 가져올 수 있는 감정 값 (프론트엔드 EmotionType과 같음). 대소문자는 구분하지 않고 소문자로 저장한다. */
+    @Value("${diary.archive.emotions:happy,sad,anxious,tired,touched,loving,lonely,calm,neutral}")
+    private Set<String> allowedEmotions;
+
+    /**
+     * 전체가 한 트랜잭션이므로 도중에 DB 오류가 나면 가져온 일기 전부가 롤백된다.
+     * 그래서 형식이 잘못되거나 컬럼에 들어가지 않는 줄(길이 초과, 알 수 없는 감정)은
+     * INSERT 전에 걸러 건너뛰고 줄 번호를 보고한다.
+     */
+    @Transactional
+    public Map<String, Object> importNdjson(Long userId, InputStream body) {
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        List<String> errors = new ArrayList<>();
+        int imported = 0;
+        int skipped = 0;
+        int lineNo = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                String error = null;
+                DiaryArchiveLine entry = null;
+                try {
+                    entry = objectMapper.readValue(line, DiaryArchiveLine.class);
+                    error = validate(entry);
+                } catch (JsonProcessingException e) {
+                    error = "JSON 형식 오류";
+                }
+
+                if (error != null) {
+                    skipped++;
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add(lineNo + "행: " + error);
+                    }
+                    continue;
+                }
+
+                Timestamp createdAt = Timestamp.valueOf(
+                        entry.getCreatedAt() != null ? entry.getCreatedAt() : LocalDateTime.now());
+                String emotion = entry.getEmotion() != null && !entry.getEmotion().isBlank()
+                        ? entry.getEmotion().trim().toLowerCase(Locale.ROOT) : DEFAULT_EMOTION;
+                batch.add(new Object[] { null, userId, entry.getTitle(), entry.getContent(), emotion, createdAt, createdAt });
+
+                if (batch.size() >= batchSize) {
+                    imported += flush(batch);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("가져오기 본문 읽기 실패", e);
+        }
+        imported += flush(batch);
+
+        if (imported > 0) {
+            // 대량 반영 후에는 증분 대신 사용자 단위로 재계산/무효화
+            emotionRollupService.rebuildForUser(userId);
+            diarySearchService.invalidate(userId);
+            resourceVersionService.bump(ResourceVersionService.DIARY, userId);
+        }
+        log.info("[DiaryArchive] userId={} 가져오기: {}건 저장, {}건 건너뜀", userId, imported, skipped);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("imported", imported);
+        result.put("skipped", skipped);
+        result.put("errors", errors);
+        return result;
+    }
+
+    /**
+     * 줄 하나의 검증 오류. 문제가 없으면 null.
+     */
+    private String validate(DiaryArchiveLine entry) {
+        if (entry.getTitle() == null || entry.getTitle().isBlank()
+                || entry.getContent() == null || entry.getContent().isBlank()) {
+            return "title/content 누락";
+        }
+        if (length(entry.getTitle()) > MAX_TEXT_LENGTH) {
+            return "title이 " + MAX_TEXT_LENGTH + "자를 넘음";
+        }
+        if (length(entry.getContent()) > MAX_TEXT_LENGTH) {
+            return "content가 " + MAX_TEXT_LENGTH + "자를 넘음";
+        }
+        String emotion = entry.getEmotion();
+        if (emotion != null && !emotion.isBlank()
+                && !allowedEmotions.contains(emotion.trim().toLowerCase(Locale.ROOT))) {
+            return "알 수 없는 감정: " + (length(emotion) > 20 ? emotion.substring(0, emotion.offsetByCodePoints(0, 20)) + "…" : emotion);
+        }
+        return null;
+    }
+
+    /** DB 컬럼 길이와 같은 기준(문자 수)으로 센다. 이모지 등은 한 글자다. */
+    private static int length(String value) {
+        return value.codePointCount(0, value.length());
+    }
+
+    private int flush(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        // JPA 저장분과 같은 diary_seq에서 ID 블록을 받아 채운다
+        long[] ids = idSequenceRepository.nextIds("diary_seq", batch.size());
+        for (int i = 0; i < ids.length; i++) {
+            batch.get(i)[0] = ids[i];
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        int size = batch.size();
+        batch.clear();
+        return size;
+    }
+
+    /**
+     * 작성일 순으로 한 줄에 일기 하나씩 출력한다.
+     */
+    public void exportNdjson(Long userId, OutputStream out) {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(fetchSize);
+
+        streaming.query(EXPORT_SQL, rs -> {
+            Timestamp createdAt = rs.getTimestamp("created_at");
+            DiaryArchiveLine line = new DiaryArchiveLine(
+                    rs.getLong("id"),
+                    rs.getString("title"),
+                    rs.getString("content"),
+                    rs.getString("emotion"),
+                    createdAt != null ? createdAt.toLocalDateTime() : null);
+            try {
+                writer.write(objectMapper.writeValueAsString(line));
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException("내보내기 스트림 쓰기 실패", e);
+            }
+        }, userId);
+
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("내보내기 스트림 쓰기 실패", e);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package org.aidiary.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aidiary.dto.response.DiaryResponseDTO;
+import org.aidiary.dto.response.DiarySearchResultDTO;
+import org.aidiary.repository.DiaryRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 일기 전문 검색.
+ *
+ * 사용자별 n-gram 역색인(UserDiaryIndex)을 첫 검색 시 DB에서 한 번 만들고,
+ * 이후에는 DiaryService의 생성/수정/삭제 커밋 시점에 증분 반영한다.
+ * 검색은 색인에서 상위 N개 id만 뽑은 뒤 해당 행만 PK로 조회하므로 테이블을 스캔하지 않는다.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class DiarySearchService {
+
+    private static final int MAX_RESULTS = 50;
+    private static final int SNIPPET_RADIUS = 40;
+    private static final int MAX_BUILD_ATTEMPTS = 3;
+
+    private final DiaryRepository diaryRepository;
+
+    private final Cache<Long, UserDiaryIndex> indexes = Caffeine.newBuilder()
+            .maximumSize(1_000)
+            .expireAfterAccess(30, TimeUnit.MINUTES)
+            .build();
+
+    // 색인을 만드는 중인 사용자만 추적한다. 빌드가 끝나면 지우므로 동시 빌드 수만큼만 남는다.
+    private final Map<Long, BuildTracker> builds = new ConcurrentHashMap<>();
+
+    /** 빌드 중 커밋된 쓰기 수. builders는 builds.compute 안에서만 바꾼다. */
+    private static final class BuildTracker {
+        final AtomicLong writes = new AtomicLong();
+        int builders;
+    }
+
+    /**
+     * 색인 빌드는 여러 번의 개별 조회로 이뤄지므로 읽기 트랜잭션으로 묶지 않는다.
+     * (REPEATABLE READ 스냅샷 하나에 묶이면 빌드 중 커밋된 변경을 다시 읽어도 보이지 않는다.)
+     */
+    public List<DiarySearchResultDTO> search(Long userId, String query, int size) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        int limit = Math.min(Math.max(size, 1), MAX_RESULTS);
+
+        UserDiaryIndex index = indexes.getIfPresent(userId);
+        if (index == null) {
+            index = loadIndex(userId);
+        }
+        List<UserDiaryIndex.Hit> hits = index.search(query, limit);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, DiaryResponseDTO> diaries = diaryRepository
+                .findDiaryDTOsByUserIdAndIds(userId, hits.stream().map(UserDiaryIndex.Hit::diaryId).toList())
+                .stream()
+                .collect(Collectors.toMap(DiaryResponseDTO::getId, Function.identity()));
+
+        List<String> words = new ArrayList<>(UserDiaryIndex.queryWords(query));
+        List<DiarySearchResultDTO> results = new ArrayList<>(hits.size());
+        for (UserDiaryIndex.Hit hit : hits) {
+            DiaryResponseDTO diary = diaries.get(hit.diaryId());
+            if (diary == null) {
+                continue; // 롤백 등으로 색인에만 남은 항목
+            }
+            results.add(toResult(diary, words, hit.score()));
+        }
+        return results;
+    }
+
+    /**
+     * 변경은 커밋 후에 쓰기 수를 올리고 색인에 반영한다. 쓰기 수를 먼저 올려야
+     * 빌드 중이라 반영하지 못한(getIfPresent가 null인) 변경을 빌드 쪽에서 감지할 수 있다.
+     */
+    public void onSaved(Long userId, Long diaryId, String title, String content) {
+        afterCommit(() -> {
+            recordWrite(userId);
+            UserDiaryIndex index = indexes.getIfPresent(userId);
+            if (index != null) {
+                index.put(diaryId, title, content);
+            }
+        });
+    }
+
+    public void onDeleted(Long userId, Long diaryId) {
+        afterCommit(() -> {
+            recordWrite(userId);
+            UserDiaryIndex index = indexes.getIfPresent(userId);
+            if (index != null) {
+                index.remove(diaryId);
+            }
+        });
+    }
+
+    /**
+     * 대량 변경 후 색인을 버린다. 다음 검색 시 DB에서 다시 만든다.
+     */
+    public void invalidate(Long userId) {
+        afterCommit(() -> {
+            recordWrite(userId);
+            indexes.invalidate(userId);
+        });
+    }
+
+    /**
+     * 색인을 만들어 캐시에 넣는다. 빌드를 시작한 뒤 커밋된 변경이 있으면
+     * 그 변경이 색인에 빠졌을 수 있으므로 이번 검색에만 쓰고 캐시에서는 버린다.
+     */
+    private UserDiaryIndex loadIndex(Long userId) {
+        BuildTracker tracker = beginBuild(userId);
+        try {
+            long seen = tracker.writes.get();
+            UserDiaryIndex index = indexes.get(userId, id -> build(id, tracker));
+            if (tracker.writes.get() != seen) {
+                indexes.asMap().remove(userId, index);
+            }
+            return index;
+        } finally {
+            endBuild(userId);
+        }
+    }
+
+    private UserDiaryIndex build(Long userId, BuildTracker tracker) {
+        long start = System.currentTimeMillis();
+        for (int attempt = 1; ; attempt++) {
+            long seen = tracker.writes.get();
+            UserDiaryIndex index = new UserDiaryIndex();
+            for (DiaryResponseDTO diary : diaryRepository.findAllDiaryDTOsByUserId(userId)) {
+                index.put(diary.getId(), diary.getTitle(), diary.getContent());
+            }
+            // 빌드 도중 커밋된 변경이 있으면 다시 읽는다 (조회마다 새 스냅샷)
+            if (seen == tracker.writes.get() || attempt >= MAX_BUILD_ATTEMPTS) {
+                log.info("[DiarySearch] userId={} 색인 생성: {}건, {}ms",
+                        userId, index.size(), System.currentTimeMillis() - start);
+                return index;
+            }
+        }
+    }
+
+    private BuildTracker beginBuild(Long userId) {
+        return builds.compute(userId, (id, tracker) -> {
+            BuildTracker t = tracker != null ? tracker : new BuildTracker();
+            t.builders++;
+            return t;
+        });
+    }
+
+    private void endBuild(Long userId) {
+        builds.computeIfPresent(userId, (id, tracker) -> --tracker.builders == 0 ? null : tracker);
+    }
+
+    private void recordWrite(Long userId) {
+        builds.computeIfPresent(userId, (id, tracker) -> {
+            tracker.writes.incrementAndGet();
+            return tracker;
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static DiarySearchResultDTO toResult(DiaryResponseDTO diary, List<String> words, double score) {
+        String content = diary.getContent() != null ? diary.getContent() : "";
+        String lower = content.toLowerCase(Locale.ROOT);
+
+        // 첫 일치 위치 주변으로 발췌
+        int first = words.stream()
+                .mapToInt(lower::indexOf)
+                .filter(i -> i >= 0)
+                .min()
+                .orElse(0);
+        int from = Math.max(0, first - SNIPPET_RADIUS);
+        int to = Math.min(content.length(), first + SNIPPET_RADIUS * 2);
+        String snippet = content.substring(from, to);
+
+        return DiarySearchResultDTO.builder()
+                .id(diary.getId())
+                .title(diary.getTitle())
+                .snippet(snippet)
+                .highlights(highlight(snippet, words))
+                .emotion(diary.getEmotion())
+                .createdAt(diary.getCreatedAt())
+                .score(score)
+                .build();
+    }
+
+    /**
+     * snippet 안에서 질의 단어(없으면 그 bigram) 일치 구간을 찾아 겹치는 구간을 병합한다.
+     */
+    static List<int[]> highlight(String snippet, List<String> words) {
+        String lower = snippet.toLowerCase(Locale.ROOT);
+        List<int[]> spans = new ArrayList<>();
+        for (String word : words) {
+            int before = spans.size();
+            collect(lower, word, spans);
+            if (spans.size() == before && word.length() > 2) {
+                for (int i = 0; i + 2 <= word.length(); i++) {
+                    collect(lower, word.substring(i, i + 2), spans);
+                }
+            }
+        }
+        spans.sort(Comparator.comparingInt(s -> s[0]));
+
+        List<int[]> merged = new ArrayList<>();
+        for (int[] span : spans) {
+            int[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && span[0] <= last[1]) {
+                last[1] = Math.max(last[1], span[1]);
+            } else {
+                merged.add(new int[] { span[0], span[1] });
+            }
+        }
+        return merged;
+    }
+
+    private static void collect(String text, String term, List<int[]> spans) {
+        for (int i = text.indexOf(term); i >= 0; i = text.indexOf(term, i + 1)) {
+            spans.add(new int[] { i, i + term.length() });
+        }
+    }
+}
@@ -3,18 +3,22 @@ package org.aidiary.service;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.aidiary.dto.CreateDiaryDTO;
+import org.aidiary.dto.response.CursorPageDTO;
 import org.aidiary.dto.response.DiaryResponseDTO;
 import org.aidiary.entity.Diary;
 import org.aidiary.entity.User;
 import org.aidiary.exception.ResourceNotFoundException;
 import org.aidiary.repository.DiaryRepository;
 import org.aidiary.repository.UserRepository;
+import org.aidiary.util.CursorUtil;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -25,6 +29,9 @@ public class DiaryService {
 
     private final DiaryRepository diaryRepository;
     private final UserRepository userRepository;
+    private final DiarySearchService diarySearchService;
+    private final EmotionRollupService emotionRollupService;
+    private final ResourceVersionService resourceVersionService;
 
     @Transactional
     public DiaryResponseDTO createDiary(CreateDiaryDTO dto, Long userId) {
@@ -39,49 +46,103 @@ public class DiaryService {
                 .build();
 
         Diary saved = diaryRepository.save(diary);
+        diarySearchService.onSaved(userId, saved.getId(), saved.getTitle(), saved.getContent());
+        emotionRollupService.onCreated(userId, saved.getCreatedAt(), saved.getEmotion());
+        resourceVersionService.bump(ResourceVersionService.DIARY, userId);
         return DiaryResponseDTO.fromEntity(saved);
     }
 
+    /**
+     * 소유권은 updateEmotion/deleteDiary와 같이 WHERE user_id 조건으로 확인한다.
+     * 타인의 일기는 존재 여부를 드러내지 않도록 없는 일기와 같이 404로 응답한다.
+     */
     @Transactional
     public DiaryResponseDTO updateDiary(Long id, CreateDiaryDTO dto, Long userId) {
-        // findWithUserById: @EntityGraph로 user를 함께 로딩 → 소유권 확인 쿼리 1회
-        Diary diary = diaryRepository.findWithUserById(id)
+        Diary diary = diaryRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Diary", id));
 
-        if (!diary.getUser().getId().equals(userId)) {
-            throw new SecurityException("본인의 일기만 수정할 수 있습니다.");
-        }
-
+        String oldEmotion = diary.getEmotion();
         diary.setTitle(dto.getTitle());
         diary.setContent(dto.getContent());
         diary.setEmotion(dto.getEmotion());
+        diarySearchService.onSaved(userId, id, dto.getTitle(), dto.getContent());
+        emotionRollupService.onEmotionChanged(userId, diary.getCreatedAt(), oldEmotion, dto.getEmotion());
+        resourceVersionService.bump(ResourceVersionService.DIARY, userId);
 
         return DiaryResponseDTO.fromEntity(diary); // JPA flush로 자동 반영됨
     }
 
+    /**
+     * 소유권은 WHERE user_id 조건으로 확인한다. → 엔티티/user 로딩 없이 DTO 조회 + UPDATE.
+     * 감정 집계에 이전 감정이 필요하므로 DTO 조회는 생략하지 않는다.
+     * 타인의 일기는 존재 여부를 드러내지 않도록 없는 일기와 같이 404로 응답한다.
+     */
     @Transactional
     public DiaryResponseDTO updateEmotion(Long id, String emotion, Long userId) {
-        Diary diary = diaryRepository.findWithUserById(id)
+        DiaryResponseDTO diary = diaryRepository.findDiaryDTOByIdAndUserId(id, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Diary", id));
 
-        if (!diary.getUser().getId().equals(userId)) {
-            throw new SecurityException("본인의 일기만 수정할 수 있습니다.");
+        LocalDateTime now = LocalDateTime.now();
+        if (diaryRepository.updateEmotionByIdAndUserId(id, userId, emotion, now) == 0) {
+            throw new ResourceNotFoundException("Diary", id);
         }
 
+        emotionRollupService.onEmotionChanged(userId, diary.getCreatedAt(), diary.getEmotion(), emotion);
+        resourceVersionService.bump(ResourceVersionService.DIARY, userId);
         diary.setEmotion(emotion);
-        return DiaryResponseDTO.fromEntity(diary);
+        diary.setUpdatedAt(now);
+        return diary;
     }
 
     @Transactional
     public void deleteDiary(Long id, Long userId) {
-        Diary diary = diaryRepository.findWithUserById(id)
+        DiaryResponseDTO diary = diaryRepository.findDiaryDTOByIdAndUserId(id, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Diary", id));
 
-        if (!diary.getUser().getId().equals(userId)) {
-            throw new SecurityException("본인의 일기만 삭제할 수 있습니다.");
+        if (diaryRepository.deleteByIdAndUserId(id, userId) == 0) {
+            throw new ResourceNotFoundException("Diary", id);
+        }
+
+        diarySearchService.onDeleted(userId, id);
+        emotionRollupService.onDeleted(userId, diary.getCreatedAt(), diary.getEmotion());
+        resourceVersionService.bump(ResourceVersionService.DIARY, userId);
+    }
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 50;
+
+    /**
+     * 커서 기반 일기 목록. cursor가 없으면 첫 페이지.
+     * size+1건을 읽어 다음 페이지 존재 여부를 판단한다 (COUNT 쿼리 없음).
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<DiaryResponseDTO> getDiariesByCursor(Long userId, String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<DiaryResponseDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = diaryRepository.findLatestDiaryDTOs(userId, limit);
+        } else {
+            CursorUtil.Cursor decoded = CursorUtil.decode(cursor);
+            rows = diaryRepository.findDiaryDTOsBefore(userId, decoded.time(), decoded.id(), limit);
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        List<DiaryResponseDTO> content = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            DiaryResponseDTO last = content.get(content.size() - 1);
+            nextCursor = CursorUtil.encode(last.getCreatedAt(), last.getId());
         }
+        return new CursorPageDTO<>(content, nextCursor, hasNext);
+    }
 
-        diaryRepository.deleteById(id);
+    /**
+     * 가장 최근 일기 1건 (채팅 맥락용).
+     */
+    @Transactional(readOnly = true)
+    public Optional<DiaryResponseDTO> getLatestDiary(Long userId) {
+        return diaryRepository.findLatestDiaryDTOs(userId, Limit.of(1)).stream().findFirst();
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,19 @@
+package org.aidiary.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 그림일기 생성 작업 상태 저장소.
+ * 결과는 이미지 바이트 대신 Flask가 돌려준 JSON(image_url 등)을 보관한다.
+ */
+@Component
+public class DrawingJobStore extends JobStore<Map<String, Object>> {
+
+    /** 실패한 작업은 재사용하지 않고 새로 생성하도록 한다 */
+    @Override
+    protected boolean reusable(JobResult<Map<String, Object>> job) {
+        return job.status() != Status.FAILED;
+    }
+}
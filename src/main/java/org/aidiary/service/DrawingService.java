@@ -0,0 +1,10 @@
+package org.aidiary.service;
+
+public interface DrawingService {
+
+    /**
+     * 그림일기 생성 작업을 큐에 적재하고 jobId를 반환한다.
+     * 같은 본문으로 진행 중이거나 완료된 작업이 있으면 그 jobId를 그대로 돌려준다.
+     */
+    String submit(String diaryText);
+}
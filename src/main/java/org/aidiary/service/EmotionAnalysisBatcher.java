@@ -0,0 +1,153 @@
+package org.aidiary.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 일기 감정 분석 마이크로배처.
+ *
+ * 요청을 최대 maxBatchSize건 또는 maxWaitMs 동안 모았다가 Flask /api/openai/batch로 한 번에 보내고,
+ * 응답 배열을 순서대로 각 호출자의 future에 돌려준다.
+ * 배치가 가득 차면 즉시, 아니면 첫 요청 도착 후 maxWaitMs가 지나면 전송된다.
+ * → 지연 상한은 maxWaitMs + 배치 처리 시간이므로 SLO에 맞춰 윈도우를 조정한다.
+ */
+@Slf4j
+@Component
+public class EmotionAnalysisBatcher {
+
+    private record Pending(String prompt, CompletableFuture<Map<String, Object>> future) {
+    }
+
+    private final FlaskGateway flaskGateway;
+    private final Executor sendExecutor;
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "emotion-batch-timer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Object lock = new Object();
+    private List<Pending> buffer = new ArrayList<>();
+    private ScheduledFuture<?> flushTask;
+
+    @Value("${diary-ai.emotion.batch.max-size:16}")
+    private int maxBatchSize;
+
+    @Value("${diary-ai.emotion.batch.max-wait-ms:50}")
+    private long maxWaitMs;
+
+    public EmotionAnalysisBatcher(FlaskGateway flaskGateway,
+            @Qualifier("emotionBatchExecutor") Executor sendExecutor) {
+        this.flaskGateway = flaskGateway;
+        this.sendExecutor = sendExecutor;
+    }
+
+    public CompletableFuture<Map<String, Object>> submit(String prompt) {
+        CompletableFuture<Map<String, Object>> future = new CompletableFuture<>();
+        List<Pending> full = null;
+
+        synchronized (lock) {
+            buffer.add(new Pending(prompt, future));
+            if (buffer.size() >= maxBatchSize) {
+                full = drain();
+            } else if (buffer.size() == 1) {
+                flushTask = timer.schedule(this::flushOnTimer, maxWaitMs, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (full != null) {
+            dispatch(full);
+        }
+        return future;
+    }
+
+    private void flushOnTimer() {
+        List<Pending> batch;
+        synchronized (lock) {
+            batch = drain();
+        }
+        dispatch(batch);
+    }
+
+    /** lock 보유 상태에서만 호출 */
+    private List<Pending> drain() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+        List<Pending> batch = buffer;
+        buffer = new ArrayList<>();
+        return batch;
+    }
+
+    private void dispatch(List<Pending> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            sendExecutor.execute(() -> send(batch));
+        } catch (Exception e) {
+            batch.forEach(p -> p.future().completeExceptionally(e));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void send(List<Pending> batch) {
+        String path = "/api/openai/batch";
+        log.info("Requesting batched emotion analysis from Flask: {} ({}건)", path, batch.size());
+
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+
+            List<Map<String, Object>> items = batch.stream()
+                    .map(p -> Map.<String, Object>of("prompt", p.prompt()))
+                    .toList();
+
+            Map<String, Object> response = flaskGateway.post(
+                    path, new HttpEntity<>(Map.of("items", items), headers), Map.class);
+
+            List<Map<String, Object>> results = response != null
+                    ? (List<Map<String, Object>>) response.get("results")
+                    : null;
+            if (results == null || results.size() != batch.size()) {
+                throw new IllegalStateException("배치 감정 분석 응답 개수가 요청과 다릅니다.");
+            }
+
+            for (int i = 0; i < batch.size(); i++) {
+                Map<String, Object> result = results.get(i);
+                if (result.containsKey("error")) {
+                    batch.get(i).future().completeExceptionally(
+                            new IllegalStateException("감정 분석 실패: " + result.get("error")));
+                } else {
+                    batch.get(i).future().complete(result);
+                }
+            }
+        } catch (Exception e) {
+            log.error("배치 감정 분석 실패 ({}건): {}", batch.size(), e.getMessage());
+            batch.forEach(p -> p.future().completeExceptionally(e));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushOnTimer();
+        timer.shutdown();
+    }
+}
@@ -0,0 +1,148 @@
+package org.aidiary.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aidiary.dto.response.EmotionTimelineDTO;
+import org.aidiary.entity.DailyEmotionRollup;
+import org.aidiary.repository.DailyEmotionRollupRepository;
+import org.aidiary.repository.DiaryRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 일별 감정 집계(daily_emotion_rollup) 유지 및 조회.
+ * 쓰기는 호출 측(DiaryService) 트랜잭션에 합류하므로 일기와 집계가 함께 커밋/롤백된다.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class EmotionRollupService {
+
+    private static final int PREGNANCY_DAYS = ChildService.PREGNANCY_DAYS;
+
+    private final DailyEmotionRollupRepository rollupRepository;
+    private final DiaryRepository diaryRepository;
+    private final ChildService childService;
+
+    @Transactional
+    public void onCreated(Long userId, LocalDateTime createdAt, String emotion) {
+        if (emotion == null) {
+            return;
+        }
+        rollupRepository.increment(userId, dateOf(createdAt), emotion);
+    }
+
+    @Transactional
+    public void onEmotionChanged(Long userId, LocalDateTime createdAt, String oldEmotion, String newEmotion) {
+        if (oldEmotion != null && oldEmotion.equals(newEmotion)) {
+            return;
+        }
+        onDeleted(userId, createdAt, oldEmotion);
+        onCreated(userId, createdAt, newEmotion);
+    }
+
+    @Transactional
+    public void onDeleted(Long userId, LocalDateTime createdAt, String emotion) {
+        if (emotion == null) {
+            return;
+        }
+        LocalDate date = dateOf(createdAt);
+        if (rollupRepository.decrement(userId, date, emotion) > 0) {
+            rollupRepository.deleteEmpty(userId, date, emotion);
+        }
+    }
+
+    /**
+     * 대량 가져오기처럼 증분 반영이 비효율적인 경우 사용자 단위로 다시 집계한다.
+     */
+    @Transactional
+    public void rebuildForUser(Long userId) {
+        rollupRepository.deleteByUserId(userId);
+        rollupRepository.backfillForUser(userId);
+    }
+
+    /**
+     * 최근 N일 감정별 건수 (개인화 컨텍스트용).
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Integer> countsSince(Long userId, LocalDate from) {
+        Map<String, Integer> totals = new TreeMap<>();
+        for (DailyEmotionRollup r : rollupRepository
+                .findByUserIdAndRollupDateBetweenOrderByRollupDateAsc(userId, from, LocalDate.now())) {
+            totals.merge(r.getEmotion(), r.getEntryCount(), Integer::sum);
+        }
+        return totals;
+    }
+
+    @Transactional(readOnly = true)
+    public EmotionTimelineDTO getTimeline(Long userId, String range) {
+        LocalDate to = LocalDate.now();
+        LocalDate from;
+        boolean weekly = false;
+        switch (range) {
+            case "week" -> from = to.minusDays(6);
+            case "month" -> from = to.minusDays(29);
+            case "pregnancy" -> {
+                from = childService.getPregnancyStart(userId).orElse(to.minusDays(PREGNANCY_DAYS - 1));
+                weekly = true;
+            }
+            default -> throw new IllegalArgumentException("range는 week, month, pregnancy 중 하나여야 합니다.");
+        }
+
+        List<DailyEmotionRollup> rows = rollupRepository
+                .findByUserIdAndRollupDateBetweenOrderByRollupDateAsc(userId, from, to);
+
+        Map<String, Integer> totals = new TreeMap<>();
+        Map<LocalDate, Map<String, Integer>> buckets = new LinkedHashMap<>();
+        for (DailyEmotionRollup r : rows) {
+            LocalDate bucket = weekly
+                    ? from.plusWeeks(ChronoUnit.WEEKS.between(from, r.getRollupDate()))
+                    : r.getRollupDate();
+            buckets.computeIfAbsent(bucket, d -> new TreeMap<>())
+                    .merge(r.getEmotion(), r.getEntryCount(), Integer::sum);
+            totals.merge(r.getEmotion(), r.getEntryCount(), Integer::sum);
+        }
+
+        List<EmotionTimelineDTO.Bucket> bucketList = new ArrayList<>(buckets.size());
+        buckets.forEach((start, counts) -> bucketList.add(new EmotionTimelineDTO.Bucket(start, counts)));
+
+        return EmotionTimelineDTO.builder()
+                .range(range)
+                .from(from)
+                .to(to)
+                .totals(totals)
+                .buckets(bucketList)
+                .build();
+    }
+
+    /**
+     * 집계 테이블 도입 전 일기가 있으면 기동 시 한 번 채운다.
+     * 채우기는 멱등이고 자체 트랜잭션에서 돌며, 실패해도 기동을 막지 않도록 로그만 남긴다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        try {
+            if (rollupRepository.count() == 0 && diaryRepository.count() > 0) {
+                int rows = rollupRepository.backfillFromDiaries();
+                log.info("[EmotionRollup] 기존 일기로부터 집계 {}행 생성", rows);
+            }
+        } catch (Exception e) {
+            log.error("[EmotionRollup] 기존 일기 집계 채우기 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    private static LocalDate dateOf(LocalDateTime createdAt) {
+        return createdAt != null ? createdAt.toLocalDate() : LocalDate.now();
+    }
+}
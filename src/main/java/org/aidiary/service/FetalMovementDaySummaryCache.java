@@ -0,0 +1,355 @@
+package org.aidiary.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aidiary.dto.response.FetalMovementDTO;
+import org.aidiary.dto.response.FetalMovementSummaryDTO;
+import org.aidiary.repository.FetalMovementRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자별 오늘의 태동 요약 캐시 (Redis).
+ *
+ * - fetal:today:{userId}:{date} (Hash): 강도(1~3)별 건수 → 총 건수와 최대 강도를 계산 (삭제 시에도 감소 가능)
+ * - fetal:today:recent:{userId}:{date} (ZSet): 최근 recentSize건의 기록, 점수는 태동 시각
+ * 기록/삭제는 커밋 후 write-through로 반영하고, 키에 날짜가 들어가므로 자정이 지나면 자연히 새 요약으로 넘어간다.
+ * 재구성(DB 조회 → 저장) 도중 커밋된 쓰기는 요약이 없어 반영되지 않으므로, 사용자별 쓰기 수를 세어
+ * 조회 중 쓰기가 있었으면 재구성한 요약을 캐시에 두지 않는다. 다른 인스턴스의 쓰기는 세지 못하므로
+ * 요약은 마지막 쓰기 후 rebuild-ttl 동안만 두어 그런 경우에도 오래 남지 않게 한다.
+ * 두 키에 대한 쓰기는 Lua 스크립트로 한 번에 처리하고 매번 만료를 다시 건다.
+ * (따로 보내면 확인과 증가 사이에 키가 만료돼 만료 없는 부분 요약이 남거나, 재구성 도중의 요약이 읽힐 수 있다)
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class FetalMovementDaySummaryCache {
+
+    private static final String COUNT_KEY_PREFIX = "fetal:today:";
+    private static final String RECENT_KEY_PREFIX = "fetal:today:recent:";
+    private static final int MAX_INTENSITY = 3;
+
+    /** 요약이 있을 때만 건수 증가 + 최근 목록 추가/잘라내기 + 만료 재설정 */
+    private static final RedisScript<Long> LOG_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end\n"
+                    + "redis.call('HINCRBY', KEYS[1], ARGV[1], 1)\n"
+                    + "redis.call('ZADD', KEYS[2], ARGV[3], ARGV[2])\n"
+                    + "redis.call('ZREMRANGEBYRANK', KEYS[2], 0, -(tonumber(ARGV[4]) + 1))\n"
+                    + "redis.call('PEXPIRE', KEYS[1], ARGV[5])\n"
+                    + "redis.call('PEXPIRE', KEYS[2], ARGV[5])\n"
+                    + "return 1",
+            Long.class);
+
+    /** 최근 목록에서 뺀 경우에만 건수 감소 (같은 삭제가 두 번 반영되지 않게) + 만료 재설정 */
+    private static final RedisScript<Long> DELETE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 or redis.call('ZREM', KEYS[2], ARGV[2]) == 0 then return 0 end\n"
+                    + "redis.call('HINCRBY', KEYS[1], ARGV[1], -1)\n"
+                    + "redis.call('PEXPIRE', KEYS[1], ARGV[3])\n"
+                    + "redis.call('PEXPIRE', KEYS[2], ARGV[3])\n"
+                    + "return 1",
+            Long.class);
+
+    /** 두 키를 지우고 강도별 건수(ARGV[2..4])와 최근 목록(ARGV[5..]의 점수·멤버 쌍)을 한 번에 채운다 */
+    private static final RedisScript<Long> STORE_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('DEL', KEYS[1], KEYS[2])\n"
+                    + "redis.call('HSET', KEYS[1], 'i1', ARGV[2], 'i2', ARGV[3], 'i3', ARGV[4])\n"
+                    + "for i = 5, #ARGV, 2 do redis.call('ZADD', KEYS[2], ARGV[i], ARGV[i + 1]) end\n"
+                    + "redis.call('PEXPIRE', KEYS[1], ARGV[1])\n"
+                    + "redis.call('PEXPIRE', KEYS[2], ARGV[1])\n"
+                    + "return 1",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final FetalMovementRepository fetalMovementRepository;
+
+    /** 재구성 중인 사용자 → 그동안 커밋된 쓰기 수 */
+    private final Map<Long, RebuildTracker> rebuilds = new ConcurrentHashMap<>();
+
+    /** 재구성 중 커밋된 쓰기 수. rebuilders는 rebuilds.compute 안에서만 바꾼다. */
+    private static final class RebuildTracker {
+        final AtomicLong writes = new AtomicLong();
+        int rebuilders;
+    }
+
+    @Value("${fetal.today-summary.recent-size:20}")
+    private int recentSize;
+
+    @Value("${fetal.today-summary.rebuild-ttl-minutes:10}")
+    private long rebuildTtlMinutes;
+
+    public FetalMovementSummaryDTO get(Long userId) {
+        LocalDate today = LocalDate.now();
+        String countKey = countKey(userId, today);
+        String recentKey = recentKey(userId, today);
+
+        try {
+            Map<Object, Object> counts = redisTemplate.opsForHash().entries(countKey);
+            if (!counts.isEmpty()) {
+                Set<String> recent = redisTemplate.opsForZSet().range(recentKey, 0, -1);
+                return toSummary(counts, recent);
+            }
+        } catch (Exception e) {
+            log.warn("[FetalSummary] userId={} 캐시 조회 실패, DB에서 계산: {}", userId, e.getMessage());
+            return load(userId, today).toSummary();
+        }
+
+        return rebuild(userId, today);
+    }
+
+    /**
+     * DB에서 요약을 다시 만들어 캐시에 넣는다. 조회를 시작한 뒤 커밋된 쓰기가 있으면
+     * 그 기록이 요약에서 빠졌을 수 있으므로 이번 응답에만 쓰고 캐시에는 두지 않는다.
+     * 확인과 저장 사이에 들어온 쓰기는 저장 후 다시 확인해 요약을 버린다.
+     */
+    private FetalMovementSummaryDTO rebuild(Long userId, LocalDate today) {
+        RebuildTracker tracker = beginRebuild(userId);
+        try {
+            long seen = tracker.writes.get();
+            DaySnapshot snapshot = load(userId, today);
+            if (tracker.writes.get() == seen) {
+                store(userId, today, snapshot);
+                if (tracker.writes.get() != seen) {
+                    evict(userId, today);
+                }
+            }
+            return snapshot.toSummary();
+        } finally {
+            endRebuild(userId);
+        }
+    }
+
+    /**
+     * 새 기록 반영. 오늘 기록이 아니거나 요약이 아직 캐시에 없으면 아무것도 하지 않는다.
+     */
+    public void onLogged(Long userId, FetalMovementDTO movement) {
+        LocalDate today = LocalDate.now();
+        if (!movement.getMovementTime().toLocalDate().equals(today)) {
+            return;
+        }
+        afterCommit(() -> {
+            recordWrite(userId);
+            String countKey = countKey(userId, today);
+            String recentKey = recentKey(userId, today);
+            try {
+                redisTemplate.execute(LOG_SCRIPT, List.of(countKey, recentKey),
+                        field(movement.getIntensity()),
+                        objectMapper.writeValueAsString(movement),
+                        String.valueOf((long) score(movement)),
+                        String.valueOf(recentSize),
+                        String.valueOf(ttl(today).toMillis()));
+            } catch (Exception e) {
+                log.warn("[FetalSummary] userId={} 기록 반영 실패, 캐시 무효화: {}", userId, e.getMessage());
+                evict(userId, today);
+            }
+        });
+    }
+
+    /**
+     * 삭제 반영. 최근 목록에 있는 기록이고 목록 밖에 남은 기록이 없으면 증분으로 빼고,
+     * 그 외(다른 날 기록이거나 목록을 다시 채워야 하는 경우)에는 무효화한다.
+     */
+    public void onDeleted(Long userId, Long movementId) {
+        LocalDate today = LocalDate.now();
+        afterCommit(() -> {
+            recordWrite(userId);
+            String countKey = countKey(userId, today);
+            String recentKey = recentKey(userId, today);
+            try {
+                Map<Object, Object> counts = redisTemplate.opsForHash().entries(countKey);
+                if (counts.isEmpty()) {
+                    return;
+                }
+                Set<String> recent = redisTemplate.opsForZSet().range(recentKey, 0, -1);
+                long total = toSummary(counts, recent).getTodayCount();
+                if (recent != null && total <= recentSize) {
+                    for (String member : recent) {
+                        FetalMovementDTO movement = objectMapper.readValue(member, FetalMovementDTO.class);
+                        if (movementId.equals(movement.getId())) {
+                            redisTemplate.execute(DELETE_SCRIPT, List.of(countKey, recentKey),
+                                    field(movement.getIntensity()), member, String.valueOf(ttl(today).toMillis()));
+                            return;
+                        }
+                    }
+                }
+                evict(userId, today);
+            } catch (Exception e) {
+                log.warn("[FetalSummary] userId={} 삭제 반영 실패, 캐시 무효화: {}", userId, e.getMessage());
+                evict(userId, today);
+            }
+        });
+    }
+
+    /**
+     * 일괄 반영처럼 증분 갱신이 번거로운 경우 오늘 요약을 버린다.
+     */
+    public void invalidate(Long userId) {
+        LocalDate today = LocalDate.now();
+        afterCommit(() -> {
+            recordWrite(userId);
+            evict(userId, today);
+        });
+    }
+
+    /** 강도별 건수(인덱스 1~3)와 시간순 최근 기록 */
+    private record DaySnapshot(long[] byIntensity, List<FetalMovementDTO> recent) {
+
+        FetalMovementSummaryDTO toSummary() {
+            long total = 0;
+            int max = 0;
+            for (int i = 1; i <= MAX_INTENSITY; i++) {
+                if (byIntensity[i] > 0) {
+                    total += byIntensity[i];
+                    max = i;
+                }
+            }
+            return FetalMovementSummaryDTO.builder()
+                    .todayCount(total)
+                    .todayMaxIntensity(max)
+                    .todayMovements(recent)
+                    .build();
+        }
+    }
+
+    private DaySnapshot load(Long userId, LocalDate date) {
+        LocalDateTime from = date.atStartOfDay();
+        LocalDateTime to = date.plusDays(1).atStartOfDay();
+
+        long[] byIntensity = new long[MAX_INTENSITY + 1];
+        for (Object[] row : fetalMovementRepository.countByIntensity(userId, from, to)) {
+            int intensity = ((Number) row[0]).intValue();
+            if (intensity >= 1 && intensity <= MAX_INTENSITY) {
+                byIntensity[intensity] = ((Number) row[1]).longValue();
+            }
+        }
+
+        // 최신순으로 recentSize건 → 화면에는 시간순으로
+        List<FetalMovementDTO> recent = new ArrayList<>(
+                fetalMovementRepository.findLatestDTOs(userId, from, to, Limit.of(recentSize)));
+        Collections.reverse(recent);
+        return new DaySnapshot(byIntensity, recent);
+    }
+
+    private void store(Long userId, LocalDate date, DaySnapshot snapshot) {
+        String countKey = countKey(userId, date);
+        String recentKey = recentKey(userId, date);
+        try {
+            List<String> args = new ArrayList<>(1 + MAX_INTENSITY + snapshot.recent().size() * 2);
+            args.add(String.valueOf(ttl(date).toMillis()));
+            for (int i = 1; i <= MAX_INTENSITY; i++) {
+                args.add(String.valueOf(snapshot.byIntensity()[i]));
+            }
+            for (FetalMovementDTO movement : snapshot.recent()) {
+                args.add(String.valueOf((long) score(movement)));
+                args.add(objectMapper.writeValueAsString(movement));
+            }
+            redisTemplate.execute(STORE_SCRIPT, List.of(countKey, recentKey), args.toArray());
+        } catch (JsonProcessingException e) {
+            log.warn("[FetalSummary] userId={} 직렬화 실패: {}", userId, e.getMessage());
+            evict(userId, date);
+        } catch (Exception e) {
+            log.warn("[FetalSummary] userId={} 캐시 저장 실패: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 요약 키 만료: rebuild-ttl과 (다음날 0시 + 1시간) 중 짧은 쪽
+     */
+    private Duration ttl(LocalDate date) {
+        Duration untilTomorrow = Duration.between(LocalDateTime.now(), date.plusDays(1).atStartOfDay()).plusHours(1);
+        Duration rebuildTtl = Duration.ofMinutes(rebuildTtlMinutes);
+        return untilTomorrow.compareTo(rebuildTtl) < 0 ? untilTomorrow : rebuildTtl;
+    }
+
+    private FetalMovementSummaryDTO toSummary(Map<Object, Object> counts, Set<String> recent) throws JsonProcessingException {
+        long[] byIntensity = new long[MAX_INTENSITY + 1];
+        for (int i = 1; i <= MAX_INTENSITY; i++) {
+            Object value = counts.get(field(i));
+            byIntensity[i] = value != null ? Long.parseLong(value.toString()) : 0;
+        }
+
+        List<FetalMovementDTO> movements = new ArrayList<>(recent != null ? recent.size() : 0);
+        if (recent != null) {
+            for (String member : recent) {
+                movements.add(objectMapper.readValue(member, FetalMovementDTO.class));
+            }
+        }
+        return new DaySnapshot(byIntensity, movements).toSummary();
+    }
+
+    private RebuildTracker beginRebuild(Long userId) {
+        return rebuilds.compute(userId, (id, tracker) -> {
+            RebuildTracker t = tracker != null ? tracker : new RebuildTracker();
+            t.rebuilders++;
+            return t;
+        });
+    }
+
+    private void endRebuild(Long userId) {
+        rebuilds.computeIfPresent(userId, (id, tracker) -> --tracker.rebuilders == 0 ? null : tracker);
+    }
+
+    private void recordWrite(Long userId) {
+        rebuilds.computeIfPresent(userId, (id, tracker) -> {
+            tracker.writes.incrementAndGet();
+            return tracker;
+        });
+    }
+
+    private void evict(Long userId, LocalDate date) {
+        try {
+            redisTemplate.delete(List.of(countKey(userId, date), recentKey(userId, date)));
+        } catch (Exception e) {
+            log.warn("[FetalSummary] userId={} 캐시 무효화 실패: {}", userId, e.getMessage());
+        }
+    }
+
+    private static double score(FetalMovementDTO movement) {
+        return movement.getMovementTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static String field(int intensity) {
+        return "i" + intensity;
+    }
+
+    private static String countKey(Long userId, LocalDate date) {
+        return COUNT_KEY_PREFIX + userId + ":" + date;
+    }
+
+    private static String recentKey(Long userId, LocalDate date) {
+        return RECENT_KEY_PREFIX + userId + ":" + date;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package org.aidiary.service;
 
 import lombok.RequiredArgsConstructor;
 import org.aidiary.dto.request.FetalMovementRequest;
+import org.aidiary.dto.response.CursorPageDTO;
 import org.aidiary.dto.response.FetalMovementDTO;
 import org.aidiary.dto.response.FetalMovementSummaryDTO;
 import org.aidiary.entity.FetalMovement;
@@ -9,18 +10,14 @@ import org.aidiary.entity.User;
 import org.aidiary.exception.ResourceNotFoundException;
 import org.aidiary.repository.FetalMovementRepository;
 import org.aidiary.repository.UserRepository;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.aidiary.util.CursorUtil;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -28,6 +25,8 @@ public class FetalMovementService {
 
     private final FetalMovementRepository fetalMovementRepository;
     private final UserRepository userRepository;
+    private final ResourceVersionService resourceVersionService;
+    private final FetalMovementDaySummaryCache daySummaryCache;
 
     @Transactional
     public FetalMovementDTO log(Long userId, FetalMovementRequest request) {
@@ -41,66 +40,58 @@ public class FetalMovementService {
                 .notes(request.getNotes())
                 .build();
 
-        return FetalMovementDTO.fromEntity(fetalMovementRepository.save(entity));
+        FetalMovementDTO saved = FetalMovementDTO.fromEntity(fetalMovementRepository.save(entity));
+        daySummaryCache.onLogged(userId, saved);
+        resourceVersionService.bump(ResourceVersionService.FETAL_MOVEMENT, userId);
+        return saved;
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * 오늘 요약은 캐시에서 읽는다. 캐시가 비어 있을 때만 DB에서 강도별 건수와 최근 기록을 조회한다.
+     */
     public FetalMovementSummaryDTO getTodaySummary(Long userId) {
-        LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
-        LocalDateTime endOfDay = LocalDate.now().atTime(LocalTime.MAX);
-
-        List<FetalMovement> todayList = fetalMovementRepository
-                .findByUserIdAndMovementTimeBetweenOrderByMovementTimeAsc(userId, startOfDay, endOfDay);
-
-        int maxIntensity = todayList.stream()
-                .mapToInt(FetalMovement::getIntensity)
-                .max()
-                .orElse(0);
-
-        List<FetalMovementDTO> dtos = todayList.stream()
-                .map(FetalMovementDTO::fromEntity)
-                .collect(Collectors.toList());
-
-        return FetalMovementSummaryDTO.builder()
-                .todayCount(todayList.size())
-                .todayMaxIntensity(maxIntensity)
-                .todayMovements(dtos)
-                .build();
+        return daySummaryCache.get(userId);
     }
 
-    @Transactional(readOnly = true)
-    public Page<FetalMovementDTO> getHistory(Long userId, LocalDate date, int page, int size) {
-        LocalDateTime start = date.atStartOfDay();
-        LocalDateTime end = date.atTime(LocalTime.MAX);
-
-        List<FetalMovement> all = fetalMovementRepository
-                .findByUserIdAndMovementTimeBetweenOrderByMovementTimeAsc(userId, start, end);
-
-        // 역순 (최신순)
-        List<FetalMovementDTO> dtos = all.stream()
-                .sorted((a, b) -> b.getMovementTime().compareTo(a.getMovementTime()))
-                .map(FetalMovementDTO::fromEntity)
-                .collect(Collectors.toList());
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
 
-        Pageable pageable = PageRequest.of(page, size);
-        int from = (int) pageable.getOffset();
-        int to = Math.min(from + size, dtos.size());
-        List<FetalMovementDTO> pageContent = from >= dtos.size()
-                ? List.of()
-                : dtos.subList(from, to);
+    /**
+     * 특정 날짜의 태동 기록을 최신순 커서 페이지로 조회한다. cursor가 없으면 첫 페이지.
+     * 정렬과 LIMIT을 DB에서 처리하므로 메모리/지연이 하루 기록 수가 아닌 페이지 크기에 비례한다.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<FetalMovementDTO> getHistory(Long userId, LocalDate date, String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_HISTORY_PAGE_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+        LocalDateTime from = date.atStartOfDay();
+
+        List<FetalMovementDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = fetalMovementRepository.findLatestDTOs(userId, from, date.plusDays(1).atStartOfDay(), limit);
+        } else {
+            CursorUtil.Cursor decoded = CursorUtil.decode(cursor);
+            rows = fetalMovementRepository.findDTOsBefore(userId, from, decoded.time(), decoded.id(), limit);
+        }
 
-        return new PageImpl<>(pageContent, pageable, dtos.size());
+        boolean hasNext = rows.size() > pageSize;
+        List<FetalMovementDTO> content = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            FetalMovementDTO last = content.get(content.size() - 1);
+            nextCursor = CursorUtil.encode(last.getMovementTime(), last.getId());
+        }
+        return new CursorPageDTO<>(content, nextCursor, hasNext);
     }
 
+    /**
+     * 소유권 조건부 DELETE 한 번으로 처리한다. 타인의 기록은 없는 기록과 같이 404.
+     */
     @Transactional
     public void delete(Long userId, Long id) {
-        FetalMovement entity = fetalMovementRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("FetalMovement", id));
-
-        if (!entity.getUser().getId().equals(userId)) {
-            throw new SecurityException("본인의 태동 기록만 삭제할 수 있습니다.");
+        if (fetalMovementRepository.deleteByIdAndUserId(id, userId) == 0) {
+            throw new ResourceNotFoundException("FetalMovement", id);
         }
-
-        fetalMovementRepository.deleteById(id);
+        daySummaryCache.onDeleted(userId, id);
+        resourceVersionService.bump(ResourceVersionService.FETAL_MOVEMENT, userId);
     }
 }
@@ -0,0 +1,251 @@
+package org.aidiary.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * face-api(Flask) 호출 게이트웨이.
+ *
+ * api.flask.urls에 나열된 레플리카 중 진행 중 요청이 가장 적은 곳으로 보내고(least outstanding),
+ * 연결 실패/5xx가 연속되면 일정 시간 후보에서 제외한다.
+ * 멱등 조회는 p95 지연 안에 응답이 없으면 다른 레플리카로 한 번 더 보내 먼저 온 응답을 쓴다(hedging).
+ * → 느린 레플리카 하나가 전체 꼬리 지연을 결정하지 않는다.
+ * 생성 이미지(/api/images/**)를 조회하려면 레플리카들이 생성 이미지 디렉터리를 공유해야 한다.
+ */
+@Slf4j
+@Component
+public class FlaskGateway {
+
+    private static final int LATENCY_WINDOW = 256;
+
+    static final class Replica {
+        final String baseUrl;
+        final AtomicInteger outstanding = new AtomicInteger();
+        final AtomicInteger consecutiveFailures = new AtomicInteger();
+        volatile long ejectedUntil;
+
+        Replica(String baseUrl) {
+            this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        }
+
+        boolean available(long now) {
+            return now >= ejectedUntil;
+        }
+    }
+
+    private final RestTemplate restTemplate;
+    private final Executor hedgeExecutor;
+    private final List<Replica> replicas;
+
+    // hedging 대상 호출의 최근 지연(ms) 링 버퍼
+    private final long[] latencies = new long[LATENCY_WINDOW];
+    private final AtomicLong latencyCount = new AtomicLong();
+
+    @Value("${api.flask.eject.failure-threshold:3}")
+    private int failureThreshold;
+
+    @Value("${api.flask.eject.duration-ms:30000}")
+    private long ejectDurationMs;
+
+    @Value("${api.flask.hedge.enabled:true}")
+    private boolean hedgeEnabled;
+
+    @Value("${api.flask.hedge.min-delay-ms:50}")
+    private long hedgeMinDelayMs;
+
+    public FlaskGateway(RestTemplate restTemplate,
+            @Qualifier("flaskHedgeExecutor") Executor hedgeExecutor,
+            @Value("${api.flask.urls:${api.flask.url}}") String urls) {
+        this.restTemplate = restTemplate;
+        this.hedgeExecutor = hedgeExecutor;
+        this.replicas = Arrays.stream(urls.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .map(Replica::new)
+                .toList();
+        if (replicas.isEmpty()) {
+            throw new IllegalStateException("api.flask.urls에 face-api 주소가 하나 이상 필요합니다.");
+        }
+        log.info("[FlaskGateway] 레플리카 {}개: {}", replicas.size(),
+                replicas.stream().map(r -> r.baseUrl).toList());
+    }
+
+    public <T> T get(String path, Class<T> responseType) {
+        return call(choose(null), base -> restTemplate.getForObject(base + path, responseType));
+    }
+
+    public <T> T post(String path, Object request, Class<T> responseType) {
+        return call(choose(null), base -> restTemplate.postForObject(base + path, request, responseType));
+    }
+
+    public <T> ResponseEntity<T> exchange(String path, HttpMethod method, HttpEntity<?> entity,
+            Class<T> responseType) {
+        return call(choose(null), base -> restTemplate.exchange(base + path, method, entity, responseType));
+    }
+
+    /**
+     * 멱등 GET 전용. 첫 요청이 hedge 지연 안에 끝나지 않으면 다른 레플리카로 한 번 더 보낸다.
+     */
+    public <T> T getHedged(String path, Class<T> responseType) {
+        Replica primary = choose(null);
+        if (!hedgeEnabled || replicas.size() < 2) {
+            return timed(primary, path, responseType);
+        }
+
+        CompletableFuture<T> first;
+        try {
+            first = CompletableFuture.supplyAsync(() -> timed(primary, path, responseType), hedgeExecutor);
+        } catch (TaskRejectedException e) {
+            return timed(primary, path, responseType);
+        }
+
+        try {
+            return first.get(hedgeDelayMs(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            Replica backup = choose(primary);
+            if (backup == primary) {
+                return await(first);
+            }
+            log.debug("[FlaskGateway] hedge: {} → {} ({})", primary.baseUrl, backup.baseUrl, path);
+            CompletableFuture<T> second;
+            try {
+                second = CompletableFuture.supplyAsync(() -> timed(backup, path, responseType), hedgeExecutor);
+            } catch (TaskRejectedException rejected) {
+                return await(first);
+            }
+            return await(firstSuccessOf(first, second));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("face-api 호출 대기 중 인터럽트", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    Replica choose(Replica exclude) {
+        long now = System.currentTimeMillis();
+        Replica best = leastOutstanding(exclude, now, true);
+        if (best == null) {
+            // 모두 제외된 상태면 그래도 보내본다 (fail-open)
+            best = leastOutstanding(exclude, now, false);
+        }
+        return best != null ? best : exclude;
+    }
+
+    private Replica leastOutstanding(Replica exclude, long now, boolean healthyOnly) {
+        int size = replicas.size();
+        // 동률일 때 특정 레플리카로 쏠리지 않도록 시작 위치를 무작위로
+        int offset = ThreadLocalRandom.current().nextInt(size);
+        Replica best = null;
+        for (int i = 0; i < size; i++) {
+            Replica candidate = replicas.get((offset + i) % size);
+            if (candidate == exclude || (healthyOnly && !candidate.available(now))) {
+                continue;
+            }
+            if (best == null || candidate.outstanding.get() < best.outstanding.get()) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    private <T> T call(Replica replica, Function<String, T> request) {
+        replica.outstanding.incrementAndGet();
+        try {
+            T result = request.apply(replica.baseUrl);
+            replica.consecutiveFailures.set(0);
+            return result;
+        } catch (ResourceAccessException | HttpServerErrorException e) {
+            recordFailure(replica, e);
+            throw e;
+        } finally {
+            replica.outstanding.decrementAndGet();
+        }
+    }
+
+    private <T> T timed(Replica replica, String path, Class<T> responseType) {
+        long start = System.nanoTime();
+        T result = call(replica, base -> restTemplate.getForObject(base + path, responseType));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        latencies[(int) (latencyCount.getAndIncrement() % LATENCY_WINDOW)] = elapsedMs;
+        return result;
+    }
+
+    private void recordFailure(Replica replica, Exception e) {
+        int failures = replica.consecutiveFailures.incrementAndGet();
+        if (failures >= failureThreshold) {
+            replica.ejectedUntil = System.currentTimeMillis() + ejectDurationMs;
+            replica.consecutiveFailures.set(0);
+            log.warn("[FlaskGateway] {} 연속 {}회 실패 → {}ms 제외: {}",
+                    replica.baseUrl, failures, ejectDurationMs, e.getMessage());
+        }
+    }
+
+    long hedgeDelayMs() {
+        int samples = (int) Math.min(latencyCount.get(), LATENCY_WINDOW);
+        if (samples < 20) {
+            // 표본이 적을 땐 hedge를 사실상 보류
+            return Math.max(hedgeMinDelayMs, 1_000);
+        }
+        long[] snapshot = Arrays.copyOf(latencies, samples);
+        Arrays.sort(snapshot);
+        long p95 = snapshot[(int) Math.ceil(samples * 0.95) - 1];
+        return Math.max(hedgeMinDelayMs, p95);
+    }
+
+    private static <T> CompletableFuture<T> firstSuccessOf(CompletableFuture<T> a, CompletableFuture<T> b) {
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger failed = new AtomicInteger();
+        for (CompletableFuture<T> f : List.of(a, b)) {
+            f.whenComplete((value, ex) -> {
+                if (ex == null) {
+                    winner.complete(value);
+                } else if (failed.incrementAndGet() == 2) {
+                    winner.completeExceptionally(ex);
+                }
+            });
+        }
+        return winner;
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("face-api 호출 대기 중 인터럽트", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof RuntimeException re ? re : new IllegalStateException("face-api 호출 실패", cause);
+    }
+}
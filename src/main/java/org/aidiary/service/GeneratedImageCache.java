@@ -0,0 +1,230 @@
+package org.aidiary.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aidiary.util.ContentHashUtil;
+import org.aidiary.util.FileLease;
+import org.aidiary.util.LeasedFiles;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Flask가 생성한 그림일기 이미지의 로컬 디스크 캐시.
+ *
+ * 생성 이미지는 파일명이 곧 내용을 식별하고 이후 바뀌지 않으므로,
+ * 한 번 받아온 파일은 디스크에 보관하고 이후 조회는 Flask를 거치지 않는다.
+ * 총 용량(maxBytes)을 넘으면 가장 오래 조회되지 않은 파일부터 지운다(LRU).
+ * 조회 결과는 사용권(Lease)으로 내주며, 응답 중인 파일은 축출돼도 사용권이 모두 반납된 뒤에 지운다.
+ * 같은 파일의 동시 MISS는 Flask 호출 하나를 공유한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GeneratedImageCache {
+
+    private static final String TMP_SUFFIX = ".part";
+    private static final int MAX_ATTEMPTS = 3;
+
+    public static final class Entry {
+        private final Path path;
+        private final long size;
+        private volatile String etag;
+
+        private Entry(Path path, long size, String etag) {
+            this.path = path;
+            this.size = size;
+            this.etag = etag;
+        }
+
+        public Path path() {
+            return path;
+        }
+
+        public long size() {
+            return size;
+        }
+
+        /** 재시작 후 복원된 항목은 첫 조회 시 해시를 계산한다. 사용권을 쥔 상태에서만 호출한다. */
+        public String etag() {
+            if (etag == null) {
+                try {
+                    etag = ContentHashUtil.calculateHash(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return etag;
+        }
+    }
+
+    /** 사용권을 쥔 조회 결과. 본문으로 내보내지 않으면 close()로 반납한다. */
+    public record Lease(Entry entry, FileLease file) implements AutoCloseable {
+        @Override
+        public void close() {
+            file.close();
+        }
+    }
+
+    private final DiaryAiService diaryAiService;
+
+    // accessOrder=true → 순회 순서가 곧 LRU 순서
+    private final LinkedHashMap<String, Entry> index = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<String, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+    private final LeasedFiles leasedFiles = new LeasedFiles();
+    private long totalBytes;
+
+    @Value("${diary-ai.image-cache.dir:${java.io.tmpdir}/aidiary-image-cache}")
+    private String cacheDir;
+
+    @Value("${diary-ai.image-cache.max-bytes:268435456}")
+    private long maxBytes;
+
+    private Path root;
+
+    @PostConstruct
+    void init() throws IOException {
+        root = Paths.get(cacheDir);
+        Files.createDirectories(root);
+
+        // 기존 파일 복원: 수정 시각 오름차순으로 넣어 LRU 순서를 근사
+        try (Stream<Path> files = Files.list(root)) {
+            List<Path> sorted = files.filter(Files::isRegularFile)
+                    .sorted(Comparator.comparingLong(this::lastModified))
+                    .toList();
+            for (Path file : sorted) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(TMP_SUFFIX)) {
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                long size = Files.size(file);
+                synchronized (this) {
+                    index.put(name, new Entry(file, size, null));
+                    totalBytes += size;
+                }
+            }
+        }
+        synchronized (this) {
+            evictIfNeeded();
+        }
+        log.info("[ImageCache] {}개 파일 복원 ({} bytes / 한도 {} bytes)", index.size(), totalBytes, maxBytes);
+    }
+
+    /**
+     * 캐시에 있으면 디스크 파일을, 없으면 Flask에서 받아 저장한 뒤 사용권과 함께 반환한다.
+     * filename은 호출 측에서 경로 구분자 검증을 마친 값이어야 한다.
+     */
+    public Lease getOrFetch(String filename) {
+        // 받아 온 직후 다른 요청의 저장으로 축출될 수 있으므로 색인에서 사용권을 얻을 때까지 다시 본다
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            synchronized (this) {
+                Entry cached = index.get(filename);
+                if (cached != null && Files.exists(cached.path())) {
+                    return new Lease(cached, leasedFiles.lease(cached.path(), cached.size()));
+                }
+                if (cached != null) {
+                    // 외부에서 파일이 지워진 경우
+                    index.remove(filename);
+                    totalBytes -= cached.size();
+                }
+            }
+            fetchOnce(filename);
+        }
+        throw new IllegalStateException("이미지 캐시 용량이 부족해 파일을 보관할 수 없습니다: " + filename);
+    }
+
+    /** 같은 파일의 동시 MISS는 먼저 온 요청 하나만 Flask를 호출하고 나머지는 그 결과를 기다린다. */
+    private void fetchOnce(String filename) {
+        CompletableFuture<Entry> mine = new CompletableFuture<>();
+        CompletableFuture<Entry> running = inFlight.putIfAbsent(filename, mine);
+        if (running != null) {
+            try {
+                running.join();
+                return;
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            log.info("[ImageCache] MISS: {}", filename);
+            ResponseEntity<byte[]> response = diaryAiService.getGeneratedImage(filename);
+            byte[] body = response.getBody();
+            if (body == null || body.length == 0) {
+                throw new IllegalStateException("생성 이미지 응답이 비어 있습니다: " + filename);
+            }
+            mine.complete(store(filename, body));
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(filename, mine);
+        }
+    }
+
+    private Entry store(String filename, byte[] body) {
+        Path target = root.resolve(filename);
+        Path tmp = root.resolve(filename + "." + Thread.currentThread().getId() + TMP_SUFFIX);
+        try {
+            Files.write(tmp, body);
+            // 축출 후 응답 중인 같은 경로의 지연 삭제가 새 파일을 지우지 않도록 먼저 해제한다
+            leasedFiles.revive(target);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException ignored) {
+                // 임시 파일 정리 실패는 다음 기동 시 init()에서 처리된다
+            }
+            throw new UncheckedIOException("이미지 캐시 저장 실패: " + filename, e);
+        }
+
+        Entry entry = new Entry(target, body.length, ContentHashUtil.calculateHash(body));
+        synchronized (this) {
+            Entry previous = index.put(filename, entry);
+            if (previous != null) {
+                totalBytes -= previous.size();
+            }
+            totalBytes += entry.size();
+            evictIfNeeded();
+        }
+        return entry;
+    }
+
+    /** 동기화 블록 안에서만 호출. 방금 넣은(가장 최근) 항목 하나는 남긴다. */
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<String, Entry>> it = index.entrySet().iterator();
+        while (totalBytes > maxBytes && index.size() > 1) {
+            Entry eldest = it.next().getValue();
+            it.remove();
+            totalBytes -= eldest.size();
+            // 응답 중인 파일은 마지막 사용권이 반납될 때 지운다
+            leasedFiles.retire(eldest.path());
+        }
+    }
+
+    private long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+}
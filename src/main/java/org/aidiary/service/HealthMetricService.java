@@ -3,50 +3,69 @@ package org.aidiary.service;
 import lombok.RequiredArgsConstructor;
 import org.aidiary.dto.request.HealthMetricRequest;
 import org.aidiary.dto.response.HealthMetricDTO;
-import org.aidiary.entity.HealthMetric;
-import org.aidiary.entity.User;
+import org.aidiary.dto.response.HealthTrendDTO;
 import org.aidiary.exception.ResourceNotFoundException;
 import org.aidiary.repository.HealthMetricRepository;
-import org.aidiary.repository.UserRepository;
+import org.aidiary.util.Lttb;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class HealthMetricService {
 
+    private static final int DEFAULT_TREND_POINTS = 120;
+    private static final int MAX_TREND_POINTS = 1000;
+    private static final int MAX_TREND_DAYS = 366 * 2;
+
     private final HealthMetricRepository healthMetricRepository;
-    private final UserRepository userRepository;
+    private final ResourceVersionService resourceVersionService;
+    private final ChildService childService;
+    private final VitalSignMonitor vitalSignMonitor;
 
+    /**
+     * 같은 날짜면 덮어쓴다. 조회 없이 (user_id, record_date) upsert 한 문장으로 저장하므로
+     * 동시에 같은 날짜를 저장해도 중복 행이 생기지 않는다.
+     * 키는 HealthMetricUniqueKeyInitializer가 기동 시 보장한다 (docs/health-metric-unique-key-migration.md).
+     */
     @Transactional
     public HealthMetricDTO save(Long userId, HealthMetricRequest request) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", userId));
-
         LocalDate recordDate = request.getRecordDate() != null
                 ? request.getRecordDate()
                 : LocalDate.now();
 
-        // 같은 날짜면 업데이트
-        HealthMetric metric = healthMetricRepository
-                .findByUserIdAndRecordDate(userId, recordDate)
-                .orElseGet(() -> HealthMetric.builder()
-                        .user(user)
-                        .recordDate(recordDate)
-                        .build());
+        healthMetricRepository.upsert(userId, recordDate,
+                request.getWeight(), request.getSystolic(), request.getDiastolic(), LocalDateTime.now());
+        resourceVersionService.bump(ResourceVersionService.HEALTH, userId);
+        vitalSignMonitor.onSaved(userId, recordDate, request.getWeight(), request.getSystolic(), request.getDiastolic());
 
-        metric.setWeight(request.getWeight());
-        metric.setSystolic(request.getSystolic());
-        metric.setDiastolic(request.getDiastolic());
+        // 응답의 id는 upsert가 새로 만들었는지 기존 행인지에 따라 달라 프로젝션으로 읽는다
+        return healthMetricRepository.findDTOByUserIdAndRecordDate(userId, recordDate)
+                .orElseThrow(() -> new ResourceNotFoundException("HealthMetric", recordDate.toString()));
+    }
 
-        return HealthMetricDTO.fromEntity(healthMetricRepository.save(metric));
+    /**
+     * 소유권 조건부 DELETE 한 번으로 처리한다. 타인의 기록은 없는 기록과 같이 404.
+     */
+    @Transactional
+    public void delete(Long userId, Long id) {
+        if (healthMetricRepository.deleteByIdAndUserId(id, userId) == 0) {
+            throw new ResourceNotFoundException("HealthMetric", id);
+        }
+        resourceVersionService.bump(ResourceVersionService.HEALTH, userId);
+        vitalSignMonitor.onRewritten(userId, null);
     }
 
     @Transactional(readOnly = true)
@@ -63,4 +82,160 @@ public class HealthMetricService {
         return healthMetricRepository.findTopByUserIdOrderByRecordDateDesc(userId)
                 .map(HealthMetricDTO::fromEntity);
     }
+
+    /**
+     * 기간 내 건강 지표를 날짜 순으로 한 번 흘려 읽으면서 지표별 배열과 주 단위 집계를 함께 만들고,
+     * 지표별로 LTTB를 적용해 points개 이하로 줄인다. 기록은 하루 최대 1건이라 주 집계는 별도 테이블 없이 매번 계산한다.
+     * 기간을 생략하면 임신 시작일(모르면 오늘로부터 280일 전)부터 오늘까지.
+     */
+    @Transactional(readOnly = true)
+    public HealthTrendDTO getTrend(Long userId, LocalDate from, LocalDate to, Integer points) {
+        Optional<LocalDate> pregnancyStart = childService.getPregnancyStart(userId);
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from
+                : pregnancyStart.orElse(end.minusDays(ChildService.PREGNANCY_DAYS - 1));
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("from은 to보다 늦을 수 없습니다.");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_TREND_DAYS) {
+            throw new IllegalArgumentException("조회 기간은 최대 " + MAX_TREND_DAYS + "일입니다.");
+        }
+        int threshold = points != null ? Math.min(Math.max(points, 3), MAX_TREND_POINTS) : DEFAULT_TREND_POINTS;
+
+        // 주 경계: 임신 시작일을 알면 임신 주차에 맞추고, 모르면 조회 시작일부터 7일 단위
+        LocalDate weekOrigin = pregnancyStart.orElse(start);
+        boolean pregnancyWeeks = pregnancyStart.isPresent();
+
+        SeriesBuffer weight = new SeriesBuffer();
+        SeriesBuffer systolic = new SeriesBuffer();
+        SeriesBuffer diastolic = new SeriesBuffer();
+        List<HealthTrendDTO.Weekly> weekly = new ArrayList<>();
+        WeekAccumulator week = null;
+        int total = 0;
+
+        try (Stream<Object[]> rows = healthMetricRepository.streamTrendRows(userId, start, end)) {
+            for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                LocalDate date = (LocalDate) row[0];
+                Double w = (Double) row[1];
+                Integer sys = (Integer) row[2];
+                Integer dia = (Integer) row[3];
+                total++;
+
+                long x = date.toEpochDay();
+                if (w != null) {
+                    weight.add(x, w);
+                }
+                if (sys != null) {
+                    systolic.add(x, sys);
+                }
+                if (dia != null) {
+                    diastolic.add(x, dia);
+                }
+
+                long weekIndex = Math.floorDiv(ChronoUnit.DAYS.between(weekOrigin, date), 7);
+                if (week == null || week.index != weekIndex) {
+                    if (week != null) {
+                        weekly.add(week.toDto(weekOrigin, pregnancyWeeks));
+                    }
+                    week = new WeekAccumulator(weekIndex);
+                }
+                week.add(w, sys, dia);
+            }
+        }
+        if (week != null) {
+            weekly.add(week.toDto(weekOrigin, pregnancyWeeks));
+        }
+
+        return HealthTrendDTO.builder()
+                .from(start)
+                .to(end)
+                .totalRecords(total)
+                .weight(weight.downsample(threshold))
+                .systolic(systolic.downsample(threshold))
+                .diastolic(diastolic.downsample(threshold))
+                .weekly(weekly)
+                .build();
+    }
+
+    /**
+     * 지표 하나의 (epochDay, 값) 배열. 하루 1건이라 기간 일수를 넘지 않는다.
+     */
+    private static class SeriesBuffer {
+        private double[] x = new double[64];
+        private double[] y = new double[64];
+        private int size;
+
+        void add(long epochDay, double value) {
+            if (size == x.length) {
+                x = Arrays.copyOf(x, size * 2);
+                y = Arrays.copyOf(y, size * 2);
+            }
+            x[size] = epochDay;
+            y[size] = value;
+            size++;
+        }
+
+        List<HealthTrendDTO.Point> downsample(int threshold) {
+            int[] picked = Lttb.select(Arrays.copyOf(x, size), Arrays.copyOf(y, size), threshold);
+            List<HealthTrendDTO.Point> result = new ArrayList<>(picked.length);
+            for (int i : picked) {
+                result.add(new HealthTrendDTO.Point(LocalDate.ofEpochDay((long) x[i]), y[i]));
+            }
+            return result;
+        }
+    }
+
+    private static class WeekAccumulator {
+        private final long index;
+        private int records;
+        private int weightCount;
+        private double weightSum;
+        private double weightMin = Double.MAX_VALUE;
+        private double weightMax = -Double.MAX_VALUE;
+        private int systolicCount;
+        private long systolicSum;
+        private int systolicMax = Integer.MIN_VALUE;
+        private int diastolicCount;
+        private long diastolicSum;
+        private int diastolicMax = Integer.MIN_VALUE;
+
+        WeekAccumulator(long index) {
+            this.index = index;
+        }
+
+        void add(Double weight, Integer systolic, Integer diastolic) {
+            records++;
+            if (weight != null) {
+                weightCount++;
+                weightSum += weight;
+                weightMin = Math.min(weightMin, weight);
+                weightMax = Math.max(weightMax, weight);
+            }
+            if (systolic != null) {
+                systolicCount++;
+                systolicSum += systolic;
+                systolicMax = Math.max(systolicMax, systolic);
+            }
+            if (diastolic != null) {
+                diastolicCount++;
+                diastolicSum += diastolic;
+                diastolicMax = Math.max(diastolicMax, diastolic);
+            }
+        }
+
+        HealthTrendDTO.Weekly toDto(LocalDate origin, boolean pregnancyWeeks) {
+            return HealthTrendDTO.Weekly.builder()
+                    .start(origin.plusWeeks(index))
+                    .pregnancyWeek(pregnancyWeeks ? (int) index + 1 : null)
+                    .records(records)
+                    .weightAvg(weightCount > 0 ? weightSum / weightCount : null)
+                    .weightMin(weightCount > 0 ? weightMin : null)
+                    .weightMax(weightCount > 0 ? weightMax : null)
+                    .systolicAvg(systolicCount > 0 ? (double) systolicSum / systolicCount : null)
+                    .systolicMax(systolicCount > 0 ? systolicMax : null)
+                    .diastolicAvg(diastolicCount > 0 ? (double) diastolicSum / diastolicCount : null)
+                    .diastolicMax(diastolicCount > 0 ? diastolicMax : null)
+                    .build();
+        }
+    }
 }
@@ -0,0 +1,432 @@
+package org.aidiary.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.aidiary.util.FileLease;
+import org.aidiary.util.LeasedFiles;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+/**
+ * 이미지 축소본(variant) 생성·디스크 캐시.
+ *
+ * 원본(내용 해시로 식별)과 요청 폭(w)을 고정 단계(64~1024px)로 올림한 값, 협상한 형식으로 키를 만들고,
+ * 처음 요청될 때 전용 풀(imageVariantExecutor)에서 축소·인코딩해 디스크에 보관한다.
+ * - 형식: 투명 픽셀이 있으면 PNG, 아니면 JPEG. Accept에 image/webp가 있고 WebP 인코더 플러그인이 있으면 WebP.
+ * - 같은 키의 동시 요청은 작업 하나를 공유하고, 제한 시간 안에 못 끝나거나 풀이 가득 차면
+ *   호출 측은 empty를 받아 원본으로 응답한다 (생성은 계속되어 다음 요청부터 축소본이 나간다).
+ * - 총 용량(maxBytes)을 넘으면 가장 오래 조회되지 않은 파일부터 지운다(LRU).
+ *   조회 결과는 사용권(Lease)으로 내주며, 응답 중인 파일은 축출돼도 사용권이 모두 반납된 뒤에 지운다.
+ * 원본이 바뀌지 않으므로 축소본도 한 번 만들면 바뀌지 않는다 → 키를 강한 ETag로 쓴다.
+ */
+@Slf4j
+@Service
+public class ImageVariantService {
+
+    private static final int[] WIDTHS = { 64, 128, 256, 512, 1024 };
+    private static final String TMP_SUFFIX = ".part";
+    private static final String PROFILE_WEBP = "webp";
+    private static final String PROFILE_STANDARD = "std";
+    private static final MediaType IMAGE_WEBP = MediaType.parseMediaType("image/webp");
+
+    /** 원본 바이트 공급자. 캐시 히트 시에는 호출되지 않는다. */
+    @FunctionalInterface
+    public interface Source {
+        byte[] read() throws IOException;
+    }
+
+    public record Variant(Path path, long size, MediaType contentType, String etag) {
+    }
+
+    /** 축소본 사용권. 응답 본문으로 file().bindToRequest()를 넘기거나, 본문을 쓰지 않으면 close()한다. */
+    public record Lease(Variant variant, FileLease file) implements AutoCloseable {
+        @Override
+        public void close() {
+            file.close();
+        }
+    }
+
+    private final Executor executor;
+
+    // accessOrder=true → 순회 순서가 곧 LRU 순서
+    private final LinkedHashMap<String, Variant> index = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<String, CompletableFuture<Variant>> inFlight = new ConcurrentHashMap<>();
+    private final LeasedFiles leasedFiles = new LeasedFiles();
+    private long totalBytes;
+
+    @Value("${image-variant.dir:${java.io.tmpdir}/aidiary-image-variants}")
+    private String cacheDir;
+
+    @Value("${image-variant.max-bytes:134217728}")
+    private long maxBytes;
+
+    @Value("${image-variant.wait-ms:3000}")
+    private long waitMs;
+
+    @Value("${image-variant.max-source-pixels:40000000}")
+    private long maxSourcePixels;
+
+    @Value("${image-variant.jpeg-quality:0.82}")
+    private float quality;
+
+    private Path root;
+    private boolean webpSupported;
+
+    public ImageVariantService(@Qualifier("imageVariantExecutor") Executor executor) {
+        this.executor = executor;
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        root = Paths.get(cacheDir);
+        Files.createDirectories(root);
+        // JDK 기본 ImageIO에는 WebP 인코더가 없다. 플러그인이 클래스패스에 있을 때만 켠다.
+        webpSupported = ImageIO.getImageWritersByMIMEType(IMAGE_WEBP.toString()).hasNext();
+
+        // 기존 파일 복원: 수정 시각 오름차순으로 넣어 LRU 순서를 근사
+        try (Stream<Path> files = Files.list(root)) {
+            List<Path> sorted = files.filter(Files::isRegularFile)
+                    .sorted(Comparator.comparingLong(this::lastModified))
+                    .toList();
+            for (Path file : sorted) {
+                String name = file.getFileName().toString();
+                int dot = name.lastIndexOf('.');
+                MediaType type = dot > 0 ? typeOf(name.substring(dot + 1)) : null;
+                if (name.endsWith(TMP_SUFFIX) || type == null) {
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                String key = name.substring(0, dot);
+                long size = Files.size(file);
+                synchronized (this) {
+                    index.put(key, new Variant(file, size, type, key));
+                    totalBytes += size;
+                }
+            }
+        }
+        synchronized (this) {
+            evictIfNeeded();
+        }
+        log.info("[ImageVariant] {}개 파일 복원 ({} bytes / 한도 {} bytes), WebP 인코더 {}",
+                index.size(), totalBytes, maxBytes, webpSupported ? "사용" : "없음");
+    }
+
+    /** 응답 형식이 Accept에 따라 달라지는지. true면 응답에 Vary: Accept를 붙여야 한다. */
+    public boolean negotiatesFormat() {
+        return webpSupported;
+    }
+
+    /**
+     * 축소본을 찾거나 만들어 사용권과 함께 돌려준다. 원본을 그대로 보내야 하는 경우(폭 미지정·최대 단계 초과,
+     * 생성 실패, 풀 포화, 제한 시간 초과, 만든 직후 축출)에는 empty.
+     *
+     * @param sourceHash 원본 내용의 SHA-256 (캐시 키)
+     * @param width      요청 폭(px). 단계 값으로 올림한다.
+     * @param accept     요청의 Accept 헤더 (null 가능)
+     */
+    public Optional<Lease> find(String sourceHash, Integer width, String accept, Source source) {
+        Integer step = step(width);
+        if (step == null || !BlobStore.isHash(sourceHash)) {
+            return Optional.empty();
+        }
+        String profile = webpSupported && accept != null && accept.contains(IMAGE_WEBP.toString())
+                ? PROFILE_WEBP : PROFILE_STANDARD;
+        String key = sourceHash + "-" + step + "-" + profile;
+
+        Lease cached = lease(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        CompletableFuture<Variant> future;
+        try {
+            future = inFlight.computeIfAbsent(key, k ->
+                    CompletableFuture.supplyAsync(() -> generate(key, step, profile, source), executor));
+        } catch (RejectedExecutionException e) {
+            log.debug("[ImageVariant] 풀 포화, 원본으로 응답: {}", key);
+            return Optional.empty();
+        }
+        future.whenComplete((v, ex) -> inFlight.remove(key, future));
+
+        try {
+            future.get(waitMs, TimeUnit.MILLISECONDS);
+            // 만든 직후 다른 축소본 저장으로 축출됐으면 이번에는 원본으로 응답한다
+            return Optional.ofNullable(lease(key));
+        } catch (TimeoutException e) {
+            log.debug("[ImageVariant] 생성 대기 시간 초과, 원본으로 응답: {}", key);
+        } catch (ExecutionException e) {
+            log.warn("[ImageVariant] 생성 실패, 원본으로 응답: {} ({})", key, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return Optional.empty();
+    }
+
+    /** 요청 폭을 단계 값으로 올림. 미지정이거나 최대 단계보다 크면 null(원본). */
+    static Integer step(Integer width) {
+        if (width == null || width <= 0) {
+            return null;
+        }
+        for (int w : WIDTHS) {
+            if (width <= w) {
+                return w;
+            }
+        }
+        return null;
+    }
+
+    /** 색인에 있으면 사용권을 얻는다. 색인 조회와 사용권 획득을 한 블록에서 해 그 사이에 지워지지 않게 한다. */
+    private synchronized Lease lease(String key) {
+        Variant cached = cached(key);
+        return cached != null ? new Lease(cached, leasedFiles.lease(cached.path(), cached.size())) : null;
+    }
+
+    private synchronized Variant cached(String key) {
+        Variant cached = index.get(key);
+        if (cached != null && Files.exists(cached.path())) {
+            return cached;
+        }
+        if (cached != null) {
+            // 외부에서 파일이 지워진 경우
+            index.remove(key);
+            totalBytes -= cached.size();
+        }
+        return null;
+    }
+
+    private Variant generate(String key, int width, String profile, Source source) {
+        Variant cached = cached(key);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            byte[] original = source.read();
+            BufferedImage decoded = decode(original);
+            BufferedImage scaled = scale(decoded, Math.min(width, decoded.getWidth()));
+            boolean transparent = hasTransparency(scaled);
+
+            String format = transparent ? "png" : PROFILE_WEBP.equals(profile) ? "webp" : "jpeg";
+            byte[] encoded = encode(scaled, format);
+            MediaType type = typeOf(format);
+            // 원본이 이미 작은 경우: 다시 인코딩한 쪽이 더 크면 원본 바이트를 그대로 축소본으로 둔다
+            String originalFormat = formatOf(original);
+            if (encoded.length >= original.length && originalFormat != null) {
+                encoded = original;
+                type = typeOf(originalFormat);
+                format = originalFormat;
+            }
+            log.debug("[ImageVariant] 생성 {}: {} → {} bytes ({})", key, original.length, encoded.length, format);
+            return store(key, extOf(format), type, encoded);
+        } catch (IOException e) {
+            throw new UncheckedIOException("축소본 생성 실패: " + key, e);
+        }
+    }
+
+    /** 디코딩 전에 헤더로 크기를 확인해 지나치게 큰 이미지로 메모리를 소진하지 않게 한다. */
+    private BufferedImage decode(byte[] bytes) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                throw new IOException("지원하지 않는 이미지 형식");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxSourcePixels) {
+                    throw new IOException("원본 픽셀 수 초과: " + pixels);
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /** 한 번에 크게 줄이면 계단 현상이 생기므로 절반씩 줄인 뒤 마지막에 목표 폭으로 맞춘다. */
+    static BufferedImage scale(BufferedImage source, int targetWidth) {
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+        BufferedImage current = source;
+        int w = source.getWidth();
+        int h = source.getHeight();
+        do {
+            w = Math.max(targetWidth, w / 2);
+            h = Math.max(targetHeight, h / 2);
+            BufferedImage next = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (w != targetWidth || h != targetHeight);
+        return current;
+    }
+
+    private static boolean hasTransparency(BufferedImage image) {
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                if ((image.getRGB(x, y) >>> 24) != 0xff) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private byte[] encode(BufferedImage image, String format) throws IOException {
+        BufferedImage output = image;
+        if (!"png".equals(format)) {
+            // JPEG는 알파 채널을 받지 않으므로 흰 배경 RGB로 옮긴다
+            output = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = output.createGraphics();
+            try {
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, image.getWidth(), image.getHeight());
+                g.drawImage(image, 0, 0, null);
+            } finally {
+                g.dispose();
+            }
+        }
+
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByMIMEType(typeOf(format).toString());
+        if (!writers.hasNext()) {
+            throw new IOException("인코더 없음: " + format);
+        }
+        ImageWriter writer = writers.next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (!"png".equals(format) && param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                String[] types = param.getCompressionTypes();
+                if (types != null && types.length > 0 && param.getCompressionType() == null) {
+                    param.setCompressionType(types[0]);
+                }
+                param.setCompressionQuality(quality);
+            }
+            writer.write(null, new IIOImage(output, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private Variant store(String key, String ext, MediaType type, byte[] body) {
+        Path target = root.resolve(key + "." + ext);
+        Path tmp = root.resolve(key + "." + Thread.currentThread().getId() + TMP_SUFFIX);
+        try {
+            Files.write(tmp, body);
+            // 같은 경로가 축출돼 삭제 대기 중이면 풀어 둔다 (이전 사용권 반납이 새 파일을 지우지 않게)
+            leasedFiles.revive(target);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException ignored) {
+                // 임시 파일 정리 실패는 다음 기동 시 init()에서 처리된다
+            }
+            throw new UncheckedIOException("축소본 저장 실패: " + key, e);
+        }
+
+        Variant variant = new Variant(target, body.length, type, key);
+        synchronized (this) {
+            Variant previous = index.put(key, variant);
+            if (previous != null) {
+                totalBytes -= previous.size();
+            }
+            totalBytes += variant.size();
+            evictIfNeeded();
+        }
+        return variant;
+    }
+
+    /**
+     * 동기화 블록 안에서만 호출. 방금 넣은(가장 최근) 항목 하나는 남긴다.
+     * 응답 중인 파일은 색인에서만 빼고, 마지막 사용권이 반납될 때 지운다.
+     */
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<String, Variant>> it = index.entrySet().iterator();
+        while (totalBytes > maxBytes && index.size() > 1) {
+            Map.Entry<String, Variant> eldest = it.next();
+            it.remove();
+            totalBytes -= eldest.getValue().size();
+            leasedFiles.retire(eldest.getValue().path());
+        }
+    }
+
+    private static String formatOf(byte[] head) {
+        if (head.length >= 8 && (head[0] & 0xff) == 0x89 && head[1] == 'P' && head[2] == 'N' && head[3] == 'G') {
+            return "png";
+        }
+        if (head.length >= 3 && (head[0] & 0xff) == 0xFF && (head[1] & 0xff) == 0xD8 && (head[2] & 0xff) == 0xFF) {
+            return "jpeg";
+        }
+        if (head.length >= 12 && head[0] == 'R' && head[1] == 'I' && head[2] == 'F' && head[3] == 'F'
+                && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P') {
+            return "webp";
+        }
+        return null;
+    }
+
+    private static String extOf(String format) {
+        return "jpeg".equals(format) ? "jpg" : format;
+    }
+
+    private static MediaType typeOf(String ext) {
+        return switch (ext) {
+            case "png" -> MediaType.IMAGE_PNG;
+            case "jpg", "jpeg" -> MediaType.IMAGE_JPEG;
+            case "webp" -> IMAGE_WEBP;
+            default -> null;
+        };
+    }
+
+    private long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+}
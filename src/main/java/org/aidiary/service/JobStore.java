@@ -0,0 +1,111 @@
+package org.aidiary.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 비동기 작업 상태 저장소 공통 구현 (메모리, TTL).
+ * 같은 입력(내용 해시)의 요청은 기존 작업 ID를 돌려주고, 완료 결과는 작업 종류별 타입 T로 보관한다.
+ */
+@Slf4j
+public abstract class JobStore<T> {
+
+    public enum Status {
+        PENDING, PROCESSING, DONE, FAILED
+    }
+
+    public record JobResult<T>(Status status, T result, String errorMessage, Instant createdAt) {
+    }
+
+    private static final long TTL_MINUTES = 10;
+
+    private final ConcurrentHashMap<String, JobResult<T>> store = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> hashToJobId = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> jobIdToHash = new ConcurrentHashMap<>();
+
+    /**
+     * 같은 입력의 작업으로 재사용할 수 있는지. 기본은 남아 있는 작업이면 재사용한다.
+     */
+    protected boolean reusable(JobResult<T> job) {
+        return true;
+    }
+
+    public synchronized String getCachedJobId(String contentHash) {
+        String existingJobId = hashToJobId.get(contentHash);
+        if (existingJobId != null) {
+            JobResult<T> existing = store.get(existingJobId);
+            if (existing != null && reusable(existing)) {
+                return existingJobId;
+            }
+            // TTL로 제거됐거나 재사용할 수 없는 작업이면 캐시도 정리
+            hashToJobId.remove(contentHash);
+            jobIdToHash.remove(existingJobId);
+        }
+        return null;
+    }
+
+    public synchronized String createJobWithHash(String contentHash) {
+        String jobId = UUID.randomUUID().toString();
+        store.put(jobId, new JobResult<>(Status.PENDING, null, null, Instant.now()));
+        hashToJobId.put(contentHash, jobId);
+        jobIdToHash.put(jobId, contentHash);
+        return jobId;
+    }
+
+    public void markProcessing(String jobId) {
+        store.put(jobId, new JobResult<>(Status.PROCESSING, null, null, createdAt(jobId)));
+    }
+
+    public void complete(String jobId, T result) {
+        var existing = store.get(jobId);
+        if (existing != null && existing.status() == Status.DONE) {
+            log.info("[Idempotency] {} job {} already DONE, skipping duplicate complete()", getClass().getSimpleName(), jobId);
+            return;
+        }
+        store.put(jobId, new JobResult<>(Status.DONE, result, null, createdAt(jobId)));
+    }
+
+    public void fail(String jobId, String errorMessage) {
+        store.put(jobId, new JobResult<>(Status.FAILED, null, errorMessage, createdAt(jobId)));
+    }
+
+    public Optional<JobResult<T>> get(String jobId) {
+        return Optional.ofNullable(store.get(jobId));
+    }
+
+    public int getJobCount() {
+        return store.size();
+    }
+
+    @Scheduled(fixedRate = 60_000)
+    public void cleanup() {
+        Instant cutoff = Instant.now().minusSeconds(TTL_MINUTES * 60);
+        int beforeSize = store.size();
+
+        store.entrySet().removeIf(entry -> {
+            boolean expired = entry.getValue().createdAt().isBefore(cutoff);
+            if (expired) {
+                String contentHash = jobIdToHash.remove(entry.getKey());
+                if (contentHash != null) {
+                    hashToJobId.remove(contentHash);
+                }
+            }
+            return expired;
+        });
+
+        int removed = beforeSize - store.size();
+        if (removed > 0) {
+            log.info("{} cleanup: {}개 만료 Job 제거 (남은 Job: {}개)", getClass().getSimpleName(), removed, store.size());
+        }
+    }
+
+    private Instant createdAt(String jobId) {
+        var existing = store.get(jobId);
+        return existing != null ? existing.createdAt() : Instant.now();
+    }
+}
@@ -0,0 +1,340 @@
+package org.aidiary.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aidiary.dto.response.FetalMovementDTO;
+import org.aidiary.dto.response.KickSessionDTO;
+import org.aidiary.exception.BusinessException;
+import org.aidiary.repository.IdSequenceRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 킥카운트 세션 엔진.
+ *
+ * 사용자별 세션(시작 → 탭 → 10회 도달 → 종료)을 메모리에 두고 횟수/최대 강도/10회 도달 시각을
+ * 원시 필드로 갱신한다. 탭은 메모리에서 바로 응답하고, 쌓인 탭은 주기적으로(또는 종료 시)
+ * fetal_movement에 JDBC batch INSERT로 반영한다. → 탭마다 사용자 조회 + INSERT가 발생하지 않는다.
+ * 세션은 시작 후 window-minutes가 지나면 자동 종료된다.
+ *
+ * 세션 상태는 인스턴스 메모리에만 있으므로 여러 인스턴스로 운영할 때는 사용자 단위 sticky 라우팅이 필요하다.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class KickCountSessionService {
+
+    private static final int GOAL = 10;
+    private static final String NOTE = "킥카운트";
+    private static final String INSERT_SQL =
+            "INSERT INTO fetal_movement (id, user_id, movement_time, intensity, notes, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ResourceVersionService resourceVersionService;
+    private final IdSequenceRepository idSequenceRepository;
+    private final FetalMovementDaySummaryCache daySummaryCache;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, Session> sessions = new ConcurrentHashMap<>();
+
+    @Value("${fetal.kick-session.window-minutes:120}")
+    private long windowMinutes;
+
+    @Value("${fetal.kick-session.retain-finished-hours:24}")
+    private long retainFinishedHours;
+
+    private static final class Session {
+        final long startedAt;
+        int count;
+        int maxIntensity;
+        long goalReachedAt = -1;
+        long finishedAt = -1;
+
+        // 아직 DB에 반영되지 않은 탭
+        long[] pendingTimes = new long[16];
+        int[] pendingIntensities = new int[16];
+        int pendingSize;
+        // 꺼내 간 뒤 저장 중인 flush 수. 0이 아니면 실패 시 탭이 되돌아올 수 있으므로 정리하지 않는다.
+        int flushing;
+        // 새 세션으로 교체되면 설정된다. 이후 되돌아오는 탭은 이쪽으로 넘긴다.
+        Session successor;
+
+        Session(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        boolean active() {
+            return finishedAt < 0;
+        }
+
+        void append(long time, int intensity) {
+            if (pendingSize == pendingTimes.length) {
+                pendingTimes = Arrays.copyOf(pendingTimes, pendingSize * 2);
+                pendingIntensities = Arrays.copyOf(pendingIntensities, pendingSize * 2);
+            }
+            pendingTimes[pendingSize] = time;
+            pendingIntensities[pendingSize] = intensity;
+            pendingSize++;
+        }
+
+        /** 저장하지 못한 탭을 이후 탭보다 앞에 되돌려 놓는다. */
+        void prepend(long[] times, int[] intensities) {
+            long[] restoredTimes = new long[Math.max(16, times.length + pendingSize)];
+            int[] restoredIntensities = new int[restoredTimes.length];
+            System.arraycopy(times, 0, restoredTimes, 0, times.length);
+            System.arraycopy(intensities, 0, restoredIntensities, 0, times.length);
+            System.arraycopy(pendingTimes, 0, restoredTimes, times.length, pendingSize);
+            System.arraycopy(pendingIntensities, 0, restoredIntensities, times.length, pendingSize);
+            pendingTimes = restoredTimes;
+            pendingIntensities = restoredIntensities;
+            pendingSize += times.length;
+        }
+    }
+
+    /**
+     * 진행 중인 세션이 있으면 그대로 돌려준다.
+     * 이전 세션을 새 세션으로 바꿀 때 저장하지 못한 탭이 남아 있으면 새 세션으로 옮겨 다음 flush에서 저장한다.
+     */
+    public KickSessionDTO start(Long userId) {
+        long now = System.currentTimeMillis();
+        Session current = sessions.get(userId);
+        if (current != null) {
+            synchronized (current) {
+                if (current.active()) {
+                    if (!expired(current, now)) {
+                        return toDto(current, now);
+                    }
+                    current.finishedAt = current.startedAt + windowMillis();
+                }
+            }
+            flush(userId, current);
+        }
+
+        Session session = sessions.compute(userId, (id, existing) ->
+                existing != null && existing != current && existing.active() ? existing : new Session(now));
+        if (current != null && session != current) {
+            carryOver(current, session);
+        }
+        synchronized (session) {
+            return toDto(session, now);
+        }
+    }
+
+    public KickSessionDTO tap(Long userId, int intensity) {
+        long now = System.currentTimeMillis();
+        Session session = sessions.get(userId);
+        if (session == null) {
+            throw noActiveSession();
+        }
+
+        synchronized (session) {
+            if (!session.active()) {
+                throw noActiveSession();
+            }
+            if (expired(session, now)) {
+                session.finishedAt = session.startedAt + windowMillis();
+                throw new BusinessException("측정 시간이 지나 세션이 종료되었습니다.", HttpStatus.CONFLICT, "KICK_SESSION_EXPIRED");
+            }
+
+            session.count++;
+            if (intensity > session.maxIntensity) {
+                session.maxIntensity = intensity;
+            }
+            if (session.count == GOAL) {
+                session.goalReachedAt = now;
+            }
+            session.append(now, intensity);
+            return toDto(session, now);
+        }
+    }
+
+    public KickSessionDTO finish(Long userId) {
+        long now = System.currentTimeMillis();
+        Session session = sessions.get(userId);
+        if (session == null) {
+            throw noActiveSession();
+        }
+
+        KickSessionDTO summary;
+        synchronized (session) {
+            if (session.active()) {
+                session.finishedAt = Math.min(now, session.startedAt + windowMillis());
+            }
+            summary = toDto(session, now);
+        }
+        flush(userId, session);
+        return summary;
+    }
+
+    /**
+     * 진행 중이거나 최근 종료된 세션 요약. 없으면 null.
+     */
+    public KickSessionDTO getSummary(Long userId) {
+        Session session = sessions.get(userId);
+        if (session == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        synchronized (session) {
+            return toDto(session, now);
+        }
+    }
+
+    /**
+     * 쌓인 탭을 DB에 반영하고, 시간이 지난 세션은 종료/정리한다.
+     */
+    @Scheduled(fixedDelayString = "${fetal.kick-session.flush-ms:2000}")
+    public void flushAll() {
+        long now = System.currentTimeMillis();
+        long retainMillis = retainFinishedHours * 3_600_000L;
+
+        sessions.forEach((userId, session) -> {
+            synchronized (session) {
+                if (session.active() && expired(session, now)) {
+                    session.finishedAt = session.startedAt + windowMillis();
+                }
+            }
+            flush(userId, session);
+            synchronized (session) {
+                if (!session.active() && session.pendingSize == 0 && session.flushing == 0
+                        && now - session.finishedAt > retainMillis) {
+                    sessions.remove(userId, session);
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sessions.forEach(this::flush);
+    }
+
+    private void flush(Long userId, Session session) {
+        long[] times;
+        int[] intensities;
+        synchronized (session) {
+            if (session.pendingSize == 0) {
+                return;
+            }
+            times = Arrays.copyOf(session.pendingTimes, session.pendingSize);
+            intensities = Arrays.copyOf(session.pendingIntensities, session.pendingSize);
+            session.pendingSize = 0;
+            session.flushing++;
+        }
+
+        try {
+            // 한 트랜잭션으로 묶어 실패 시 일부만 커밋된 채 전부 되돌려 재시도(중복 저장)되지 않게 한다.
+            // 요약 캐시 반영은 onLogged가 커밋 후로 미룬다.
+            transactionTemplate.executeWithoutResult(status -> {
+                long[] ids = idSequenceRepository.nextIds("fetal_movement_seq", times.length);
+                List<Object[]> rows = new ArrayList<>(times.length);
+                Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+                for (int i = 0; i < times.length; i++) {
+                    rows.add(new Object[] { ids[i], userId, Timestamp.valueOf(toLocal(times[i])), intensities[i], NOTE, createdAt, createdAt });
+                }
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+                for (int i = 0; i < times.length; i++) {
+                    daySummaryCache.onLogged(userId, FetalMovementDTO.builder()
+                            .id(ids[i])
+                            .movementTime(toLocal(times[i]))
+                            .intensity(intensities[i])
+                            .notes(NOTE)
+                            .createdAt(createdAt.toLocalDateTime())
+                            .build());
+                }
+            });
+            resourceVersionService.bump(ResourceVersionService.FETAL_MOVEMENT, userId);
+        } catch (Exception e) {
+            log.warn("[KickSession] userId={} 탭 {}건 저장 실패, 다음 주기에 재시도: {}", userId, times.length, e.getMessage());
+            restore(session, times, intensities);
+        } finally {
+            synchronized (session) {
+                session.flushing--;
+            }
+        }
+    }
+
+    /**
+     * 실패한 탭을 세션에 되돌린다. 그 사이 세션이 교체됐으면 가장 최근 세션에 넣는다.
+     */
+    private static void restore(Session session, long[] times, int[] intensities) {
+        Session target = session;
+        while (true) {
+            Session next;
+            synchronized (target) {
+                if (target.successor == null) {
+                    target.prepend(times, intensities);
+                    return;
+                }
+                next = target.successor;
+            }
+            target = next;
+        }
+    }
+
+    /**
+     * 교체된 세션의 미저장 탭을 새 세션으로 옮긴다. successor를 함께 설정하므로
+     * 이미 꺼내 간 탭이 나중에 실패해 되돌아와도 새 세션으로 간다.
+     */
+    private static void carryOver(Session from, Session to) {
+        long[] times;
+        int[] intensities;
+        synchronized (from) {
+            from.successor = to;
+            times = Arrays.copyOf(from.pendingTimes, from.pendingSize);
+            intensities = Arrays.copyOf(from.pendingIntensities, from.pendingSize);
+            from.pendingSize = 0;
+        }
+        if (times.length > 0) {
+            synchronized (to) {
+                to.prepend(times, intensities);
+            }
+        }
+    }
+
+    private boolean expired(Session session, long now) {
+        return now - session.startedAt > windowMillis();
+    }
+
+    private long windowMillis() {
+        return windowMinutes * 60_000L;
+    }
+
+    /** session lock 보유 상태에서만 호출 */
+    private KickSessionDTO toDto(Session session, long now) {
+        long end = session.active() ? now : session.finishedAt;
+        return KickSessionDTO.builder()
+                .active(session.active())
+                .startedAt(toLocal(session.startedAt))
+                .finishedAt(session.active() ? null : toLocal(session.finishedAt))
+                .count(session.count)
+                .maxIntensity(session.maxIntensity)
+                .goalReached(session.goalReachedAt >= 0)
+                .secondsToGoal(session.goalReachedAt >= 0 ? (session.goalReachedAt - session.startedAt) / 1000 : null)
+                .elapsedSeconds(Math.max(0, end - session.startedAt) / 1000)
+                .build();
+    }
+
+    private static LocalDateTime toLocal(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static BusinessException noActiveSession() {
+        return new BusinessException("진행 중인 킥카운트 세션이 없습니다.", HttpStatus.CONFLICT, "KICK_SESSION_NOT_STARTED");
+    }
+}
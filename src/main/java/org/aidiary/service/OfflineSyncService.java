@@ -0,0 +1,274 @@
+package org.aidiary.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aidiary.dto.request.SyncRequest;
+import org.aidiary.dto.response.SyncResultDTO;
+import org.aidiary.repository.IdSequenceRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 오프라인 기록 일괄 동기화.
+ *
+ * 클라이언트가 오프라인 동안 쌓은 태동/건강 지표를 한 번의 요청·한 트랜잭션으로 반영한다.
+ * - 태동: 클라이언트 멱등 키(user_id, client_key 유니크)로 이미 반영된 항목을 걸러 내고 나머지를 batch INSERT
+ * - 건강 지표: 반영한 멱등 키를 health_metric_sync_key에 남겨 이미 반영된 항목을 걸러 내고,
+ *   나머지는 (user_id, record_date) 기준으로 기존 행은 batch UPDATE, 없으면 batch upsert
+ *   (조회와 쓰기 사이에 온라인 저장이 끼어들어도 유니크 키 충돌 대신 덮어쓰기)
+ *   → 같은 요청을 다시 보내도(재시작 후 포함) 그 사이 온라인으로 고친 값을 옛 값으로 덮어쓰지 않는다.
+ * 결과는 요청 순서대로(태동 → 건강 지표) 항목별 상태를 돌려준다.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class OfflineSyncService {
+
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String DUPLICATE = "DUPLICATE";
+    public static final String INVALID = "INVALID";
+
+    private static final int MAX_KEY_LENGTH = 64;
+    private static final int IN_CHUNK = 500;
+
+    private static final String INSERT_MOVEMENT_SQL =
+            "INSERT INTO fetal_movement (id, user_id, movement_time, intensity, notes, client_key, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_METRIC_SQL =
+            "INSERT INTO health_metric (id, user_id, record_date, weight, systolic, diastolic, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE weight = VALUES(weight), systolic = VALUES(systolic), " +
+            "diastolic = VALUES(diastolic), updated_at = VALUES(updated_at)";
+    private static final String INSERT_METRIC_KEY_SQL =
+            "INSERT IGNORE INTO health_metric_sync_key (user_id, client_key, record_date, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?)";
+    private static final String UPDATE_METRIC_SQL =
+            "UPDATE health_metric SET weight = ?, systolic = ?, diastolic = ?, updated_at = ? " +
+            "WHERE user_id = ? AND record_date = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ResourceVersionService resourceVersionService;
+    private final IdSequenceRepository idSequenceRepository;
+    private final FetalMovementDaySummaryCache daySummaryCache;
+    private final VitalSignMonitor vitalSignMonitor;
+
+    @Value("${sync.max-items:1000}")
+    private int maxItems;
+
+    @Transactional
+    public SyncResultDTO sync(Long userId, SyncRequest request) {
+        List<SyncRequest.MovementItem> movements = request.getMovements() != null ? request.getMovements() : List.of();
+        List<SyncRequest.MetricItem> metrics = request.getMetrics() != null ? request.getMetrics() : List.of();
+        if (movements.size() + metrics.size() > maxItems) {
+            throw new IllegalArgumentException("한 번에 동기화할 수 있는 기록은 최대 " + maxItems + "건입니다.");
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<SyncResultDTO.Item> results = new ArrayList<>(movements.size() + metrics.size());
+        int created = syncMovements(userId, movements, now, results);
+        int written = syncMetrics(userId, metrics, now, results);
+
+        if (created > 0) {
+            daySummaryCache.invalidate(userId);
+            resourceVersionService.bump(ResourceVersionService.FETAL_MOVEMENT, userId);
+        }
+        if (written > 0) {
+            resourceVersionService.bump(ResourceVersionService.HEALTH, userId);
+            // 날짜가 섞여 들어오므로 통계는 다시 재생하고, 경보는 가장 최근 기록 기준으로만 낸다
+            LocalDate latest = metrics.stream()
+                    .map(SyncRequest.MetricItem::getRecordDate)
+                    .filter(Objects::nonNull)
+                    .max(LocalDate::compareTo)
+                    .orElse(null);
+            vitalSignMonitor.onRewritten(userId, latest);
+        }
+        log.info("[OfflineSync] userId={} 태동 {}/{}건, 건강 지표 {}/{}건 반영",
+                userId, created, movements.size(), written, metrics.size());
+        return new SyncResultDTO(results);
+    }
+
+    private int syncMovements(Long userId, List<SyncRequest.MovementItem> items, Timestamp now,
+            List<SyncResultDTO.Item> results) {
+        String[] statuses = new String[items.size()];
+        String[] errors = new String[items.size()];
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            SyncRequest.MovementItem item = items.get(i);
+            String error = validateKey(item.getKey());
+            if (error == null && item.getMovementTime() == null) {
+                error = "movementTime 누락";
+            }
+            if (error == null && (item.getIntensity() < 1 || item.getIntensity() > 3)) {
+                error = "intensity는 1~3";
+            }
+
+            if (error != null) {
+                statuses[i] = INVALID;
+                errors[i] = error;
+            } else if (candidates.putIfAbsent(item.getKey(), i) != null) {
+                statuses[i] = DUPLICATE;
+            }
+        }
+
+        Set<String> existing = findExisting(
+                "SELECT client_key FROM fetal_movement WHERE user_id = ? AND client_key IN ",
+                userId, new ArrayList<>(candidates.keySet()));
+
+        List<Object[]> inserts = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : candidates.entrySet()) {
+            int i = entry.getValue();
+            if (existing.contains(entry.getKey())) {
+                statuses[i] = DUPLICATE;
+                continue;
+            }
+            SyncRequest.MovementItem item = items.get(i);
+            inserts.add(new Object[] { null, userId, Timestamp.valueOf(item.getMovementTime()), item.getIntensity(),
+                    item.getNotes(), item.getKey(), now, now });
+            statuses[i] = CREATED;
+        }
+        if (!inserts.isEmpty()) {
+            assignIds("fetal_movement_seq", inserts);
+            jdbcTemplate.batchUpdate(INSERT_MOVEMENT_SQL, inserts);
+        }
+
+        for (int i = 0; i < items.size(); i++) {
+            results.add(new SyncResultDTO.Item("movement", items.get(i).getKey(), statuses[i], errors[i]));
+        }
+        return inserts.size();
+    }
+
+    private int syncMetrics(Long userId, List<SyncRequest.MetricItem> items, Timestamp now,
+            List<SyncResultDTO.Item> results) {
+        String[] statuses = new String[items.size()];
+        String[] errors = new String[items.size()];
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            SyncRequest.MetricItem item = items.get(i);
+            String error = validateKey(item.getKey());
+            if (error == null && item.getRecordDate() == null) {
+                error = "recordDate 누락";
+            }
+            if (error == null && item.getWeight() == null && item.getSystolic() == null && item.getDiastolic() == null) {
+                error = "기록할 값이 없습니다";
+            }
+
+            if (error != null) {
+                statuses[i] = INVALID;
+                errors[i] = error;
+            } else if (candidates.putIfAbsent(item.getKey(), i) != null) {
+                statuses[i] = DUPLICATE;
+            }
+        }
+
+        Set<String> syncedKeys = findExisting(
+                "SELECT client_key FROM health_metric_sync_key WHERE user_id = ? AND client_key IN ",
+                userId, new ArrayList<>(candidates.keySet()));
+
+        // 같은 날짜가 여러 번 오면 나중 항목이 최종 값 (온라인 저장과 동일하게 덮어쓰기)
+        Map<LocalDate, Integer> latestByDate = new LinkedHashMap<>();
+        List<Object[]> keyRows = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : candidates.entrySet()) {
+            int i = entry.getValue();
+            if (syncedKeys.contains(entry.getKey())) {
+                statuses[i] = DUPLICATE;
+                continue;
+            }
+            SyncRequest.MetricItem item = items.get(i);
+            latestByDate.put(item.getRecordDate(), i);
+            keyRows.add(new Object[] { userId, entry.getKey(), Date.valueOf(item.getRecordDate()), now, now });
+        }
+
+        Set<String> existingDates = findExisting(
+                "SELECT CAST(record_date AS CHAR) FROM health_metric WHERE user_id = ? AND record_date IN ",
+                userId, latestByDate.keySet().stream().map(LocalDate::toString).toList());
+
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        Map<LocalDate, String> outcomeByDate = new LinkedHashMap<>();
+        for (Map.Entry<LocalDate, Integer> entry : latestByDate.entrySet()) {
+            SyncRequest.MetricItem item = items.get(entry.getValue());
+            Date recordDate = Date.valueOf(entry.getKey());
+            if (existingDates.contains(entry.getKey().toString())) {
+                updates.add(new Object[] { item.getWeight(), item.getSystolic(), item.getDiastolic(), now, userId, recordDate });
+                outcomeByDate.put(entry.getKey(), UPDATED);
+            } else {
+                inserts.add(new Object[] { null, userId, recordDate, item.getWeight(), item.getSystolic(), item.getDiastolic(), now, now });
+                outcomeByDate.put(entry.getKey(), CREATED);
+            }
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_METRIC_SQL, updates);
+        }
+        if (!inserts.isEmpty()) {
+            assignIds("health_metric_seq", inserts);
+            jdbcTemplate.batchUpdate(INSERT_METRIC_SQL, inserts);
+        }
+        if (!keyRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_METRIC_KEY_SQL, keyRows);
+        }
+
+        for (int i = 0; i < items.size(); i++) {
+            SyncRequest.MetricItem item = items.get(i);
+            String status = statuses[i] != null ? statuses[i] : outcomeByDate.get(item.getRecordDate());
+            results.add(new SyncResultDTO.Item("metric", item.getKey(), status, errors[i]));
+        }
+        return inserts.size() + updates.size();
+    }
+
+    /**
+     * 각 행의 첫 칸(id)을 JPA와 같은 시퀀스에서 받은 ID로 채운다.
+     */
+    private void assignIds(String sequence, List<Object[]> rows) {
+        long[] ids = idSequenceRepository.nextIds(sequence, rows.size());
+        for (int i = 0; i < ids.length; i++) {
+            rows.get(i)[0] = ids[i];
+        }
+    }
+
+    /**
+     * (user_id, 값) 중 이미 저장된 값을 IN 절로 나눠 조회한다.
+     */
+    private Set<String> findExisting(String sqlPrefix, Long userId, List<String> values) {
+        if (values.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < values.size(); from += IN_CHUNK) {
+            List<String> chunk = values.subList(from, Math.min(from + IN_CHUNK, values.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            Object[] args = new Object[chunk.size() + 1];
+            args[0] = userId;
+            System.arraycopy(chunk.toArray(), 0, args, 1, chunk.size());
+            existing.addAll(jdbcTemplate.queryForList(sqlPrefix + "(" + placeholders + ")", String.class, args));
+        }
+        return existing;
+    }
+
+    private static String validateKey(String key) {
+        if (key == null || key.isBlank()) {
+            return "key 누락";
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            return "key는 최대 " + MAX_KEY_LENGTH + "자";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,149 @@
+package org.aidiary.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 사용자별·리소스별 버전 카운터와 약한 ETag.
+ *
+ * 쓰기 서비스가 커밋 후 bump()로 버전을 올리고, 읽기 엔드포인트는 DB 조회 전에
+ * 현재 버전으로 ETag를 만들어 If-None-Match와 같으면 곧바로 304를 돌려준다.
+ * 버전은 여러 인스턴스가 공유하도록 Redis에 두며, 키가 없으면 현재 시각으로 시드해
+ * Redis가 비워진 뒤에도 예전에 발급한 ETag와 겹치지 않게 한다.
+ * Redis 장애 시에는 ETag 없이 평소처럼 응답한다.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ResourceVersionService {
+
+    public static final String DIARY = "diary";
+    public static final String FETAL_MOVEMENT = "fetal-movement";
+    public static final String HEALTH = "health";
+    public static final String BENEFIT = "benefit";
+    public static final String USER = "user";
+
+    private static final String KEY_PREFIX = "ver:";
+
+    /**
+     * 키가 없으면 현재 시각으로 시드한 뒤 INCR하고 만료를 다시 건다.
+     * 시드와 INCR을 한 스크립트로 묶어, 다른 인스턴스의 INCR이 사이에 끼어 덮어써지지(버전이 되돌아가지) 않게 한다.
+     */
+    private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then redis.call('SET', KEYS[1], ARGV[1]) end\n"
+                    + "local version = redis.call('INCR', KEYS[1])\n"
+                    + "redis.call('EXPIRE', KEYS[1], ARGV[2])\n"
+                    + "return version",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${resource-version.ttl-days:30}")
+    private long ttlDays;
+
+    /**
+     * 트랜잭션 안이면 커밋 후에 올린다. → 커밋 전 데이터가 새 버전으로 캐시되지 않는다.
+     */
+    public void bump(String resource, Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(resource, userId);
+                }
+            });
+        } else {
+            increment(resource, userId);
+        }
+    }
+
+    private void increment(String resource, Long userId) {
+        String key = key(resource, userId);
+        try {
+            redisTemplate.execute(INCREMENT_SCRIPT, List.of(key),
+                    String.valueOf(System.currentTimeMillis()), String.valueOf(Duration.ofDays(ttlDays).getSeconds()));
+        } catch (Exception e) {
+            log.warn("[ResourceVersion] {} 버전 갱신 실패: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * 현재 버전의 약한 ETag. variant에는 같은 리소스라도 응답이 달라지는 요청 파라미터를 넣는다.
+     * 버전을 읽을 수 없으면 null.
+     */
+    public String etag(String resource, Long userId, String variant) {
+        String key = key(resource, userId);
+        try {
+            String version = redisTemplate.opsForValue().get(key);
+            if (version == null) {
+                String seed = String.valueOf(System.currentTimeMillis());
+                Boolean stored = redisTemplate.opsForValue().setIfAbsent(key, seed, Duration.ofDays(ttlDays));
+                version = Boolean.TRUE.equals(stored) ? seed : redisTemplate.opsForValue().get(key);
+                if (version == null) {
+                    return null;
+                }
+            }
+            return "W/\"" + resource + "-" + userId + "-" + version
+                    + (variant == null || variant.isEmpty() ? "" : "-" + variant) + "\"";
+        } catch (Exception e) {
+            log.warn("[ResourceVersion] {} 버전 조회 실패: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 조건부 GET 처리. ETag가 일치하면 body를 만들지 않고(DB 조회 없이) 304를 돌려준다.
+     * 브라우저가 매번 재검증하도록 no-cache, 공유 캐시에는 남지 않도록 private으로 내려준다.
+     */
+    public <T> ResponseEntity<T> conditional(String resource, Long userId, String variant,
+            String ifNoneMatch, Supplier<T> body) {
+        String etag = etag(resource, userId, variant);
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        if (etag == null) {
+            return ResponseEntity.ok(body.get());
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(body.get());
+    }
+
+    /**
+     * If-None-Match 헤더(쉼표 구분 목록 또는 *)가 ETag와 일치하는지. 약한 비교를 사용한다.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        String opaque = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || stripWeak(tag).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private static String key(String resource, Long userId) {
+        return KEY_PREFIX + resource + ":" + userId;
+    }
+}
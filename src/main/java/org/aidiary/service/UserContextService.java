@@ -3,14 +3,14 @@ package org.aidiary.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aidiary.entity.HealthMetric;
-import org.aidiary.repository.DiaryRepository;
 import org.aidiary.repository.HealthMetricRepository;
 import org.springframework.stereotype.Service;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.time.LocalDateTime;
+import java.time.LocalDate;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -20,8 +20,9 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class UserContextService {
 
-    private final DiaryRepository diaryRepository;
+    private final EmotionRollupService emotionRollupService;
     private final HealthMetricRepository healthMetricRepository;
+    private final VitalSignMonitor vitalSignMonitor;
 
     public record UserContext(
             int week,
@@ -31,13 +32,18 @@ public class UserContextService {
             Double latestWeight,
             Integer latestSystolic,
             Integer latestDiastolic,
+            String vitalRiskLevel,
+            String vitalRiskTrend,
+            List<String> vitalAlerts,
             String contextHash
     ) {}
 
     public UserContext buildContext(Long userId, int week) {
-        // 최근 7일 감정 라벨 조회
-        LocalDateTime sevenDaysAgo = LocalDateTime.now().minusDays(7);
-        List<String> recentEmotions = diaryRepository.findRecentEmotionsByUserId(userId, sevenDaysAgo);
+        // 최근 7일 감정 건수: 일별 집계 테이블에서 한 번에 조회
+        Map<String, Integer> emotionCounts = emotionRollupService.countsSince(userId, LocalDate.now().minusDays(7));
+        List<String> recentEmotions = emotionCounts.entrySet().stream()
+                .flatMap(e -> Collections.nCopies(e.getValue(), e.getKey()).stream())
+                .toList();
 
         // 감정 요약 생성
         String emotionSummary = summarizeEmotions(recentEmotions);
@@ -55,11 +61,17 @@ public class UserContextService {
             latestDiastolic = hm.getDiastolic();
         }
 
+        // 활력 징후 위험도: 저장 시점에 갱신된 스냅샷을 그대로 사용 (조회 시 재계산 없음)
+        var risk = vitalSignMonitor.getRisk(userId);
+        String riskLevel = risk.map(VitalSignMonitor.Risk::level).orElse(null);
+        String riskTrend = risk.map(VitalSignMonitor.Risk::trend).orElse(null);
+        List<String> alerts = risk.map(VitalSignMonitor.Risk::alerts).orElse(List.of());
+
         // 컨텍스트 해시 생성
-        String hash = generateContextHash(userId, week, recentEmotions, latestWeight, latestSystolic);
+        String hash = generateContextHash(userId, week, recentEmotions, latestWeight, latestSystolic, riskLevel);
 
         return new UserContext(week, userId, recentEmotions, emotionSummary,
-                latestWeight, latestSystolic, latestDiastolic, hash);
+                latestWeight, latestSystolic, latestDiastolic, riskLevel, riskTrend, alerts, hash);
     }
 
     private String summarizeEmotions(List<String> emotions) {
@@ -91,9 +103,9 @@ public class UserContextService {
     }
 
     private String generateContextHash(Long userId, int week, List<String> emotions,
-                                        Double weight, Integer systolic) {
+                                        Double weight, Integer systolic, String riskLevel) {
         String raw = userId + ":" + week + ":" + emotions.toString()
-                + ":" + weight + ":" + systolic;
+                + ":" + weight + ":" + systolic + ":" + riskLevel;
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
             byte[] hash = digest.digest(raw.getBytes(StandardCharsets.UTF_8));
@@ -0,0 +1,257 @@
+package org.aidiary.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * 사용자 1명분 일기 역색인.
+ *
+ * 한글은 형태소 분석 없이도 음절 bigram/trigram으로 부분 일치 검색이 잘 되므로,
+ * 제목/본문을 글자·숫자 구간으로 나눈 뒤 구간마다 2-gram, 3-gram을 색인한다.
+ * 포스팅은 term별 int[] (문서 ordinal, tf) 쌍으로 보관하고, 삭제는 BitSet 톰스톤으로 처리한 뒤
+ * 삭제 비율이 커지면 압축한다. 점수는 BM25에 질의 n-gram 커버리지를 곱한 값이다.
+ */
+final class UserDiaryIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_BOOST = 2;
+    private static final int MAX_PREFIX_EXPANSION = 200;
+
+    record Hit(long diaryId, double score) {
+    }
+
+    private static final class Postings {
+        int[] docs = new int[4];
+        int[] tfs = new int[4];
+        int size;
+
+        void add(int doc, int tf) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                tfs = Arrays.copyOf(tfs, size * 2);
+            }
+            docs[size] = doc;
+            tfs[size] = tf;
+            size++;
+        }
+    }
+
+    private Map<String, Postings> terms = new HashMap<>();
+    private long[] docIds = new long[16];
+    private int[] docLengths = new int[16];
+    private int docCount;
+    private BitSet deleted = new BitSet();
+    private final Map<Long, Integer> ordinalById = new HashMap<>();
+    private long totalLength;
+
+    synchronized void put(long diaryId, String title, String content) {
+        removeInternal(diaryId);
+
+        Map<String, Integer> tf = new HashMap<>();
+        for (int i = 0; i < TITLE_BOOST; i++) {
+            grams(title, true).forEach(g -> tf.merge(g, 1, Integer::sum));
+        }
+        grams(content, true).forEach(g -> tf.merge(g, 1, Integer::sum));
+
+        int ordinal = docCount++;
+        if (ordinal == docIds.length) {
+            docIds = Arrays.copyOf(docIds, ordinal * 2);
+            docLengths = Arrays.copyOf(docLengths, ordinal * 2);
+        }
+        int length = tf.values().stream().mapToInt(Integer::intValue).sum();
+        docIds[ordinal] = diaryId;
+        docLengths[ordinal] = length;
+        totalLength += length;
+        ordinalById.put(diaryId, ordinal);
+
+        tf.forEach((term, count) -> terms.computeIfAbsent(term, t -> new Postings()).add(ordinal, count));
+    }
+
+    synchronized void remove(long diaryId) {
+        removeInternal(diaryId);
+    }
+
+    synchronized int size() {
+        return ordinalById.size();
+    }
+
+    synchronized List<Hit> search(String query, int limit) {
+        int liveDocs = ordinalById.size();
+        if (liveDocs == 0) {
+            return List.of();
+        }
+
+        List<String> queryGrams = new ArrayList<>(new LinkedHashSet<>(grams(query, false)));
+        boolean prefixExpanded = queryGrams.isEmpty();
+        if (prefixExpanded) {
+            // 한 글자 질의: 그 글자 자체(unigram)와 그 글자로 시작하는 n-gram으로 확장
+            for (String word : words(query)) {
+                terms.keySet().stream()
+                        .filter(t -> t.startsWith(word))
+                        .limit(MAX_PREFIX_EXPANSION)
+                        .forEach(queryGrams::add);
+            }
+            if (queryGrams.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        double avgLength = Math.max(1.0, (double) totalLength / liveDocs);
+        double[] scores = new double[docCount];
+        int[] matched = new int[docCount];
+
+        for (String gram : queryGrams) {
+            Postings postings = terms.get(gram);
+            if (postings == null) {
+                continue;
+            }
+            int df = 0;
+            for (int i = 0; i < postings.size; i++) {
+                if (!deleted.get(postings.docs[i])) {
+                    df++;
+                }
+            }
+            if (df == 0) {
+                continue;
+            }
+            double idf = Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5));
+            for (int i = 0; i < postings.size; i++) {
+                int doc = postings.docs[i];
+                if (deleted.get(doc)) {
+                    continue;
+                }
+                int tf = postings.tfs[i];
+                double norm = tf * (K1 + 1) / (tf + K1 * (1 - B + B * docLengths[doc] / avgLength));
+                scores[doc] += idf * norm;
+                matched[doc]++;
+            }
+        }
+
+        // 한 글자 확장 질의는 OR, 그 외에는 질의 n-gram의 절반 이상이 일치해야 후보로 인정
+        int total = queryGrams.size();
+        int minMatched = prefixExpanded ? 1 : (total + 1) / 2;
+
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, (a, b) -> Double.compare(a.score(), b.score()));
+        for (int doc = 0; doc < docCount; doc++) {
+            if (matched[doc] < minMatched || deleted.get(doc)) {
+                continue;
+            }
+            double coverage = prefixExpanded ? 1.0 : (double) matched[doc] / total;
+            top.add(new Hit(docIds[doc], scores[doc] * coverage * coverage));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort((a, b) -> Double.compare(b.score(), a.score()));
+        return hits;
+    }
+
+    /** 수정(put)도 이전 문서를 톰스톤으로 남기므로 압축 판단은 여기서 한다. */
+    private void removeInternal(long diaryId) {
+        Integer ordinal = ordinalById.remove(diaryId);
+        if (ordinal != null) {
+            deleted.set(ordinal);
+            totalLength -= docLengths[ordinal];
+            if (docCount > 64 && deleted.cardinality() > docCount / 2) {
+                compact();
+            }
+        }
+    }
+
+    /** 톰스톤 문서를 포스팅에서 제거하고 ordinal을 다시 매긴다. */
+    private void compact() {
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            remap[doc] = deleted.get(doc) ? -1 : next++;
+        }
+
+        long[] newIds = new long[Math.max(16, next)];
+        int[] newLengths = new int[newIds.length];
+        for (int doc = 0; doc < docCount; doc++) {
+            if (remap[doc] >= 0) {
+                newIds[remap[doc]] = docIds[doc];
+                newLengths[remap[doc]] = docLengths[doc];
+                ordinalById.put(docIds[doc], remap[doc]);
+            }
+        }
+
+        Map<String, Postings> compacted = new HashMap<>(terms.size());
+        terms.forEach((term, postings) -> {
+            Postings kept = new Postings();
+            for (int i = 0; i < postings.size; i++) {
+                int mapped = remap[postings.docs[i]];
+                if (mapped >= 0) {
+                    kept.add(mapped, postings.tfs[i]);
+                }
+            }
+            if (kept.size > 0) {
+                compacted.put(term, kept);
+            }
+        });
+
+        terms = compacted;
+        docIds = newIds;
+        docLengths = newLengths;
+        docCount = next;
+        deleted = new BitSet();
+    }
+
+    /**
+     * NFC 정규화 + 소문자화 후 글자/숫자 연속 구간으로 분리.
+     */
+    static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return words;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean inWord = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (inWord && start < 0) {
+                start = i;
+            } else if (!inWord && start >= 0) {
+                words.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * 구간별 bigram + trigram.
+     * 색인 시(includeSingles)에는 한 글자 구간을 unigram으로 남겨 한 글자 질의도 찾을 수 있게 한다.
+     */
+    static List<String> grams(String text, boolean includeSingles) {
+        List<String> grams = new ArrayList<>();
+        for (String word : words(text)) {
+            if (word.length() == 1 && includeSingles) {
+                grams.add(word);
+            }
+            for (int i = 0; i + 2 <= word.length(); i++) {
+                grams.add(word.substring(i, i + 2));
+                if (i + 3 <= word.length()) {
+                    grams.add(word.substring(i, i + 3));
+                }
+            }
+        }
+        return grams;
+    }
+
+    static Set<String> queryWords(String query) {
+        return new LinkedHashSet<>(words(query));
+    }
+}
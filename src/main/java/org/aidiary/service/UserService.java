@@ -13,6 +13,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -23,6 +24,7 @@ public class UserService {
     private final UserRepository userRepository;
     private final ChildRepository childRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ResourceVersionService resourceVersionService;
 
     @Transactional
     public void updateProfile(String username, UpdateProfileDTO dto) {
@@ -33,6 +35,7 @@ public class UserService {
             user.setPhone(dto.getPhone());
         }
 
+        boolean birthdayChanged = false;
         ChildUpdateDTO childDto = dto.getChild();
         if (childDto != null) {
             Optional<Child> existingChild = childRepository.findByUser_Id(user.getId());
@@ -40,8 +43,10 @@ public class UserService {
 
             if (childDto.getChildName() != null)
                 child.setChildName(childDto.getChildName());
-            if (childDto.getChildBirthday() != null)
+            if (childDto.getChildBirthday() != null) {
+                birthdayChanged = !Objects.equals(child.getChildBirthday(), childDto.getChildBirthday());
                 child.setChildBirthday(childDto.getChildBirthday());
+            }
             if (childDto.getGptResponse() != null)
                 child.setGptResponse(childDto.getGptResponse());
 
@@ -50,6 +55,11 @@ public class UserService {
         }
 
         userRepository.save(user);
+        resourceVersionService.bump(ResourceVersionService.USER, user.getId());
+        if (birthdayChanged) {
+            // 건강 지표 추이의 기본 기간과 임신 주차가 출산 예정일에 따라 바뀐다
+            resourceVersionService.bump(ResourceVersionService.HEALTH, user.getId());
+        }
     }
 
     @Transactional
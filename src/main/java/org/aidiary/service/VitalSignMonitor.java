@@ -0,0 +1,178 @@
+package org.aidiary.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aidiary.entity.HealthRiskSnapshot;
+import org.aidiary.event.VitalSignAlertEvent;
+import org.aidiary.repository.HealthMetricRepository;
+import org.aidiary.repository.HealthRiskSnapshotRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * 건강 지표 저장 스트림에서 활력 징후(혈압 급상승, 급격한 체중 증가)를 감지한다.
+ *
+ * 저장이 커밋되면 사용자 스냅샷(VitalSignStats)을 잠그고 새 기록 하나만 O(1)로 반영한 뒤 판정 결과와 함께 저장한다.
+ * 배치로 health_metric을 다시 훑지 않으며, 조회 측은 스냅샷 행만 읽는다.
+ * 스냅샷이 없거나 마지막 기록일 이전 날짜가 저장·삭제된 경우에만 해당 사용자 기록을 날짜 순으로 다시 재생한다.
+ * 갱신은 저장과 별도 트랜잭션이라 통계 실패가 건강 지표 저장을 되돌리지 않는다.
+ */
+@Service
+@Slf4j
+public class VitalSignMonitor {
+
+    public record Risk(String level, String trend, List<String> alerts, LocalDate lastRecordDate) {
+    }
+
+    private final HealthRiskSnapshotRepository snapshotRepository;
+    private final HealthMetricRepository healthMetricRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate requiresNew;
+
+    @Value("${health.vital.bp-high-systolic:140}")
+    private int highSystolic;
+    @Value("${health.vital.bp-high-diastolic:90}")
+    private int highDiastolic;
+    @Value("${health.vital.bp-severe-systolic:160}")
+    private int severeSystolic;
+    @Value("${health.vital.bp-severe-diastolic:110}")
+    private int severeDiastolic;
+    @Value("${health.vital.spike-z:3.0}")
+    private double spikeZ;
+    @Value("${health.vital.warmup-records:5}")
+    private int warmup;
+    @Value("${health.vital.weight-weekly-gain-kg:1.0}")
+    private double weeklyGainKg;
+    @Value("${health.vital.trend-mmhg:5.0}")
+    private double trendMmHg;
+
+    public VitalSignMonitor(HealthRiskSnapshotRepository snapshotRepository,
+                            HealthMetricRepository healthMetricRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            PlatformTransactionManager transactionManager) {
+        this.snapshotRepository = snapshotRepository;
+        this.healthMetricRepository = healthMetricRepository;
+        this.eventPublisher = eventPublisher;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public void onSaved(Long userId, LocalDate recordDate, Double weight, Integer systolic, Integer diastolic) {
+        afterCommit(() -> apply(userId, recordDate, weight, systolic, diastolic, false));
+    }
+
+    /**
+     * 삭제나 대량 반영(오프라인 동기화) 후 호출. 기록을 다시 재생하며, alertDate 기록의 경보만 발행한다.
+     */
+    public void onRewritten(Long userId, LocalDate alertDate) {
+        afterCommit(() -> apply(userId, alertDate, null, null, null, true));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Risk> getRisk(Long userId) {
+        return snapshotRepository.findById(userId)
+                .map(s -> new Risk(s.getRiskLevel(), s.getRiskTrend(),
+                        s.getAlerts().isEmpty() ? List.of() : Arrays.asList(s.getAlerts().split(",")),
+                        s.getLastRecordDate()));
+    }
+
+    private void apply(Long userId, LocalDate recordDate, Double weight, Integer systolic, Integer diastolic,
+                       boolean rewritten) {
+        try {
+            requiresNew.executeWithoutResult(status ->
+                    update(userId, recordDate, weight, systolic, diastolic, rewritten));
+        } catch (Exception e) {
+            // 다음 저장 때 스냅샷 날짜가 맞지 않으면 재생으로 복구된다
+            log.warn("[VitalSign] userId={} 통계 갱신 실패: {}", userId, e.getMessage());
+        }
+    }
+
+    private void update(Long userId, LocalDate recordDate, Double weight, Integer systolic, Integer diastolic,
+                        boolean rewritten) {
+        VitalSignStats.Thresholds thresholds = thresholds();
+        HealthRiskSnapshot snapshot = snapshotRepository.findForUpdate(userId).orElse(null);
+        VitalSignStats stats = snapshot != null ? VitalSignStats.fromBytes(snapshot.getState()) : null;
+
+        List<String> alerts;
+        // 마지막 기록일 이후의 새 기록만 증분 반영. 같은 날 덮어쓰기·과거 날짜·삭제는 재생
+        if (!rewritten && stats != null && recordDate.toEpochDay() > stats.lastDay()) {
+            alerts = stats.update(recordDate.toEpochDay(), weight, systolic, diastolic, thresholds);
+        } else {
+            stats = new VitalSignStats();
+            alerts = replay(userId, stats, recordDate, thresholds);
+        }
+
+        String trend = stats.trend(thresholds);
+        String level = VitalSignStats.riskLevel(alerts, trend);
+        if (snapshot == null) {
+            snapshot = HealthRiskSnapshot.builder().userId(userId).build();
+        }
+        snapshot.setState(stats.toBytes());
+        snapshot.setLastRecordDate(stats.lastDay() == Long.MIN_VALUE ? null : LocalDate.ofEpochDay(stats.lastDay()));
+        snapshot.setRiskLevel(level);
+        snapshot.setRiskTrend(trend);
+        snapshot.setAlerts(String.join(",", alerts));
+        if (!alerts.isEmpty()) {
+            snapshot.setLastAlertAt(LocalDateTime.now());
+        }
+        snapshotRepository.save(snapshot);
+
+        if (!alerts.isEmpty()) {
+            eventPublisher.publishEvent(new VitalSignAlertEvent(userId, recordDate, alerts, level, trend,
+                    weight, systolic, diastolic));
+        }
+    }
+
+    /**
+     * 사용자 기록 전체를 날짜 순으로 반영하고 alertDate 기록에서 나온 경보를 돌려준다.
+     */
+    private List<String> replay(Long userId, VitalSignStats stats, LocalDate alertDate,
+                                VitalSignStats.Thresholds thresholds) {
+        List<String> alerts = List.of();
+        int rows = 0;
+        try (Stream<Object[]> stream = healthMetricRepository.streamAllTrendRows(userId)) {
+            for (Object[] row : (Iterable<Object[]>) stream::iterator) {
+                LocalDate date = (LocalDate) row[0];
+                List<String> rowAlerts = stats.update(date.toEpochDay(),
+                        (Double) row[1], (Integer) row[2], (Integer) row[3], thresholds);
+                if (date.equals(alertDate)) {
+                    alerts = rowAlerts;
+                }
+                rows++;
+            }
+        }
+        log.debug("[VitalSign] userId={} 기록 {}건 재생", userId, rows);
+        return alerts;
+    }
+
+    private VitalSignStats.Thresholds thresholds() {
+        return new VitalSignStats.Thresholds(highSystolic, highDiastolic, severeSystolic, severeDiastolic,
+                spikeZ, warmup, weeklyGainKg, trendMmHg);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package org.aidiary.service;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 사용자 1명분 활력 징후 증분 통계.
+ *
+ * 수축기/이완기 혈압, 체중 지표마다 EWMA 평균·분산(느린 α)과 빠른 EWMA, 직전 값을 원시 필드로만 들고,
+ * 기록이 하나 들어올 때마다 O(1)로 갱신한다. 경보는 갱신 직전 통계와 비교해 판정한다.
+ * - BP_SEVERE / BP_HIGH: 절대 기준 (기본 160/110, 140/90 mmHg)
+ * - BP_SPIKE: 평소 대비 z-score 초과 (기록이 warmup건 이상 쌓인 뒤)
+ * - WEIGHT_JUMP: 직전 기록 대비 주당 증가량 초과 (급격한 부종 신호)
+ * 추세는 혈압의 빠른 EWMA와 느린 EWMA 차이로 본다. 상태는 toBytes()로 141바이트 스냅샷이 된다.
+ */
+final class VitalSignStats {
+
+    static final String BP_SEVERE = "BP_SEVERE";
+    static final String BP_HIGH = "BP_HIGH";
+    static final String BP_SPIKE = "BP_SPIKE";
+    static final String WEIGHT_JUMP = "WEIGHT_JUMP";
+
+    static final String RISK_HIGH = "HIGH";
+    static final String RISK_WATCH = "WATCH";
+    static final String RISK_NORMAL = "NORMAL";
+
+    static final String TREND_RISING = "RISING";
+    static final String TREND_FALLING = "FALLING";
+    static final String TREND_STABLE = "STABLE";
+
+    private static final byte VERSION = 1;
+    private static final int SNAPSHOT_BYTES = 1 + 8 + 3 * (4 + 8 * 5);
+    private static final double SLOW_ALPHA = 0.2;
+    private static final double FAST_ALPHA = 0.5;
+    private static final double BP_STD_FLOOR = 3.0;
+    // 하루 이틀 간격의 체중 측정 오차가 주당 증가량으로 부풀려지지 않도록 최소 간격을 둔다
+    private static final int MIN_WEIGHT_SPAN_DAYS = 3;
+    private static final int MAX_WEIGHT_SPAN_DAYS = 14;
+
+    record Thresholds(int highSystolic, int highDiastolic, int severeSystolic, int severeDiastolic,
+                      double zScore, int warmup, double weeklyGainKg, double trendMmHg) {
+    }
+
+    private static final class Series {
+        int count;
+        double mean;
+        double variance;
+        double fast;
+        double last;
+        long lastDay;
+
+        /** 갱신 전 통계 기준 z-score. 표본이 부족하면 0. */
+        double zScore(double value, int warmup, double stdFloor) {
+            if (count < warmup) {
+                return 0;
+            }
+            return (value - mean) / Math.max(Math.sqrt(variance), stdFloor);
+        }
+
+        void add(double value, long day) {
+            if (count == 0) {
+                mean = value;
+                fast = value;
+                variance = 0;
+            } else {
+                double diff = value - mean;
+                double increment = SLOW_ALPHA * diff;
+                mean += increment;
+                variance = (1 - SLOW_ALPHA) * (variance + diff * increment);
+                fast += FAST_ALPHA * (value - fast);
+            }
+            last = value;
+            lastDay = day;
+            count++;
+        }
+    }
+
+    private final Series systolic = new Series();
+    private final Series diastolic = new Series();
+    private final Series weight = new Series();
+    private long lastDay = Long.MIN_VALUE;
+
+    /**
+     * 기록 하나를 반영하고 이 기록으로 발생한 경보 코드를 돌려준다.
+     * 날짜 순서로만 호출해야 한다 (과거 날짜 수정은 호출 측에서 다시 재생).
+     */
+    List<String> update(long epochDay, Double weightKg, Integer systolicMmHg, Integer diastolicMmHg, Thresholds t) {
+        List<String> alerts = new ArrayList<>(2);
+
+        if (systolicMmHg != null || diastolicMmHg != null) {
+            int sys = systolicMmHg != null ? systolicMmHg : 0;
+            int dia = diastolicMmHg != null ? diastolicMmHg : 0;
+            if (sys >= t.severeSystolic() || dia >= t.severeDiastolic()) {
+                alerts.add(BP_SEVERE);
+            } else if (sys >= t.highSystolic() || dia >= t.highDiastolic()) {
+                alerts.add(BP_HIGH);
+            }
+            boolean spike = (systolicMmHg != null && systolic.zScore(sys, t.warmup(), BP_STD_FLOOR) >= t.zScore())
+                    || (diastolicMmHg != null && diastolic.zScore(dia, t.warmup(), BP_STD_FLOOR) >= t.zScore());
+            if (spike) {
+                alerts.add(BP_SPIKE);
+            }
+        }
+
+        if (weightKg != null && weight.count > 0) {
+            long days = epochDay - weight.lastDay;
+            if (days > 0 && days <= MAX_WEIGHT_SPAN_DAYS) {
+                double perWeek = (weightKg - weight.last) * 7 / Math.max(days, MIN_WEIGHT_SPAN_DAYS);
+                if (perWeek >= t.weeklyGainKg()) {
+                    alerts.add(WEIGHT_JUMP);
+                }
+            }
+        }
+
+        if (systolicMmHg != null) {
+            systolic.add(systolicMmHg, epochDay);
+        }
+        if (diastolicMmHg != null) {
+            diastolic.add(diastolicMmHg, epochDay);
+        }
+        if (weightKg != null) {
+            weight.add(weightKg, epochDay);
+        }
+        lastDay = Math.max(lastDay, epochDay);
+        return alerts;
+    }
+
+    /** 마지막으로 반영한 기록 날짜 (epochDay). 아직 없으면 Long.MIN_VALUE. */
+    long lastDay() {
+        return lastDay;
+    }
+
+    String trend(Thresholds t) {
+        if (systolic.count < 2) {
+            return TREND_STABLE;
+        }
+        double delta = systolic.fast - systolic.mean;
+        if (delta >= t.trendMmHg()) {
+            return TREND_RISING;
+        }
+        if (delta <= -t.trendMmHg()) {
+            return TREND_FALLING;
+        }
+        return TREND_STABLE;
+    }
+
+    static String riskLevel(List<String> alerts, String trend) {
+        if (alerts.contains(BP_SEVERE) || alerts.contains(BP_HIGH)) {
+            return RISK_HIGH;
+        }
+        if (!alerts.isEmpty() || TREND_RISING.equals(trend)) {
+            return RISK_WATCH;
+        }
+        return RISK_NORMAL;
+    }
+
+    byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(SNAPSHOT_BYTES);
+        buffer.put(VERSION);
+        buffer.putLong(lastDay);
+        for (Series s : new Series[] { systolic, diastolic, weight }) {
+            buffer.putInt(s.count);
+            buffer.putDouble(s.mean);
+            buffer.putDouble(s.variance);
+            buffer.putDouble(s.fast);
+            buffer.putDouble(s.last);
+            buffer.putLong(s.lastDay);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * 스냅샷 복원. 형식이 다르면 null → 호출 측에서 기록을 다시 재생한다.
+     */
+    static VitalSignStats fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != SNAPSHOT_BYTES || bytes[0] != VERSION) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+        VitalSignStats stats = new VitalSignStats();
+        stats.lastDay = buffer.getLong();
+        for (Series s : new Series[] { stats.systolic, stats.diastolic, stats.weight }) {
+            s.count = buffer.getInt();
+            s.mean = buffer.getDouble();
+            s.variance = buffer.getDouble();
+            s.fast = buffer.getDouble();
+            s.last = buffer.getDouble();
+            s.lastDay = buffer.getLong();
+        }
+        return stats;
+    }
+}
@@ -8,9 +8,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.aidiary.dto.response.PregnancyWeekDTO;
 import org.aidiary.entity.PersonalizedWeekContent;
 import org.aidiary.repository.PersonalizedWeekContentRepository;
+import org.aidiary.service.FlaskGateway;
 import org.aidiary.service.PregnancyWeekCacheService;
 import org.aidiary.service.UserContextService.UserContext;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.data.redis.core.StringRedisTemplate;
@@ -19,7 +19,6 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.time.Duration;
 import java.util.HashMap;
@@ -52,14 +51,11 @@ public class CachingPregnancyWeekService implements PregnancyWeekCacheService {
             .build();
 
     private final StringRedisTemplate redisTemplate;
-    private final RestTemplate restTemplate;
+    private final FlaskGateway flaskGateway;
     private final ObjectMapper objectMapper;
     private final PersonalizedWeekContentRepository personalizedContentRepository;
     private final Random random = new Random();
 
-    @Value("${api.flask.url}")
-    private String flaskApiUrl;
-
     @Override
     public PregnancyWeekDTO getPersonalizedWeekContent(UserContext ctx) {
         int week = ctx.week();
@@ -147,8 +143,8 @@ public class CachingPregnancyWeekService implements PregnancyWeekCacheService {
 
         // Flask GET (기존 방식)
         log.info("[MISS/FALLBACK] Flask API 호출: week={}", week);
-        String url = flaskApiUrl + "/api/pregnancy/week-content?week=" + week;
-        PregnancyWeekDTO dto = restTemplate.getForObject(url, PregnancyWeekDTO.class);
+        PregnancyWeekDTO dto = flaskGateway.getHedged("/api/pregnancy/week-content?week=" + week,
+                PregnancyWeekDTO.class);
 
         if (dto != null) {
             try {
@@ -166,7 +162,6 @@ public class CachingPregnancyWeekService implements PregnancyWeekCacheService {
     }
 
     private PregnancyWeekDTO callFlaskWithContext(int week, UserContext ctx) {
-        String url = flaskApiUrl + "/api/pregnancy/week-content";
 
         Map<String, Object> body = new HashMap<>();
         body.put("week", week);
@@ -179,12 +174,18 @@ public class CachingPregnancyWeekService implements PregnancyWeekCacheService {
         if (ctx.latestSystolic() != null && ctx.latestDiastolic() != null) {
             context.put("bloodPressure", ctx.latestSystolic() + "/" + ctx.latestDiastolic());
         }
+        if (ctx.vitalRiskLevel() != null) {
+            context.put("vitalRisk", ctx.vitalRiskLevel());
+            context.put("vitalTrend", ctx.vitalRiskTrend());
+            context.put("vitalAlerts", ctx.vitalAlerts());
+        }
         body.put("context", context);
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
 
-        return restTemplate.postForObject(url, new HttpEntity<>(body, headers), PregnancyWeekDTO.class);
+        return flaskGateway.post("/api/pregnancy/week-content", new HttpEntity<>(body, headers),
+                PregnancyWeekDTO.class);
     }
 
     private void populateCache(String cacheKey, String redisKey, PregnancyWeekDTO dto) {
@@ -5,12 +5,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.aidiary.dto.request.ChatRequest;
 import org.aidiary.dto.response.ChatResponse;
 import org.aidiary.service.ChatService;
-import org.springframework.beans.factory.annotation.Value;
+import org.aidiary.service.ConversationMemoryService;
+import org.aidiary.service.FlaskGateway;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -20,25 +20,23 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class FlaskChatService implements ChatService {
 
-    @Value("${api.flask.url}")
-    private String flaskApiUrl;
-
-    private final RestTemplate restTemplate;
+    private final FlaskGateway flaskGateway;
+    private final ConversationMemoryService conversationMemoryService;
 
     @Override
-    public ChatResponse generateCharacterResponse(ChatRequest request, String personality, String childName,
-            int weeks, String userName, String recentDiary) {
+    public ChatResponse generateCharacterResponse(Long userId, ChatRequest request, String personality,
+            String childName, int weeks, String userName, String recentDiary) {
         try {
-            String url = flaskApiUrl + "/api/openai";
-
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
 
             Map<String, Object> body = new HashMap<>();
             String fullPrompt = request.getMessage();
 
-            if (request.getContext() != null && !request.getContext().isEmpty()) {
-                fullPrompt = "이전 대화 맥락: " + request.getContext() + "\n\n" + request.getMessage();
+            // 이전 대화 맥락은 서버에 저장된 기록에서 토큰 예산만큼만 가져온다 (클라이언트 context는 무시)
+            String history = conversationMemoryService.buildContext(userId);
+            if (history != null) {
+                fullPrompt = "이전 대화 맥락: " + history + "\n\n" + request.getMessage();
             }
 
             body.put("prompt", fullPrompt);
@@ -53,10 +51,11 @@ public class FlaskChatService implements ChatService {
             body.put("context", context);
 
             HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body, headers);
-            Map response = restTemplate.postForObject(url, entity, Map.class);
+            Map response = flaskGateway.post("/api/openai", entity, Map.class);
 
             if (response != null && response.containsKey("response")) {
                 String aiResponse = (String) response.get("response");
+                conversationMemoryService.append(userId, request.getMessage(), aiResponse);
 
                 return ChatResponse.success(aiResponse);
             } else {
@@ -69,4 +68,9 @@ public class FlaskChatService implements ChatService {
             return ChatResponse.error("AI 서버 통신 오류: " + e.getMessage());
         }
     }
+
+    @Override
+    public void clearHistory(Long userId) {
+        conversationMemoryService.clear(userId);
+    }
 }
@@ -2,18 +2,29 @@ package org.aidiary.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.aidiary.service.AiResultCache;
 import org.aidiary.service.DiaryAiService;
+import org.aidiary.service.EmotionAnalysisBatcher;
+import org.aidiary.service.FlaskGateway;
+import org.aidiary.util.ContentHashUtil;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.http.*;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
 
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 @Slf4j
@@ -22,90 +33,176 @@ public class FlaskDiaryAiService implements DiaryAiService {
 
     private static final String DAILY_QUESTION_KEY_PREFIX = "daily_question:";
 
-    @Value("${api.flask.url}")
-    private String flaskApiUrl;
-
-    private final RestTemplate restTemplate;
+    private final FlaskGateway flaskGateway;
     private final RedisTemplate<String, Object> redisTemplate;
+    private final EmotionAnalysisBatcher emotionAnalysisBatcher;
+    private final AiResultCache aiResultCache;
 
-    @Override
-    @SuppressWarnings("unchecked")
-    public Map<String, String> getDailyQuestion() {
-        String cacheKey = DAILY_QUESTION_KEY_PREFIX + LocalDate.now();
+    @Value("${diary-ai.emotion.batch.timeout-ms:60000}")
+    private long emotionTimeoutMs;
 
-        Object cached = redisTemplate.opsForValue().get(cacheKey);
-        if (cached instanceof Map) {
-            return (Map<String, String>) cached;
-        }
-
-        String url = flaskApiUrl + "/api/daily-question";
-        Map<String, String> response = restTemplate.getForObject(url, Map.class);
+    @Value("${diary-ai.daily-question.retry-ms:60000}")
+    private long dailyQuestionRetryMs;
 
-        LocalDateTime midnight = LocalDate.now().plusDays(1).atStartOfDay();
-        long ttlSeconds = Duration.between(LocalDateTime.now(), midnight).getSeconds();
-        redisTemplate.opsForValue().set(cacheKey, response, Duration.ofSeconds(ttlSeconds));
-
-        return response;
+    private record CachedQuestion(LocalDate date, Map<String, String> question) {
     }
 
+    private final Object dailyQuestionLock = new Object();
+    private volatile CachedQuestion todayQuestion;
+    private volatile CachedQuestion prefetchedQuestion;
+    // 갱신 실패 후 이 시각(epoch ms) 전까지는 다시 시도하지 않고 이전 질문을 돌려준다
+    private volatile long dailyQuestionRetryAt;
+
+    /**
+     * 오늘의 질문은 하루 동안 모든 사용자에게 같으므로 날짜 단위로 프로세스 메모리에 들고 있는다.
+     * 날짜가 바뀌면 한 스레드만 Redis/Flask에서 다시 읽고(single-flight) 나머지는 그 결과를 기다린다.
+     * 갱신에 실패하면 retry-ms 동안은 잠금 없이 이전 질문을 stale로 돌려주고, 그 뒤 한 스레드가 다시 시도한다.
+     */
     @Override
-    @SuppressWarnings("unchecked")
-    public Map<String, Object> analyzeDiaryEmotion(String prompt) {
-        String url = flaskApiUrl + "/api/openai";
-        log.info("Requesting emotion analysis from Flask: {}", url);
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
+    public DailyQuestion getDailyQuestion() {
+        LocalDate today = LocalDate.now();
+        CachedQuestion current = todayQuestion;
+        if (current != null && current.date().equals(today)) {
+            return new DailyQuestion(current.question(), false);
+        }
+        if (current != null && System.currentTimeMillis() < dailyQuestionRetryAt) {
+            return new DailyQuestion(current.question(), true);
+        }
 
-        Map<String, Object> body = new HashMap<>();
-        body.put("prompt", prompt);
+        synchronized (dailyQuestionLock) {
+            current = todayQuestion;
+            if (current != null && current.date().equals(today)) {
+                return new DailyQuestion(current.question(), false);
+            }
+            if (current != null && System.currentTimeMillis() < dailyQuestionRetryAt) {
+                return new DailyQuestion(current.question(), true);
+            }
+
+            CachedQuestion prefetched = prefetchedQuestion;
+            if (prefetched != null && prefetched.date().equals(today)) {
+                todayQuestion = prefetched;
+                prefetchedQuestion = null;
+                return new DailyQuestion(prefetched.question(), false);
+            }
+
+            try {
+                CachedQuestion loaded = new CachedQuestion(today, loadDailyQuestion(today));
+                todayQuestion = loaded;
+                dailyQuestionRetryAt = 0L;
+                return new DailyQuestion(loaded.question(), false);
+            } catch (RuntimeException e) {
+                if (current != null) {
+                    dailyQuestionRetryAt = System.currentTimeMillis() + dailyQuestionRetryMs;
+                    log.warn("오늘의 질문 갱신 실패, {}ms 동안 이전 질문 유지: {}", dailyQuestionRetryMs, e.getMessage());
+                    return new DailyQuestion(current.question(), true);
+                }
+                throw e;
+            }
+        }
+    }
 
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body, headers);
-        Map<String, Object> response = restTemplate.postForObject(url, entity, Map.class);
-        return response;
+    /**
+     * 자정 직전에 다음 날 질문을 미리 받아 둔다. → 자정 직후 첫 요청도 Flask를 기다리지 않는다.
+     */
+    @Scheduled(cron = "${diary-ai.daily-question.prefetch-cron:0 55 23 * * *}")
+    public void prefetchTomorrowQuestion() {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        try {
+            prefetchedQuestion = new CachedQuestion(tomorrow, loadDailyQuestion(tomorrow));
+            log.info("내일({}) 질문 미리 로딩 완료", tomorrow);
+        } catch (Exception e) {
+            log.warn("내일 질문 미리 로딩 실패 (자정 이후 요청 시 다시 시도): {}", e.getMessage());
+        }
     }
 
-    @Override
     @SuppressWarnings("unchecked")
-    public Map<String, Object> generateDiaryDrawing(String diaryText) {
-        String url = flaskApiUrl + "/api/diary-drawing";
-        log.info("Requesting diary drawing from Flask: {}", url);
+    private Map<String, String> loadDailyQuestion(LocalDate date) {
+        String cacheKey = DAILY_QUESTION_KEY_PREFIX + date;
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
+        Object cached = redisTemplate.opsForValue().get(cacheKey);
+        if (cached instanceof Map) {
+            return Collections.unmodifiableMap((Map<String, String>) cached);
+        }
 
-        Map<String, Object> body = new HashMap<>();
-        body.put("diary_text", diaryText);
+        // 멱등 조회이므로 느린 레플리카에 걸리면 다른 레플리카로 hedge
+        Map<String, String> response = flaskGateway.getHedged("/api/daily-question", Map.class);
+        if (response == null) {
+            throw new IllegalStateException("오늘의 질문 응답이 비어 있습니다.");
+        }
 
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body, headers);
+        // 여러 인스턴스가 동시에 생성해도 먼저 저장된 질문 하나로 수렴시킨다
+        LocalDateTime expiresAt = date.plusDays(1).atStartOfDay();
+        long ttlSeconds = Math.max(1, Duration.between(LocalDateTime.now(), expiresAt).getSeconds());
+        Boolean stored = redisTemplate.opsForValue().setIfAbsent(cacheKey, response, Duration.ofSeconds(ttlSeconds));
+        if (!Boolean.TRUE.equals(stored)) {
+            Object winner = redisTemplate.opsForValue().get(cacheKey);
+            if (winner instanceof Map) {
+                return Collections.unmodifiableMap((Map<String, String>) winner);
+            }
+        }
+        return Collections.unmodifiableMap(response);
+    }
 
-        Map<String, Object> response = restTemplate.postForObject(url, entity, Map.class);
-        return response;
+    @Override
+    public Map<String, Object> analyzeDiaryEmotion(String prompt) {
+        // 개별 HTTP 호출 대신 마이크로배처에 적재 → 다른 요청과 묶여 한 번에 전송된다
+        try {
+            return emotionAnalysisBatcher.submit(prompt).get(emotionTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("감정 분석 대기 중 인터럽트", e);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("감정 분석 응답 시간 초과", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException("감정 분석 실패", e.getCause());
+        }
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public Map<String, Object> getFaceLandmarks(String base64Image) {
-        String url = flaskApiUrl + "/api/face-landmarks";
-        log.info("Requesting face landmarks from Flask: {}", url);
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-
-        Map<String, Object> body = new HashMap<>();
-        body.put("image", base64Image);
+        // data URL 접두사 제거 후 디코딩 → 바이너리 업로드와 같은 캐시 키를 공유
+        String data = base64Image.contains(",") ? base64Image.substring(base64Image.indexOf(',') + 1) : base64Image;
+        byte[] imageBytes;
+        try {
+            imageBytes = Base64.getMimeDecoder().decode(data);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("이미지 base64 형식이 올바르지 않습니다.");
+        }
+        return getFaceLandmarks(imageBytes);
+    }
 
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body, headers);
-        return restTemplate.postForObject(url, entity, Map.class);
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> getFaceLandmarks(byte[] imageBytes) {
+        String digest = ContentHashUtil.calculateHash(imageBytes);
+        return aiResultCache.getOrCompute("face-landmarks", digest, () -> {
+            String path = "/api/face-landmarks";
+            log.info("Requesting face landmarks from Flask: {} ({} bytes)", path, imageBytes.length);
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+
+            MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+            body.add("image", new ByteArrayResource(imageBytes) {
+                @Override
+                public String getFilename() {
+                    return "image.png";
+                }
+            });
+
+            HttpEntity<MultiValueMap<String, Object>> entity = new HttpEntity<>(body, headers);
+            return flaskGateway.post(path, entity, Map.class);
+        });
     }
 
     @Override
     public ResponseEntity<byte[]> getGeneratedImage(String filename) {
-        String url = flaskApiUrl + "/api/images/" + filename;
-        log.info("Fetching generated image from Flask: {}", url);
+        String path = "/api/images/" + filename;
+        log.info("Fetching generated image from Flask: {}", path);
 
-        ResponseEntity<byte[]> response = restTemplate.exchange(
-                url, HttpMethod.GET, null, byte[].class);
-        return response;
+        return flaskGateway.exchange(path, HttpMethod.GET, null, byte[].class);
     }
 }
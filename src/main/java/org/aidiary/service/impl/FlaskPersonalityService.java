@@ -2,13 +2,13 @@ package org.aidiary.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.aidiary.service.AiResultCache;
+import org.aidiary.service.FlaskGateway;
 import org.aidiary.service.PersonalityService;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.Map;
 
@@ -17,30 +17,32 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class FlaskPersonalityService implements PersonalityService {
 
-    @Value("${api.flask.url}")
-    private String flaskApiUrl;
-
-    private final RestTemplate restTemplate;
+    private final FlaskGateway flaskGateway;
+    private final AiResultCache aiResultCache;
 
     @Override
     public Map<String, Object> chat(Map<String, Object> payload) {
-        String url = flaskApiUrl + "/api/personality-chat";
-        log.info("Requesting personality chat from Flask API: {}", url);
-        return callFlask(url, payload);
+        String path = "/api/personality-chat";
+        log.info("Requesting personality chat from Flask API: {}", path);
+        return callFlask(path, payload);
     }
 
     @Override
     public Map<String, Object> synthesize(Map<String, Object> payload) {
-        String url = flaskApiUrl + "/api/personality-synthesize";
-        log.info("Requesting personality synthesize from Flask API: {}", url);
-        return callFlask(url, payload);
+        // 같은 답변 조합이면 합성 결과도 같으므로 다이제스트 기준으로 재사용
+        String digest = aiResultCache.digestOf(payload);
+        return aiResultCache.getOrCompute("personality-synthesize", digest, () -> {
+            String path = "/api/personality-synthesize";
+            log.info("Requesting personality synthesize from Flask API: {}", path);
+            return callFlask(path, payload);
+        });
     }
 
     @SuppressWarnings("unchecked")
-    private Map<String, Object> callFlask(String url, Map<String, Object> payload) {
+    private Map<String, Object> callFlask(String path, Map<String, Object> payload) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         HttpEntity<Map<String, Object>> entity = new HttpEntity<>(payload, headers);
-        return restTemplate.postForObject(url, entity, Map.class);
+        return flaskGateway.post(path, entity, Map.class);
     }
 }
@@ -0,0 +1,70 @@
+package org.aidiary.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aidiary.config.RabbitMQConfig;
+import org.aidiary.dto.DrawingJobMessage;
+import org.aidiary.exception.BusinessException;
+import org.aidiary.service.DrawingJobStore;
+import org.aidiary.service.DrawingService;
+import org.aidiary.util.ContentHashUtil;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.Properties;
+
+/**
+ * 그림일기 생성(수십 초 소요)을 요청 스레드에서 분리한다.
+ * 큐 적재 전에 대기 건수를 확인해 한도를 넘으면 429로 즉시 거절한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class QueueDrawingService implements DrawingService {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final RabbitAdmin rabbitAdmin;
+    private final DrawingJobStore drawingJobStore;
+
+    @Value("${diary-ai.drawing.queue-limit:50}")
+    private int queueLimit;
+
+    @Override
+    public String submit(String diaryText) {
+        String contentHash = ContentHashUtil.calculateHash(diaryText);
+        String existingJobId = drawingJobStore.getCachedJobId(contentHash);
+        if (existingJobId != null) {
+            log.info("🎯 Cache Hit! 동일 일기 본문 요청, 기존 그림 작업 ID 반환: {}", existingJobId);
+            return existingJobId;
+        }
+
+        Properties queueProperties = rabbitAdmin.getQueueProperties(RabbitMQConfig.DRAWING_QUEUE);
+        if (queueProperties != null) {
+            Object msgCountObj = queueProperties.get(RabbitAdmin.QUEUE_MESSAGE_COUNT);
+            if (msgCountObj instanceof Integer count && count >= queueLimit) {
+                log.warn("그림일기 큐 포화 ({}건), 요청 거절", count);
+                throw new BusinessException("현재 이용자가 많아 그림 생성이 지연되고 있습니다. 잠시 후 다시 시도해 주세요.",
+                        HttpStatus.TOO_MANY_REQUESTS, "DRAWING_QUEUE_FULL");
+            }
+        }
+
+        String jobId = drawingJobStore.createJobWithHash(contentHash);
+        try {
+            rabbitTemplate.convertAndSend(
+                    RabbitMQConfig.IMAGE_EXCHANGE,
+                    RabbitMQConfig.DRAWING_ROUTING_KEY,
+                    new DrawingJobMessage(jobId, diaryText));
+        } catch (AmqpException e) {
+            log.error("그림일기 작업 {} 큐 적재 실패: {}", jobId, e.getMessage());
+            drawingJobStore.fail(jobId, "작업 큐 적재 실패");
+            throw new BusinessException("그림 생성 요청을 접수하지 못했습니다. 잠시 후 다시 시도해 주세요.",
+                    HttpStatus.SERVICE_UNAVAILABLE, "DRAWING_QUEUE_UNAVAILABLE");
+        }
+        log.info("Drawing job {} queued", jobId);
+        return jobId;
+    }
+}
@@ -0,0 +1,62 @@
+package org.aidiary.util;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 디스크 캐시 파일 사용권.
+ *
+ * 캐시는 사용권이 남아 있는 파일을 축출해도 바로 지우지 않고, 마지막 사용권이 반납될 때 지운다.
+ * → 응답을 쓰는 도중 다른 요청의 축출로 파일이 사라지지 않는다.
+ * 응답 본문으로 내보낼 때는 bindToRequest()로 받은 Resource를 넘기며, 사용권은 요청 처리가 끝날 때 반납된다.
+ * (Range 요청은 파일을 여러 번 열거나 아예 열지 않을 수 있어 스트림 닫힘에 묶지 않는다)
+ * 본문을 쓰지 않는 경우(304 등)에는 close()로 직접 반납해야 한다. 반납은 한 번만 처리된다.
+ */
+public final class FileLease implements AutoCloseable {
+
+    // 완료 콜백 이름은 요청 안에서 유일해야 한다 (같은 이름이면 앞 콜백을 덮어쓴다)
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final Path path;
+    private final long size;
+    private final Runnable onRelease;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    public FileLease(Path path, long size, Runnable onRelease) {
+        this.path = path;
+        this.size = size;
+        this.onRelease = onRelease;
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * 응답 본문용 Resource. 반납을 현재 요청의 완료 콜백에 등록하므로 전송 성공·중단·416 등 어느 경우든
+     * 요청이 끝나면 반납된다. 요청 밖에서 호출하면 IllegalStateException.
+     */
+    public Resource bindToRequest() {
+        RequestAttributes request = RequestContextHolder.currentRequestAttributes();
+        request.registerDestructionCallback(FileLease.class.getName() + "#" + SEQUENCE.incrementAndGet(),
+                this::close, RequestAttributes.SCOPE_REQUEST);
+        return new FileSystemResource(path);
+    }
+
+    @Override
+    public void close() {
+        if (released.compareAndSet(false, true)) {
+            onRelease.run();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.aidiary.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 디스크 캐시의 경로별 사용권 수와 지연 삭제 대상.
+ *
+ * 축출된 파일은 사용권이 남아 있으면 삭제 대기로 두고, 같은 경로의 마지막 사용권이 반납될 때 지운다.
+ * 같은 경로에 새 파일을 쓰기 전에는 revive()로 삭제 대기를 풀어, 이전 사용권 반납이 새 파일을 지우지 않게 한다.
+ * 사용권은 경로 단위로 세므로 축출 전후의 항목이 같은 경로를 공유해도 안전하다.
+ */
+@Slf4j
+public final class LeasedFiles {
+
+    private final Map<Path, Integer> leases = new HashMap<>();
+    private final Set<Path> pendingDelete = new HashSet<>();
+
+    public synchronized FileLease lease(Path path, long size) {
+        leases.merge(path, 1, Integer::sum);
+        return new FileLease(path, size, () -> release(path));
+    }
+
+    /** 캐시에서 빠진 파일. 사용 중이 아니면 바로 지운다. */
+    public synchronized void retire(Path path) {
+        if (leases.containsKey(path)) {
+            pendingDelete.add(path);
+        } else {
+            delete(path);
+        }
+    }
+
+    /** 같은 경로에 새 파일을 쓰기 직전에 호출한다. */
+    public synchronized void revive(Path path) {
+        pendingDelete.remove(path);
+    }
+
+    public synchronized int leaseCount(Path path) {
+        return leases.getOrDefault(path, 0);
+    }
+
+    private synchronized void release(Path path) {
+        Integer remaining = leases.computeIfPresent(path, (p, n) -> n > 1 ? n - 1 : null);
+        if (remaining == null && pendingDelete.remove(path)) {
+            delete(path);
+        }
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("[LeasedFiles] 파일 삭제 실패: {}", path);
+        }
+    }
+}
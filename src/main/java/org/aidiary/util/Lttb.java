@@ -0,0 +1,74 @@
+package org.aidiary.util;
+
+/**
+ * Largest-Triangle-Three-Buckets 다운샘플링.
+ * 첫/마지막 점은 유지하고, 가운데를 threshold - 2개 구간으로 나눠 구간마다
+ * (이전 선택 점, 후보, 다음 구간 평균)이 이루는 삼각형 넓이가 가장 큰 점 하나를 고른다.
+ * → 적은 점으로도 급변 구간(체중 급증, 혈압 상승)이 차트에서 사라지지 않는다.
+ */
+public class Lttb {
+
+    private Lttb() {
+    }
+
+    /**
+     * @param x         x 오름차순
+     * @param y         x와 같은 길이
+     * @param threshold 목표 점 수 (3 미만이거나 점 수 이상이면 전체 반환)
+     * @return 선택된 점의 인덱스 (오름차순)
+     */
+    public static int[] select(double[] x, double[] y, int threshold) {
+        int n = x.length;
+        if (threshold >= n || threshold < 3) {
+            int[] all = new int[n];
+            for (int i = 0; i < n; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+
+        int[] selected = new int[threshold];
+        int count = 0;
+        selected[count++] = 0;
+
+        double bucketSize = (double) (n - 2) / (threshold - 2);
+        int a = 0;
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            int start = (int) Math.floor(bucket * bucketSize) + 1;
+            int end = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+
+            // 다음 구간 평균 (마지막 구간이면 마지막 점)
+            int nextStart = end;
+            int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, n);
+            double avgX = 0;
+            double avgY = 0;
+            int nextCount = nextEnd - nextStart;
+            for (int i = nextStart; i < nextEnd; i++) {
+                avgX += x[i];
+                avgY += y[i];
+            }
+            if (nextCount > 0) {
+                avgX /= nextCount;
+                avgY /= nextCount;
+            } else {
+                avgX = x[n - 1];
+                avgY = y[n - 1];
+            }
+
+            double maxArea = -1;
+            int chosen = start;
+            for (int i = start; i < end; i++) {
+                double area = Math.abs((x[a] - avgX) * (y[i] - y[a]) - (x[a] - x[i]) * (avgY - y[a]));
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = i;
+                }
+            }
+            selected[count++] = chosen;
+            a = chosen;
+        }
+
+        selected[count] = n - 1;
+        return selected;
+    }
+}
@@ -0,0 +1,90 @@
+package org.aidiary.service;
+
+import org.aidiary.dto.response.BenefitDTO;
+import org.aidiary.entity.BenefitCompletion;
+import org.aidiary.exception.BusinessException;
+import org.aidiary.repository.BenefitCheckRepository;
+import org.aidiary.repository.BenefitCompletionRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * BenefitService 완료 비트셋 단위 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+class BenefitServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private BenefitCatalog benefitCatalog;
+
+    @Mock
+    private BenefitCompletionRepository completionRepository;
+
+    @Mock
+    private BenefitCheckRepository benefitCheckRepository;
+
+    @Mock
+    private ResourceVersionService resourceVersionService;
+
+    @InjectMocks
+    private BenefitService service;
+
+    @Test
+    @DisplayName("id가 비트셋 크기보다 커도 bit_index 위치의 비트를 뒤집는다")
+    void toggle_usesBitIndexNotId() {
+        BenefitCatalog.Entry entry = entry(20_000L, 3);
+        given(benefitCatalog.find(20_000L)).willReturn(Optional.of(entry));
+        BenefitCompletion completion = BenefitCompletion.builder().userId(USER_ID).bits(new byte[0]).build();
+        given(completionRepository.findForUpdate(USER_ID)).willReturn(Optional.of(completion));
+
+        BenefitDTO result = service.toggleBenefitCheck(USER_ID, 20_000L);
+
+        assertThat(result.isCompleted()).isTrue();
+        assertThat(BitSet.valueOf(completion.getBits()).stream().boxed().toList()).containsExactly(3);
+    }
+
+    @Test
+    @DisplayName("비트 위치가 없는 혜택을 토글하면 500 대신 409")
+    void toggle_withoutBitIndex_conflict() {
+        given(benefitCatalog.find(7L)).willReturn(Optional.of(entry(7L, null)));
+
+        assertThatThrownBy(() -> service.toggleBenefitCheck(USER_ID, 7L))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getStatus())
+                .isEqualTo(HttpStatus.CONFLICT);
+        verifyNoInteractions(completionRepository);
+    }
+
+    @Test
+    @DisplayName("목록 조회는 bit_index로 완료 여부를 읽는다")
+    void getBenefitsForWeek_readsBitIndex() {
+        given(benefitCatalog.forWeek(10)).willReturn(List.of(entry(100L, 0), entry(101L, 1), entry(102L, null)));
+        BitSet bits = new BitSet();
+        bits.set(1);
+        given(completionRepository.findBitsByUserId(USER_ID)).willReturn(Optional.of(bits.toByteArray()));
+
+        List<BenefitDTO> result = service.getBenefitsForWeek(USER_ID, 10);
+
+        assertThat(result).extracting(BenefitDTO::isCompleted).containsExactly(false, true, false);
+    }
+
+    private static BenefitCatalog.Entry entry(Long id, Integer bitIndex) {
+        return new BenefitCatalog.Entry(id, "혜택 " + id, null, 1, 42, null, bitIndex);
+    }
+}
@@ -0,0 +1,107 @@
+package org.aidiary.service;
+
+import org.aidiary.dto.ChildDTO;
+import org.aidiary.entity.Child;
+import org.aidiary.entity.User;
+import org.aidiary.mapper.ChildMapper;
+import org.aidiary.repository.ChildRepository;
+import org.aidiary.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * ChildService 캐릭터 이미지 저장 단위 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+class ChildServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private ChildRepository childRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Spy
+    private ChildMapper childMapper;
+
+    @Mock
+    private ResourceVersionService resourceVersionService;
+
+    @Mock
+    private CharacterImageService characterImageService;
+
+    @InjectMocks
+    private ChildService childService;
+
+    private Child existing;
+
+    @BeforeEach
+    void setUp() {
+        User user = User.builder().id(USER_ID).username("tester").build();
+        existing = childMapper.createEntity(user);
+        existing.setCharacterImageHash("oldhash");
+        given(userRepository.findById(USER_ID)).willReturn(Optional.of(user));
+        given(childRepository.findById(USER_ID)).willReturn(Optional.of(existing));
+        lenient().when(childRepository.save(any(Child.class))).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = { "  " })
+    @DisplayName("이미지 없이 저장하면 기존 이미지를 유지한다")
+    void save_withoutImage_keepsExistingHash(String image) {
+        ChildDTO dto = ChildDTO.builder().userId(USER_ID).childName("콩이").characterImage(image).build();
+
+        ChildDTO saved = childService.saveChildData(dto);
+
+        assertThat(existing.getCharacterImageHash()).isEqualTo("oldhash");
+        assertThat(saved.getChildName()).isEqualTo("콩이");
+        verify(characterImageService, never()).store(anyString());
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = { "  " })
+    @DisplayName("처음 등록할 때 이미지가 없으면 400")
+    void create_withoutImage_rejected(String image) {
+        given(childRepository.findById(USER_ID)).willReturn(Optional.empty());
+        ChildDTO dto = ChildDTO.builder().userId(USER_ID).childName("콩이").characterImage(image).build();
+
+        assertThatThrownBy(() -> childService.saveChildData(dto))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(childRepository, never()).save(any(Child.class));
+    }
+
+    @Test
+    @DisplayName("이미지를 보내면 저장하고 해시를 바꾼다")
+    void save_withImage_storesNewHash() {
+        given(characterImageService.store("data:image/png;base64,AAAA")).willReturn("newhash");
+        ChildDTO dto = ChildDTO.builder().userId(USER_ID).characterImage("data:image/png;base64,AAAA").build();
+
+        childService.saveChildData(dto);
+
+        assertThat(existing.getCharacterImageHash()).isEqualTo("newhash");
+    }
+}
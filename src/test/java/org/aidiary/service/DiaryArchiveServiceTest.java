@@ -0,0 +1,100 @@
+package org.aidiary.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.aidiary.repository.IdSequenceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * DiaryArchiveService 가져오기 줄 검증 단위 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+class DiaryArchiveServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private EmotionRollupService emotionRollupService;
+
+    @Mock
+    private DiarySearchService diarySearchService;
+
+    @Mock
+    private ResourceVersionService resourceVersionService;
+
+    @Mock
+    private IdSequenceRepository idSequenceRepository;
+
+    private DiaryArchiveService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new DiaryArchiveService(jdbcTemplate, new ObjectMapper().findAndRegisterModules(),
+                emotionRollupService, diarySearchService, resourceVersionService, idSequenceRepository);
+        ReflectionTestUtils.setField(service, "batchSize", 500);
+        ReflectionTestUtils.setField(service, "allowedEmotions", Set.of("happy", "sad", "calm"));
+    }
+
+    @Test
+    @DisplayName("컬럼 길이를 넘거나 알 수 없는 감정인 줄은 건너뛰고 나머지만 저장한다")
+    @SuppressWarnings("unchecked")
+    void invalidLines_areSkippedNotFatal() {
+        given(idSequenceRepository.nextIds("diary_seq", 2)).willReturn(new long[] { 51L, 52L });
+        String body = String.join("\n",
+                "{\"title\":\"봄\",\"content\":\"산책\",\"emotion\":\"HAPPY\"}",
+                "{\"title\":\"" + "가".repeat(256) + "\",\"content\":\"길다\"}",
+                "{\"title\":\"여름\",\"content\":\"" + "😀".repeat(255) + "\"}",
+                "{\"title\":\"가을\",\"content\":\"" + "x".repeat(256) + "\"}",
+                "{\"title\":\"겨울\",\"content\":\"눈\",\"emotion\":\"furious\"}");
+
+        Map<String, Object> result = service.importNdjson(USER_ID, stream(body));
+
+        assertThat(result.get("imported")).isEqualTo(2);
+        assertThat(result.get("skipped")).isEqualTo(3);
+        assertThat((List<String>) result.get("errors"))
+                .extracting(e -> e.substring(0, e.indexOf('행')))
+                .containsExactly("2", "4", "5");
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertThat(rows.getValue()).extracting(row -> row[4]).containsExactly("happy", "calm");
+    }
+
+    @Test
+    @DisplayName("모든 줄이 잘못되면 INSERT 없이 결과만 보고한다")
+    void allInvalid_noInsert() {
+        Map<String, Object> result = service.importNdjson(USER_ID,
+                stream("{\"title\":\"t\",\"content\":\"c\",\"emotion\":\"???\"}"));
+
+        assertThat(result.get("imported")).isEqualTo(0);
+        assertThat(result.get("skipped")).isEqualTo(1);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,111 @@
+package org.aidiary.service;
+
+import org.aidiary.dto.response.DiaryResponseDTO;
+import org.aidiary.dto.response.DiarySearchResultDTO;
+import org.aidiary.repository.DiaryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * DiarySearchService 색인 빌드 중 동시 쓰기 처리 테스트.
+ * 트랜잭션 동기화가 없으므로 onSaved는 호출 즉시(커밋된 것으로) 반영된다.
+ */
+@ExtendWith(MockitoExtension.class)
+class DiarySearchServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private DiaryRepository diaryRepository;
+
+    private DiarySearchService service;
+    private final List<DiaryResponseDTO> rows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        service = new DiarySearchService(diaryRepository);
+        rows.add(diary(1L, "봄 산책", "공원에서 산책했다"));
+        given(diaryRepository.findDiaryDTOsByUserIdAndIds(eq(USER_ID), anyList()))
+                .willAnswer(inv -> {
+                    List<Long> ids = inv.getArgument(1);
+                    return rows.stream().filter(d -> ids.contains(d.getId())).toList();
+                });
+    }
+
+    @Test
+    @DisplayName("빌드 중 커밋된 쓰기는 재조회로 반영하고 색인을 캐시한다")
+    void writeDuringBuild_isPickedUpByRetry() {
+        AtomicInteger calls = new AtomicInteger();
+        given(diaryRepository.findAllDiaryDTOsByUserId(USER_ID)).willAnswer(inv -> {
+            List<DiaryResponseDTO> snapshot = List.copyOf(rows);
+            if (calls.getAndIncrement() == 0) {
+                // 첫 조회 이후 커밋된 새 일기: 이번 조회 결과에는 없다
+                rows.add(diary(2L, "산책 일기", "저녁 산책"));
+                service.onSaved(USER_ID, 2L, "산책 일기", "저녁 산책");
+            }
+            return snapshot;
+        });
+
+        List<DiarySearchResultDTO> first = service.search(USER_ID, "산책", 10);
+        List<DiarySearchResultDTO> second = service.search(USER_ID, "산책", 10);
+
+        assertThat(first).extracting(DiarySearchResultDTO::getId).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(second).extracting(DiarySearchResultDTO::getId).containsExactlyInAnyOrder(1L, 2L);
+        verify(diaryRepository, times(2)).findAllDiaryDTOsByUserId(USER_ID);
+    }
+
+    @Test
+    @DisplayName("재시도 중에도 쓰기가 계속되면 이번 검색에만 쓰고 캐시하지 않는다")
+    void writesDuringEveryAttempt_indexIsNotCached() {
+        AtomicInteger calls = new AtomicInteger();
+        given(diaryRepository.findAllDiaryDTOsByUserId(USER_ID)).willAnswer(inv -> {
+            List<DiaryResponseDTO> snapshot = List.copyOf(rows);
+            if (calls.getAndIncrement() < 3) {
+                long id = 10L + calls.get();
+                rows.add(diary(id, "산책 " + id, "산책"));
+                service.onSaved(USER_ID, id, "산책 " + id, "산책");
+            }
+            return snapshot;
+        });
+
+        service.search(USER_ID, "산책", 10);
+        List<DiarySearchResultDTO> next = service.search(USER_ID, "산책", 10);
+
+        // 두 번째 검색이 다시 빌드해 마지막 쓰기까지 본다
+        verify(diaryRepository, times(4)).findAllDiaryDTOsByUserId(USER_ID);
+        assertThat(next).extracting(DiarySearchResultDTO::getId).contains(13L);
+    }
+
+    @Test
+    @DisplayName("색인이 캐시된 뒤의 쓰기는 DB 재조회 없이 반영된다")
+    void writeAfterBuild_isAppliedIncrementally() {
+        given(diaryRepository.findAllDiaryDTOsByUserId(USER_ID)).willAnswer(inv -> List.copyOf(rows));
+        service.search(USER_ID, "산책", 10);
+
+        rows.add(diary(2L, "산책 일기", "저녁 산책"));
+        service.onSaved(USER_ID, 2L, "산책 일기", "저녁 산책");
+
+        assertThat(service.search(USER_ID, "산책", 10))
+                .extracting(DiarySearchResultDTO::getId).containsExactlyInAnyOrder(1L, 2L);
+        verify(diaryRepository, times(1)).findAllDiaryDTOsByUserId(USER_ID);
+    }
+
+    private static DiaryResponseDTO diary(Long id, String title, String content) {
+        return DiaryResponseDTO.builder().id(id).title(title).content(content).build();
+    }
+}
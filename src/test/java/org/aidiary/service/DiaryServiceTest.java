@@ -1,11 +1,14 @@
 package org.aidiary.service;
 
 import org.aidiary.dto.CreateDiaryDTO;
+import org.aidiary.dto.response.CursorPageDTO;
 import org.aidiary.dto.response.DiaryResponseDTO;
 import org.aidiary.entity.Diary;
 import org.aidiary.entity.User;
+import org.aidiary.exception.ResourceNotFoundException;
 import org.aidiary.repository.DiaryRepository;
 import org.aidiary.repository.UserRepository;
+import org.aidiary.util.CursorUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -14,14 +17,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 /**
@@ -36,6 +43,15 @@ class DiaryServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private DiarySearchService diarySearchService;
+
+    @Mock
+    private EmotionRollupService emotionRollupService;
+
+    @Mock
+    private ResourceVersionService resourceVersionService;
+
     @InjectMocks
     private DiaryService diaryService;
 
@@ -112,7 +128,7 @@ class DiaryServiceTest {
             dto.setContent("수정된 내용");
             dto.setEmotion("sad");
 
-            given(diaryRepository.findById(1L)).willReturn(Optional.of(testDiary));
+            given(diaryRepository.findByIdAndUserId(1L, 1L)).willReturn(Optional.of(testDiary));
 
             // when
             DiaryResponseDTO result = diaryService.updateDiary(1L, dto, 1L);
@@ -122,16 +138,16 @@ class DiaryServiceTest {
         }
 
         @Test
-        @DisplayName("실패: 다른 사용자의 일기 수정 시도")
-        void updateDiary_accessDenied() {
+        @DisplayName("실패: 다른 사용자의 일기 수정 시도는 없는 일기와 같이 404")
+        void updateDiary_otherUsersDiary_notFound() {
             // given
             CreateDiaryDTO dto = new CreateDiaryDTO();
-            given(diaryRepository.findById(1L)).willReturn(Optional.of(testDiary));
+            given(diaryRepository.findByIdAndUserId(1L, 999L)).willReturn(Optional.empty());
 
             // when & then
             assertThatThrownBy(() -> diaryService.updateDiary(1L, dto, 999L))
-                    .isInstanceOf(SecurityException.class)
-                    .hasMessageContaining("본인의 일기만 수정");
+                    .isInstanceOf(ResourceNotFoundException.class);
+            verify(diarySearchService, never()).onSaved(any(), any(), any(), any());
         }
     }
 
@@ -140,28 +156,99 @@ class DiaryServiceTest {
     class DeleteDiaryTest {
 
         @Test
-        @DisplayName("성공: 본인의 일기를 삭제한다")
+        @DisplayName("성공: 본인의 일기를 소유권 조건부 DELETE로 삭제한다")
         void deleteDiary_success() {
             // given
-            given(diaryRepository.findById(1L)).willReturn(Optional.of(testDiary));
+            given(diaryRepository.findDiaryDTOByIdAndUserId(1L, 1L))
+                    .willReturn(Optional.of(DiaryResponseDTO.fromEntity(testDiary)));
+            given(diaryRepository.deleteByIdAndUserId(1L, 1L)).willReturn(1);
 
             // when
             diaryService.deleteDiary(1L, 1L);
 
             // then
-            verify(diaryRepository).deleteById(1L);
+            verify(diaryRepository).deleteByIdAndUserId(1L, 1L);
+            verify(emotionRollupService).onDeleted(1L, testDiary.getCreatedAt(), "happy");
         }
 
         @Test
-        @DisplayName("실패: 다른 사용자의 일기 삭제 시도")
-        void deleteDiary_accessDenied() {
+        @DisplayName("실패: 다른 사용자의 일기 삭제 시도는 없는 일기와 같이 처리된다")
+        void deleteDiary_notOwner() {
             // given
-            given(diaryRepository.findById(1L)).willReturn(Optional.of(testDiary));
+            given(diaryRepository.findDiaryDTOByIdAndUserId(1L, 999L)).willReturn(Optional.empty());
 
             // when & then
             assertThatThrownBy(() -> diaryService.deleteDiary(1L, 999L))
-                    .isInstanceOf(SecurityException.class)
-                    .hasMessageContaining("본인의 일기만 삭제");
+                    .isInstanceOf(ResourceNotFoundException.class);
+            verify(diaryRepository, never()).deleteByIdAndUserId(any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("일기 감정 수정 테스트")
+    class UpdateEmotionTest {
+
+        @Test
+        @DisplayName("성공: 감정을 UPDATE하고 이전 감정으로 집계를 보정한다")
+        void updateEmotion_success() {
+            // given
+            given(diaryRepository.findDiaryDTOByIdAndUserId(1L, 1L))
+                    .willReturn(Optional.of(DiaryResponseDTO.fromEntity(testDiary)));
+            given(diaryRepository.updateEmotionByIdAndUserId(eq(1L), eq(1L), eq("sad"), any())).willReturn(1);
+
+            // when
+            DiaryResponseDTO result = diaryService.updateEmotion(1L, "sad", 1L);
+
+            // then
+            assertThat(result.getEmotion()).isEqualTo("sad");
+            verify(emotionRollupService).onEmotionChanged(1L, testDiary.getCreatedAt(), "happy", "sad");
+        }
+
+        @Test
+        @DisplayName("실패: 다른 사용자의 일기는 수정되지 않는다")
+        void updateEmotion_notOwner() {
+            // given
+            given(diaryRepository.findDiaryDTOByIdAndUserId(1L, 999L)).willReturn(Optional.empty());
+
+            // when & then
+            assertThatThrownBy(() -> diaryService.updateEmotion(1L, "sad", 999L))
+                    .isInstanceOf(ResourceNotFoundException.class);
+            verify(diaryRepository, never()).updateEmotionByIdAndUserId(any(), any(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("커서 기반 목록 조회 테스트")
+    class CursorPageTest {
+
+        private DiaryResponseDTO row(long id, LocalDateTime createdAt) {
+            return new DiaryResponseDTO(id, "제목" + id, "내용", "happy", createdAt, createdAt);
+        }
+
+        @Test
+        @DisplayName("성공: size+1건이 조회되면 마지막 항목 기준 다음 커서를 돌려준다")
+        void getDiariesByCursor_hasNext() {
+            // given
+            LocalDateTime base = LocalDateTime.of(2026, 3, 1, 12, 0);
+            given(diaryRepository.findLatestDiaryDTOs(eq(1L), any(Limit.class)))
+                    .willReturn(List.of(row(3L, base), row(2L, base.minusHours(1)), row(1L, base.minusHours(2))));
+
+            // when
+            CursorPageDTO<DiaryResponseDTO> page = diaryService.getDiariesByCursor(1L, null, 2);
+
+            // then
+            assertThat(page.getContent()).extracting(DiaryResponseDTO::getId).containsExactly(3L, 2L);
+            assertThat(page.isHasNext()).isTrue();
+            CursorUtil.Cursor next = CursorUtil.decode(page.getNextCursor());
+            assertThat(next.id()).isEqualTo(2L);
+            assertThat(next.time()).isEqualTo(base.minusHours(1));
+        }
+
+        @Test
+        @DisplayName("실패: 형식이 잘못된 커서")
+        void getDiariesByCursor_invalidCursor() {
+            assertThatThrownBy(() -> diaryService.getDiariesByCursor(1L, "not-a-cursor", 10))
+                    .isInstanceOf(IllegalArgumentException.class);
         }
     }
 }
@@ -0,0 +1,102 @@
+package org.aidiary.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.aidiary.dto.response.FetalMovementDTO;
+import org.aidiary.dto.response.FetalMovementSummaryDTO;
+import org.aidiary.repository.FetalMovementRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * FetalMovementDaySummaryCache 재구성 중 동시 쓰기 처리 테스트.
+ * 트랜잭션 동기화가 없으므로 onLogged는 호출 즉시(커밋된 것으로) 반영된다.
+ */
+@ExtendWith(MockitoExtension.class)
+class FetalMovementDaySummaryCacheTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private FetalMovementRepository fetalMovementRepository;
+
+    private FetalMovementDaySummaryCache cache;
+    private final List<Object[]> counts = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        cache = new FetalMovementDaySummaryCache(redisTemplate, new ObjectMapper().findAndRegisterModules(),
+                fetalMovementRepository);
+        ReflectionTestUtils.setField(cache, "recentSize", 20);
+        ReflectionTestUtils.setField(cache, "rebuildTtlMinutes", 10L);
+        given(redisTemplate.<Object, Object>opsForHash()).willReturn(hashOperations);
+        given(hashOperations.entries(any())).willReturn(Map.of());
+        given(fetalMovementRepository.findLatestDTOs(eq(USER_ID), any(), any(), any(Limit.class)))
+                .willReturn(List.of());
+        counts.add(new Object[] { 2, 3L });
+    }
+
+    @Test
+    @DisplayName("재구성 중 쓰기가 없으면 요약을 캐시에 저장한다")
+    void rebuildWithoutWrites_isStored() {
+        given(fetalMovementRepository.countByIntensity(eq(USER_ID), any(), any())).willReturn(counts);
+
+        FetalMovementSummaryDTO summary = cache.get(USER_ID);
+
+        assertThat(summary.getTodayCount()).isEqualTo(3);
+        verify(redisTemplate).execute(eq(script("STORE_SCRIPT")), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("재구성 중 커밋된 기록이 있으면 요약을 이번 응답에만 쓰고 캐시하지 않는다")
+    void writeDuringRebuild_isNotStored() {
+        given(fetalMovementRepository.countByIntensity(eq(USER_ID), any(), any())).willAnswer(inv -> {
+            List<Object[]> snapshot = List.copyOf(counts);
+            // 조회 이후 커밋된 기록: 요약이 아직 없어 LOG_SCRIPT는 반영하지 못한다
+            cache.onLogged(USER_ID, FetalMovementDTO.builder()
+                    .id(10L)
+                    .movementTime(LocalDateTime.now())
+                    .intensity(1)
+                    .build());
+            return snapshot;
+        });
+
+        FetalMovementSummaryDTO summary = cache.get(USER_ID);
+
+        assertThat(summary.getTodayCount()).isEqualTo(3);
+        verify(redisTemplate).execute(eq(script("LOG_SCRIPT")), anyList(), any(Object[].class));
+        verify(redisTemplate, never()).execute(eq(script("STORE_SCRIPT")), anyList(), any(Object[].class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RedisScript<Long> script(String name) {
+        return (RedisScript<Long>) ReflectionTestUtils.getField(FetalMovementDaySummaryCache.class, name);
+    }
+}
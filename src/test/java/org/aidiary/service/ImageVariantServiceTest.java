@@ -0,0 +1,130 @@
+package org.aidiary.service;
+
+import org.aidiary.util.ContentHashUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ImageVariantService 단위 테스트. 생성 작업은 호출 스레드에서 바로 실행한다.
+ */
+class ImageVariantServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private ImageVariantService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = new ImageVariantService(Runnable::run);
+        ReflectionTestUtils.setField(service, "cacheDir", dir.toString());
+        ReflectionTestUtils.setField(service, "maxBytes", 128L * 1024 * 1024);
+        ReflectionTestUtils.setField(service, "waitMs", 3000L);
+        ReflectionTestUtils.setField(service, "maxSourcePixels", 40_000_000L);
+        ReflectionTestUtils.setField(service, "quality", 0.82f);
+        service.init();
+    }
+
+    @Test
+    @DisplayName("요청 폭은 단계 값으로 올림하고, 미지정·최대 단계 초과는 원본(null)")
+    void step_roundsUpToFixedWidths() {
+        assertThat(ImageVariantService.step(null)).isNull();
+        assertThat(ImageVariantService.step(0)).isNull();
+        assertThat(ImageVariantService.step(-5)).isNull();
+        assertThat(ImageVariantService.step(1)).isEqualTo(64);
+        assertThat(ImageVariantService.step(64)).isEqualTo(64);
+        assertThat(ImageVariantService.step(65)).isEqualTo(128);
+        assertThat(ImageVariantService.step(1024)).isEqualTo(1024);
+        assertThat(ImageVariantService.step(1025)).isNull();
+    }
+
+    @Test
+    @DisplayName("여러 번 절반씩 줄여도 목표 폭과 비율에 맞는 높이로 끝난다")
+    void scale_keepsAspectRatio() {
+        BufferedImage scaled = ImageVariantService.scale(new BufferedImage(1000, 500, BufferedImage.TYPE_INT_RGB), 100);
+        assertThat(scaled.getWidth()).isEqualTo(100);
+        assertThat(scaled.getHeight()).isEqualTo(50);
+
+        BufferedImage thin = ImageVariantService.scale(new BufferedImage(300, 1, BufferedImage.TYPE_INT_RGB), 64);
+        assertThat(thin.getWidth()).isEqualTo(64);
+        assertThat(thin.getHeight()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("WebP 인코더가 없으면 Accept에 image/webp가 있어도 JPEG로 만들고 Vary가 필요 없다")
+    void webpUnavailable_fallsBackToJpeg() throws Exception {
+        byte[] png = noisePng(600, 400);
+        String hash = ContentHashUtil.calculateHash(png);
+
+        Optional<ImageVariantService.Lease> lease = service.find(hash, 200, "image/webp,image/*", () -> png);
+
+        assertThat(service.negotiatesFormat()).isFalse();
+        assertThat(lease).isPresent();
+        try (ImageVariantService.Lease l = lease.get()) {
+            assertThat(l.variant().contentType()).isEqualTo(MediaType.IMAGE_JPEG);
+            assertThat(l.variant().etag()).isEqualTo(hash + "-256-std");
+            assertThat(l.variant().size()).isLessThan(png.length);
+        }
+    }
+
+    @Test
+    @DisplayName("응답 중인 축소본은 축출돼도 요청이 끝날 때까지 지우지 않는다")
+    void evictionWhileStreaming_defersDelete() throws Exception {
+        ReflectionTestUtils.setField(service, "maxBytes", 1L);
+        byte[] first = noisePng(300, 200);
+        byte[] second = noisePng(320, 200);
+
+        ImageVariantService.Lease streaming = service.find(ContentHashUtil.calculateHash(first), 64, null, () -> first)
+                .orElseThrow();
+        Path path = streaming.variant().path();
+        ServletRequestAttributes request = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(request);
+        try {
+            Resource body = streaming.file().bindToRequest();
+
+            // 한도가 1바이트라 두 번째 저장이 첫 축소본을 축출한다
+            service.find(ContentHashUtil.calculateHash(second), 64, null, () -> second).orElseThrow().close();
+
+            assertThat(path).exists();
+            try (InputStream in = body.getInputStream()) {
+                assertThat(in.readAllBytes()).hasSize((int) streaming.variant().size());
+            }
+            assertThat(path).exists();
+            request.requestCompleted();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+        assertThat(path).doesNotExist();
+    }
+
+    private static byte[] noisePng(int width, int height) throws Exception {
+        Random random = new Random(width * 31L + height);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, random.nextInt(0x1000000));
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,183 @@
+package org.aidiary.service;
+
+import org.aidiary.dto.response.KickSessionDTO;
+import org.aidiary.exception.BusinessException;
+import org.aidiary.repository.IdSequenceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * KickCountSessionService 단위 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+class KickCountSessionServiceTest {
+
+    private static final Long USER_ID = 1L;
+    private static final String SEQUENCE = "fetal_movement_seq";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ResourceVersionService resourceVersionService;
+
+    @Mock
+    private IdSequenceRepository idSequenceRepository;
+
+    @Mock
+    private FetalMovementDaySummaryCache daySummaryCache;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private KickCountSessionService service;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "windowMinutes", 120L);
+        ReflectionTestUtils.setField(service, "retainFinishedHours", 24L);
+        lenient().doAnswer(inv -> {
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("탭은 메모리에서 집계하고 10회째에 목표 도달로 표시한다")
+    void tap_countsInMemoryUntilGoal() {
+        service.start(USER_ID);
+
+        KickSessionDTO summary = null;
+        for (int i = 1; i <= 10; i++) {
+            summary = service.tap(USER_ID, i % 3 + 1);
+        }
+
+        assertThat(summary.getCount()).isEqualTo(10);
+        assertThat(summary.getMaxIntensity()).isEqualTo(3);
+        assertThat(summary.isGoalReached()).isTrue();
+        assertThat(summary.getSecondsToGoal()).isNotNull();
+        verifyNoInteractions(jdbcTemplate, idSequenceRepository);
+    }
+
+    @Test
+    @DisplayName("세션 없이 탭하면 409")
+    void tap_withoutSession_conflict() {
+        assertThatThrownBy(() -> service.tap(USER_ID, 1))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    @DisplayName("종료하면 쌓인 탭을 한 번의 batch INSERT로 저장한다")
+    void finish_flushesPendingTaps() {
+        given(idSequenceRepository.nextIds(SEQUENCE, 3)).willReturn(new long[] { 101L, 102L, 103L });
+        service.start(USER_ID);
+        service.tap(USER_ID, 1);
+        service.tap(USER_ID, 2);
+        service.tap(USER_ID, 3);
+
+        KickSessionDTO summary = service.finish(USER_ID);
+
+        assertThat(summary.isActive()).isFalse();
+        assertThat(summary.getCount()).isEqualTo(3);
+        assertThat(insertedRows(1).get(0)).hasSize(3);
+        verify(resourceVersionService).bump(ResourceVersionService.FETAL_MOVEMENT, USER_ID);
+        assertThatThrownBy(() -> service.tap(USER_ID, 1)).isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    @DisplayName("저장에 실패한 탭은 다음 세션으로 넘어가 이후 flush에서 저장된다")
+    void flushFailure_tapsCarryOverToNextSession() {
+        given(idSequenceRepository.nextIds(eq(SEQUENCE), anyInt()))
+                .willThrow(new IllegalStateException("db down"))
+                .willThrow(new IllegalStateException("db down"))
+                .willReturn(new long[] { 201L, 202L, 203L });
+        service.start(USER_ID);
+        service.tap(USER_ID, 1);
+        service.tap(USER_ID, 2);
+
+        service.finish(USER_ID);            // 1차 실패 → 종료된 세션에 되돌림
+        KickSessionDTO next = service.start(USER_ID);   // 2차 실패 → 새 세션으로 교체
+        service.tap(USER_ID, 3);
+        service.flushAll();                 // 성공
+
+        assertThat(next.isActive()).isTrue();
+        assertThat(next.getCount()).isZero();
+        List<Object[]> rows = insertedRows(1).get(0);
+        assertThat(rows).hasSize(3);
+        // 이전 세션의 탭이 새 탭보다 앞에 저장된다
+        assertThat(rows).extracting(row -> row[3]).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    @DisplayName("저장에 실패한 동안에는 종료된 세션을 정리하지 않는다")
+    void flushFailure_keepsPendingTaps() {
+        given(idSequenceRepository.nextIds(eq(SEQUENCE), anyInt()))
+                .willThrow(new IllegalStateException("db down"));
+        ReflectionTestUtils.setField(service, "retainFinishedHours", 0L);
+        service.start(USER_ID);
+        service.tap(USER_ID, 2);
+        service.finish(USER_ID);
+
+        service.flushAll();
+
+        assertThat(service.getSummary(USER_ID)).isNotNull();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("batch INSERT가 실패하면 트랜잭션째 되돌리고 같은 탭을 다음 flush에서 다시 저장한다")
+    void batchFailure_rollsBackAndRetriesOnce() {
+        given(idSequenceRepository.nextIds(eq(SEQUENCE), anyInt()))
+                .willReturn(new long[] { 301L, 302L })
+                .willReturn(new long[] { 401L, 402L });
+        given(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .willThrow(new IllegalStateException("deadlock"))
+                .willReturn(new int[] { 1, 1 });
+        service.start(USER_ID);
+        service.tap(USER_ID, 1);
+        service.tap(USER_ID, 2);
+
+        service.flushAll();     // 실패 → 롤백, 탭 되돌림
+        service.flushAll();     // 재시도
+
+        List<List<Object[]>> batches = insertedRows(2);
+        assertThat(batches.get(1)).extracting(row -> row[0]).containsExactly(401L, 402L);
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+        verify(resourceVersionService, times(1)).bump(ResourceVersionService.FETAL_MOVEMENT, USER_ID);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Object[]>> insertedRows(int expectedBatches) {
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(expectedBatches)).batchUpdate(anyString(), captor.capture());
+        return captor.getAllValues();
+    }
+}
@@ -0,0 +1,178 @@
+package org.aidiary.service;
+
+import org.aidiary.dto.request.SyncRequest;
+import org.aidiary.dto.response.SyncResultDTO;
+import org.aidiary.repository.IdSequenceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * OfflineSyncService 단위 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+class OfflineSyncServiceTest {
+
+    private static final Long USER_ID = 1L;
+    private static final LocalDate D1 = LocalDate.of(2025, 3, 1);
+    private static final LocalDate D2 = LocalDate.of(2025, 3, 2);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ResourceVersionService resourceVersionService;
+
+    @Mock
+    private IdSequenceRepository idSequenceRepository;
+
+    @Mock
+    private FetalMovementDaySummaryCache daySummaryCache;
+
+    @Mock
+    private VitalSignMonitor vitalSignMonitor;
+
+    @InjectMocks
+    private OfflineSyncService service;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "maxItems", 1000);
+    }
+
+    @Test
+    @DisplayName("태동: 요청 내 중복·이미 반영된 키는 DUPLICATE, 잘못된 항목은 INVALID, 나머지만 INSERT")
+    void movements_dedupAndResultMapping() {
+        existing("SELECT client_key FROM fetal_movement", "b");
+        given(idSequenceRepository.nextIds("fetal_movement_seq", 1)).willReturn(new long[] { 10L });
+
+        SyncRequest request = new SyncRequest();
+        request.getMovements().add(movement("a", 2));
+        request.getMovements().add(movement("a", 2));
+        request.getMovements().add(movement("b", 1));
+        request.getMovements().add(movement("c", 5));
+
+        SyncResultDTO result = service.sync(USER_ID, request);
+
+        assertThat(result.getResults()).extracting(SyncResultDTO.Item::getStatus)
+                .containsExactly(OfflineSyncService.CREATED, OfflineSyncService.DUPLICATE,
+                        OfflineSyncService.DUPLICATE, OfflineSyncService.INVALID);
+        assertThat(result.getResults().get(3).getError()).isNotNull();
+        List<Object[]> rows = batch("INSERT INTO fetal_movement");
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0)[0]).isEqualTo(10L);
+        assertThat(rows.get(0)[5]).isEqualTo("a");
+        verify(daySummaryCache).invalidate(USER_ID);
+        verify(resourceVersionService).bump(ResourceVersionService.FETAL_MOVEMENT, USER_ID);
+    }
+
+    @Test
+    @DisplayName("건강 지표: 기존 날짜는 UPDATE, 새 날짜는 upsert, 반영한 키는 모두 기록")
+    void metrics_upsertAndRecordKeys() {
+        existing("SELECT client_key FROM health_metric_sync_key", "k4");
+        existing("SELECT CAST(record_date AS CHAR) FROM health_metric", D1.toString());
+        given(idSequenceRepository.nextIds("health_metric_seq", 1)).willReturn(new long[] { 20L });
+
+        SyncRequest request = new SyncRequest();
+        request.getMetrics().add(metric("k1", D1, 60.0));
+        request.getMetrics().add(metric("k2", D2, 61.0));
+        request.getMetrics().add(metric("k3", D2, 62.0));   // 같은 날짜의 나중 항목이 최종 값
+        request.getMetrics().add(metric("k4", D2, 70.0));   // 이미 반영된 키
+
+        SyncResultDTO result = service.sync(USER_ID, request);
+
+        assertThat(result.getResults()).extracting(SyncResultDTO.Item::getStatus)
+                .containsExactly(OfflineSyncService.UPDATED, OfflineSyncService.CREATED,
+                        OfflineSyncService.CREATED, OfflineSyncService.DUPLICATE);
+        assertThat(batch("UPDATE health_metric")).hasSize(1);
+        List<Object[]> inserts = batch("INSERT INTO health_metric ");
+        assertThat(inserts).hasSize(1);
+        assertThat(inserts.get(0)[3]).isEqualTo(62.0);
+        assertThat(batch("INSERT IGNORE INTO health_metric_sync_key"))
+                .extracting(row -> row[1]).containsExactly("k1", "k2", "k3");
+        verify(resourceVersionService).bump(ResourceVersionService.HEALTH, USER_ID);
+        verify(vitalSignMonitor).onRewritten(USER_ID, D2);
+    }
+
+    @Test
+    @DisplayName("같은 배치를 다시 보내면 건강 지표를 덮어쓰지 않는다")
+    void metrics_replayIsNoOp() {
+        existing("SELECT client_key FROM health_metric_sync_key", "k1", "k2");
+
+        SyncRequest request = new SyncRequest();
+        request.getMetrics().add(metric("k1", D1, 60.0));
+        request.getMetrics().add(metric("k2", D2, 61.0));
+
+        SyncResultDTO result = service.sync(USER_ID, request);
+
+        assertThat(result.getResults()).extracting(SyncResultDTO.Item::getStatus)
+                .containsOnly(OfflineSyncService.DUPLICATE);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verifyNoInteractions(resourceVersionService, vitalSignMonitor, idSequenceRepository);
+    }
+
+    @Test
+    @DisplayName("항목 수 상한 초과 시 400")
+    void tooManyItems_rejected() {
+        ReflectionTestUtils.setField(service, "maxItems", 1);
+        SyncRequest request = new SyncRequest();
+        request.getMovements().add(movement("a", 1));
+        request.getMetrics().add(metric("k1", D1, 60.0));
+
+        assertThatThrownBy(() -> service.sync(USER_ID, request))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private void existing(String sqlPrefix, String... values) {
+        given(jdbcTemplate.queryForList(startsWith(sqlPrefix), eq(String.class), any(Object[].class)))
+                .willReturn(List.of(values));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> batch(String sqlPrefix) {
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith(sqlPrefix), captor.capture());
+        return new ArrayList<>(captor.getValue());
+    }
+
+    private static SyncRequest.MovementItem movement(String key, int intensity) {
+        SyncRequest.MovementItem item = new SyncRequest.MovementItem();
+        item.setKey(key);
+        item.setMovementTime(LocalDateTime.of(2025, 3, 1, 10, 0));
+        item.setIntensity(intensity);
+        return item;
+    }
+
+    private static SyncRequest.MetricItem metric(String key, LocalDate date, double weight) {
+        SyncRequest.MetricItem item = new SyncRequest.MetricItem();
+        item.setKey(key);
+        item.setRecordDate(date);
+        item.setWeight(weight);
+        return item;
+    }
+}
@@ -0,0 +1,78 @@
+package org.aidiary.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * UserDiaryIndex 단위 테스트
+ */
+class UserDiaryIndexTest {
+
+    private UserDiaryIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserDiaryIndex();
+        index.put(1L, "봄 나들이", "오늘은 남편이랑 공원에 산책을 갔다. 벚꽃이 예뻤다");
+        index.put(2L, "병원", "정기검진에서 아기 심장소리를 들었다");
+        index.put(3L, "산책", "저녁 산책하며 아기에게 노래를 불러줬다");
+    }
+
+    private List<Long> ids(List<UserDiaryIndex.Hit> hits) {
+        return hits.stream().map(UserDiaryIndex.Hit::diaryId).toList();
+    }
+
+    @Test
+    @DisplayName("부분 일치 검색: 제목에도 일치하는 문서가 먼저 나온다")
+    void search_ranksTitleMatchFirst() {
+        assertThat(ids(index.search("산책", 10))).containsExactly(3L, 1L);
+    }
+
+    @Test
+    @DisplayName("여러 단어 질의: 모두 일치하는 문서가 가장 높은 점수")
+    void search_multiWord() {
+        assertThat(ids(index.search("아기 심장", 10))).first().isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("한 글자 질의도 검색된다")
+    void search_singleCharacter() {
+        assertThat(ids(index.search("봄", 10))).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("수정/삭제가 즉시 반영되고, 압축 후에도 결과가 유지된다")
+    void putAndRemove_areIncremental() {
+        index.put(3L, "저녁", "노래를 불러줬다");
+        assertThat(ids(index.search("산책", 10))).containsExactly(1L);
+
+        for (long id = 100; id < 300; id++) {
+            index.put(id, "기록", "메모 " + id);
+        }
+        for (long id = 100; id < 300; id++) {
+            index.remove(id);
+        }
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(ids(index.search("산책", 10))).containsExactly(1L);
+        assertThat(index.search("산책", 10)).allMatch(hit -> hit.score() > 0);
+    }
+
+    @Test
+    @DisplayName("같은 일기를 반복 수정해도 톰스톤이 쌓이지 않고 압축된다")
+    void repeatedEdits_areCompacted() {
+        for (int i = 0; i < 1000; i++) {
+            index.put(2L, "병원", "정기검진 " + i);
+        }
+
+        int docCount = (int) ReflectionTestUtils.getField(index, "docCount");
+        assertThat(docCount).isLessThanOrEqualTo(2 * 65);
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(ids(index.search("정기검진", 10))).containsExactly(2L);
+    }
+}
@@ -0,0 +1,69 @@
+package org.aidiary.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * VitalSignStats 단위 테스트
+ */
+class VitalSignStatsTest {
+
+    private static final VitalSignStats.Thresholds THRESHOLDS =
+            new VitalSignStats.Thresholds(140, 90, 160, 110, 3.0, 5, 1.0, 5.0);
+
+    private VitalSignStats steady(int days) {
+        VitalSignStats stats = new VitalSignStats();
+        for (int day = 0; day < days; day++) {
+            stats.update(day, 60.0, 110 + day % 3, 70 + day % 2, THRESHOLDS);
+        }
+        return stats;
+    }
+
+    @Test
+    @DisplayName("평소 대비 급상승한 혈압은 절대 기준 미만이어도 BP_SPIKE")
+    void update_spikeBelowAbsoluteThreshold() {
+        VitalSignStats stats = steady(10);
+
+        List<String> alerts = stats.update(10, 60.0, 135, 85, THRESHOLDS);
+
+        assertThat(alerts).containsExactly(VitalSignStats.BP_SPIKE);
+        assertThat(VitalSignStats.riskLevel(alerts, stats.trend(THRESHOLDS))).isEqualTo(VitalSignStats.RISK_WATCH);
+    }
+
+    @Test
+    @DisplayName("절대 기준 이상이면 HIGH, 중증 기준 이상이면 BP_SEVERE")
+    void update_absoluteThresholds() {
+        VitalSignStats stats = new VitalSignStats();
+
+        assertThat(stats.update(0, null, 142, 88, THRESHOLDS)).containsExactly(VitalSignStats.BP_HIGH);
+        assertThat(stats.update(1, null, 150, 112, THRESHOLDS)).containsExactly(VitalSignStats.BP_SEVERE);
+        assertThat(VitalSignStats.riskLevel(List.of(VitalSignStats.BP_HIGH), VitalSignStats.TREND_STABLE))
+                .isEqualTo(VitalSignStats.RISK_HIGH);
+    }
+
+    @Test
+    @DisplayName("짧은 간격의 체중 변동은 최소 3일로 나눠 주당 증가량을 판정한다")
+    void update_weightJump() {
+        VitalSignStats stats = steady(3);
+
+        assertThat(stats.update(3, 60.3, null, null, THRESHOLDS)).isEmpty();
+        assertThat(stats.update(4, 61.0, null, null, THRESHOLDS)).containsExactly(VitalSignStats.WEIGHT_JUMP);
+    }
+
+    @Test
+    @DisplayName("스냅샷으로 복원한 통계는 원본과 같은 판정을 낸다")
+    void snapshot_roundTrip() {
+        VitalSignStats original = steady(10);
+        VitalSignStats restored = VitalSignStats.fromBytes(original.toBytes());
+
+        assertThat(restored).isNotNull();
+        assertThat(restored.lastDay()).isEqualTo(9L);
+        assertThat(restored.update(10, 60.0, 135, 85, THRESHOLDS))
+                .isEqualTo(original.update(10, 60.0, 135, 85, THRESHOLDS));
+        assertThat(VitalSignStats.fromBytes(new byte[] { 9 })).isNull();
+    }
+}
@@ -0,0 +1,105 @@
+package org.aidiary.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeasedFilesTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("사용권이 없는 파일은 축출 즉시 지운다")
+    void retireWithoutLease() throws Exception {
+        LeasedFiles files = new LeasedFiles();
+        Path file = Files.write(dir.resolve("a.png"), new byte[] { 1, 2, 3 });
+
+        files.retire(file);
+
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("응답 중인 파일은 마지막 사용권 반납 시 지운다 (요청에 묶은 사용권은 요청 완료 시 반납)")
+    void retireDefersUntilLastRelease() throws Exception {
+        LeasedFiles files = new LeasedFiles();
+        Path file = Files.write(dir.resolve("a.png"), new byte[] { 1, 2, 3 });
+        FileLease first = files.lease(file, 3);
+        FileLease second = files.lease(file, 3);
+
+        ServletRequestAttributes request = bindRequest();
+        try {
+            files.retire(file);
+            Resource body = first.bindToRequest();
+            // multi-range 응답처럼 여러 번 열어도 된다
+            for (int i = 0; i < 2; i++) {
+                try (InputStream in = body.getInputStream()) {
+                    assertThat(in.readAllBytes()).containsExactly(1, 2, 3);
+                }
+            }
+            assertThat(file).exists();
+
+            request.requestCompleted();
+            assertThat(files.leaseCount(file)).isEqualTo(1);
+            assertThat(file).exists();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        second.close();
+        second.close();
+        assertThat(file).doesNotExist();
+        assertThat(files.leaseCount(file)).isZero();
+    }
+
+    @Test
+    @DisplayName("본문을 열지 않고 끝난 요청(416 등)도 완료 시 사용권을 반납한다")
+    void requestCompletionReleasesUnopenedLease() throws Exception {
+        LeasedFiles files = new LeasedFiles();
+        Path file = Files.write(dir.resolve("a.png"), new byte[] { 1 });
+        FileLease lease = files.lease(file, 1);
+
+        ServletRequestAttributes request = bindRequest();
+        try {
+            lease.bindToRequest();
+            files.retire(file);
+            request.requestCompleted();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("같은 경로에 다시 저장하면 이전 사용권 반납이 새 파일을 지우지 않는다")
+    void reviveKeepsRewrittenFile() throws Exception {
+        LeasedFiles files = new LeasedFiles();
+        Path file = Files.write(dir.resolve("a.png"), new byte[] { 1 });
+        FileLease old = files.lease(file, 1);
+
+        files.retire(file);
+        files.revive(file);
+        Files.write(file, new byte[] { 2 });
+        old.close();
+
+        assertThat(file).exists();
+    }
+
+    static ServletRequestAttributes bindRequest() {
+        ServletRequestAttributes request = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(request);
+        return request;
+    }
+}
@@ -0,0 +1,44 @@
+package org.aidiary.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lttb 다운샘플링 단위 테스트
+ */
+class LttbTest {
+
+    @Test
+    @DisplayName("목표 점 수 이하면 전체 인덱스를 그대로 반환한다")
+    void select_belowThreshold() {
+        double[] x = { 0, 1, 2, 3 };
+        double[] y = { 1, 2, 3, 4 };
+
+        assertThat(Lttb.select(x, y, 10)).containsExactly(0, 1, 2, 3);
+    }
+
+    @Test
+    @DisplayName("첫/마지막 점을 유지하고 급변 지점을 남긴다")
+    void select_keepsEndpointsAndSpike() {
+        int n = 100;
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = i;
+            y[i] = 60;
+        }
+        y[57] = 90;
+
+        int[] picked = Lttb.select(x, y, 10);
+
+        assertThat(picked).hasSize(10);
+        assertThat(picked[0]).isZero();
+        assertThat(picked[9]).isEqualTo(n - 1);
+        assertThat(picked).contains(57);
+        for (int i = 1; i < picked.length; i++) {
+            assertThat(picked[i]).isGreaterThan(picked[i - 1]);
+        }
+    }
+}